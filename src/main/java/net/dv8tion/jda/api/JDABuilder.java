@@ -27,9 +27,12 @@ import net.dv8tion.jda.api.utils.ChunkingFilter;
 import net.dv8tion.jda.api.utils.Compression;
 import net.dv8tion.jda.api.utils.SessionController;
 import net.dv8tion.jda.api.utils.SessionControllerAdapter;
+import net.dv8tion.jda.api.utils.SessionStore;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.handle.EventCache;
 import net.dv8tion.jda.internal.managers.PresenceImpl;
+import net.dv8tion.jda.internal.requests.WebSocketClient;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
 import net.dv8tion.jda.internal.utils.config.MetaConfig;
@@ -65,9 +68,12 @@ public class JDABuilder
     protected boolean shutdownMainWsPool = true;
     protected ExecutorService callbackPool = null;
     protected boolean shutdownCallbackPool = true;
+    protected ScheduledExecutorService audioPool = null;
+    protected boolean shutdownAudioPool = true;
     protected EnumSet<CacheFlag> cacheFlags = EnumSet.allOf(CacheFlag.class);
     protected ConcurrentMap<String, String> contextMap = null;
     protected SessionController controller = null;
+    protected SessionStore sessionStore = null;
     protected VoiceDispatchInterceptor voiceDispatchInterceptor = null;
     protected OkHttpClient.Builder httpClientBuilder = null;
     protected OkHttpClient httpClient = null;
@@ -82,9 +88,14 @@ public class JDABuilder
     protected boolean idle = false;
     protected int maxReconnectDelay = 900;
     protected int largeThreshold = 250;
+    protected int eventCacheLimit = EventCache.DEFAULT_LIMIT;
+    protected int messageCacheChannelLimit = 0;
+    protected int messageCacheLimit = 0;
+    protected long messageCacheMaxAge = 0;
     protected int maxBufferSize = 2048;
     protected EnumSet<ConfigFlag> flags = ConfigFlag.getDefault();
     protected ChunkingFilter chunkingFilter = ChunkingFilter.ALL;
+    protected final Set<String> disabledDispatches = new HashSet<>();
 
     /**
      * Creates a completely empty JDABuilder.
@@ -541,6 +552,66 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Sets the {@link ScheduledExecutorService ScheduledExecutorService} used by
+     * audio connections for their lifecycle tasks.
+     * <br><b>Only change this pool if you know what you're doing.
+     * <br>This automatically disables the automatic shutdown of the audio pool, you can enable
+     * it using {@link #setAudioPool(ScheduledExecutorService, boolean) setAudioPool(pool, true)}</b>
+     *
+     * <p>This is used for the lifecycle of audio connections such as:
+     * <ul>
+     *     <li>UDP Discovery - Finding the external address of the voice socket, each attempt blocks a thread for up to a second</li>
+     *     <li>Heartbeats - Keeping the voice websocket and UDP socket alive</li>
+     *     <li>Connect Timeouts - Closing connections which did not become ready in time</li>
+     *     <li>Reconnects - Spreading out reconnect attempts with a jittered backoff</li>
+     * </ul>
+     * The same pool can be shared between multiple JDA instances so reconnect storms do not create new threads.
+     *
+     * <p>Default: {@link ScheduledThreadPoolExecutor} with 1 thread, created when the first audio connection is opened
+     *
+     * @param  pool
+     *         The thread-pool to use for audio lifecycle tasks
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public JDABuilder setAudioPool(@Nullable ScheduledExecutorService pool)
+    {
+        return setAudioPool(pool, pool == null);
+    }
+
+    /**
+     * Sets the {@link ScheduledExecutorService ScheduledExecutorService} used by
+     * audio connections for their lifecycle tasks.
+     * <br><b>Only change this pool if you know what you're doing.</b>
+     *
+     * <p>This is used for the lifecycle of audio connections such as:
+     * <ul>
+     *     <li>UDP Discovery - Finding the external address of the voice socket</li>
+     *     <li>Heartbeats - Keeping the voice websocket and UDP socket alive</li>
+     *     <li>Connect Timeouts - Closing connections which did not become ready in time</li>
+     *     <li>Reconnects - Spreading out reconnect attempts with a jittered backoff</li>
+     * </ul>
+     * The same pool can be shared between multiple JDA instances so reconnect storms do not create new threads.
+     *
+     * <p>Default: {@link ScheduledThreadPoolExecutor} with 1 thread, created when the first audio connection is opened
+     *
+     * @param  pool
+     *         The thread-pool to use for audio lifecycle tasks
+     * @param  automaticShutdown
+     *         Whether {@link JDA#shutdown()} should shutdown this pool
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public JDABuilder setAudioPool(@Nullable ScheduledExecutorService pool, boolean automaticShutdown)
+    {
+        this.audioPool = pool;
+        this.shutdownAudioPool = automaticShutdown;
+        return this;
+    }
+
     /**
      * If enabled, JDA will separate the bulk delete event into individual delete events, but this isn't as efficient as
      * handling a single event would be. It is recommended that BulkDelete Splitting be disabled and that the developer
@@ -637,6 +708,93 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Whether the audio connections should share a small pool of selector threads for receiving audio,
+     * instead of starting one receiving thread per connection.
+     * <br>This is recommended for bots which receive audio in many guilds at once.
+     * <br>Default: {@code false}
+     *
+     * @param  enable
+     *         True, if the audio connections should use the shared receive selector
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setSharedAudioReceiveEnabled(boolean enable)
+    {
+        return setFlag(ConfigFlag.SHARED_AUDIO_RECEIVE, enable);
+    }
+
+    /**
+     * Whether guilds received on startup should be loaded lazily.
+     * <br>A lazy guild keeps its roles, channels, emotes and members as compact json and only creates these entities
+     * when one of its caches is first accessed, for instance by an event for this guild or a channel lookup by id.
+     * Members of lazy guilds are chunked on first access instead of during startup.
+     * <br>This reduces startup time and memory usage for bots in many guilds which are rarely used.
+     * Iterating the channel or user caches of JDA loads all lazy guilds.
+     * <br><b>Users which are only known as members of lazy guilds are missing from {@link net.dv8tion.jda.api.JDA#getUserById(long) JDA.getUserById(long)}
+     * until their guild is loaded</b>, access the guild or its members first if the user has to be found.
+     * <br>Default: {@code false}
+     *
+     * @param  enable
+     *         True, if guilds should be loaded lazily
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setLazyGuildLoadingEnabled(boolean enable)
+    {
+        return setFlag(ConfigFlag.LAZY_GUILD_LOADING, enable);
+    }
+
+    /**
+     * Whether the default rate-limit, gateway, audio and callback pools should use virtual threads.
+     * <br>Virtual threads require Java 21 or newer, on older runtimes this setting is ignored with a warning
+     * and the regular thread pools are used.
+     * <br>Only pools which are not provided by the user are affected. Virtual threads make blocking callbacks
+     * and many concurrent rate-limit buckets cheap, the gateway pool still runs on a single thread to keep its tasks in order.
+     * <br>Default: {@code false}
+     *
+     * @param  enable
+     *         True, if virtual threads should be used when available
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setVirtualThreadsEnabled(boolean enable)
+    {
+        return setFlag(ConfigFlag.VIRTUAL_THREADS, enable);
+    }
+
+    /**
+     * Whether the entity caches should keep hash indexes for lookups by name.
+     * <br>With indexes {@link net.dv8tion.jda.api.utils.cache.CacheView#getElementsByName(String, boolean) getElementsByName}
+     * and the username, nickname and role lookups of {@link net.dv8tion.jda.api.utils.cache.MemberCacheView MemberCacheView}
+     * take roughly constant time instead of comparing every cached entity. Names are indexed both as they are
+     * and case-folded, so lookups ignoring case are indexed as well.
+     * <br>The indexes need additional memory for every cached user, member, role, emote and guild channel.
+     * Private channels are never indexed.
+     * <br>Default: {@code false}
+     *
+     * @param  enable
+     *         True, if name lookups should use indexes
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setNameIndexEnabled(boolean enable)
+    {
+        return setFlag(ConfigFlag.NAME_INDEX, enable);
+    }
+
     /**
      * Sets whether or not we should mark our session as afk
      * <br>This value can be changed at any time in the {@link net.dv8tion.jda.api.managers.Presence Presence} from a JDA instance.
@@ -834,6 +992,30 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Sets the {@link net.dv8tion.jda.api.utils.SessionStore SessionStore} used to persist the gateway session
+     * across process restarts.
+     * <br>When set, the session of a shard is stored when it is shut down and resumed on the next login
+     * instead of sending a new IDENTIFY.
+     * <br>Sessions are only resumed when the store provides a {@link net.dv8tion.jda.api.utils.SessionStore#getCacheSnapshot(net.dv8tion.jda.api.JDA.ShardInfo) cache snapshot},
+     * a resumed session does not receive its guilds again. Without a snapshot the shard identifies as usual.
+     *
+     * @param  store
+     *         The {@link net.dv8tion.jda.api.utils.SessionStore SessionStore} to use, or null to disable this
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.api.utils.FileSessionStore FileSessionStore
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setSessionStore(@Nullable SessionStore store)
+    {
+        this.sessionStore = store;
+        return this;
+    }
+
     /**
      * Configures a custom voice dispatch handler which handles audio connections.
      *
@@ -921,6 +1103,126 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Sets the maximum amount of events which are held in the internal event cache.
+     * <br>Events for entities which are not cached yet, for instance while a guild is still loading, are held back
+     * and replayed once the entity is available. When this limit is reached the oldest events are dropped.
+     * <br>Default: {@value net.dv8tion.jda.internal.handle.EventCache#DEFAULT_LIMIT}
+     *
+     * @param  limit
+     *         The maximum amount of cached events
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided limit is negative
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setEventCacheLimit(int limit)
+    {
+        Checks.notNegative(limit, "Limit");
+        this.eventCacheLimit = limit;
+        return this;
+    }
+
+    /**
+     * Enables the message cache with the provided limits.
+     * <br>Received and edited messages are kept in memory. Deleted and updated messages are available as
+     * {@link net.dv8tion.jda.api.events.message.MessageDeleteEvent#getCachedMessage() previous message} in their events
+     * and {@link net.dv8tion.jda.api.entities.MessageChannel#getCachedMessageById(long) MessageChannel.getCachedMessageById(long)}
+     * can be used instead of a request.
+     * <br>Each channel keeps up to {@code channelLimit} of its newest messages and the least recently used messages are dropped once
+     * all channels together hold more than {@code totalLimit} messages.
+     * <br>Default: {@code 0}, messages are not cached
+     *
+     * @param  channelLimit
+     *         The maximum amount of messages kept per channel
+     * @param  totalLimit
+     *         The maximum amount of messages kept in total, or {@code 0} to disable the message cache
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If either limit is negative
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    #setMessageCacheMaxAge(long, TimeUnit)
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setMessageCacheSize(int channelLimit, int totalLimit)
+    {
+        Checks.notNegative(channelLimit, "Channel Limit");
+        Checks.notNegative(totalLimit, "Total Limit");
+        this.messageCacheChannelLimit = channelLimit;
+        this.messageCacheLimit = totalLimit;
+        return this;
+    }
+
+    /**
+     * Sets the maximum time a message is kept in the message cache.
+     * <br>This has no effect unless the message cache is enabled with {@link #setMessageCacheSize(int, int)}.
+     * <br>Default: {@code 0}, messages are kept until they are evicted by the size limits
+     *
+     * @param  maxAge
+     *         The maximum age, or {@code 0} to only use the size limits
+     * @param  unit
+     *         The time unit
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the age is negative or the unit is null
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setMessageCacheMaxAge(long maxAge, @Nonnull TimeUnit unit)
+    {
+        Checks.notNegative(maxAge, "Max Age");
+        Checks.notNull(unit, "Unit");
+        this.messageCacheMaxAge = unit.toMillis(maxAge);
+        return this;
+    }
+
+    /**
+     * Sets the gateway event types which should be ignored.
+     * <br>Dispatches of these types, for instance {@code "TYPING_START"} or {@code "PRESENCE_UPDATE"}, are dropped
+     * before their json is parsed. They neither update the cache nor fire any events, including
+     * {@link net.dv8tion.jda.api.events.RawGatewayEvent RawGatewayEvents}. Their sequence number is still tracked so the session can be resumed.
+     * <br>Disabling types which update the cache will leave the related entities outdated.
+     * The types {@code READY}, {@code RESUMED}, {@code GUILD_CREATE}, {@code GUILD_DELETE} and {@code GUILD_MEMBERS_CHUNK}
+     * are required for the session and cannot be disabled.
+     * <br>Default: none
+     *
+     * @param  types
+     *         The gateway event types to ignore, or null to handle all types
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If any of the provided types is null or required
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public JDABuilder setDisabledDispatchTypes(@Nullable Collection<String> types)
+    {
+        this.disabledDispatches.clear();
+        if (types != null)
+        {
+            for (String type : types)
+            {
+                Checks.notNull(type, "Type");
+                Checks.check(!WebSocketClient.REQUIRED_DISPATCHES.contains(type), "Cannot disable required type %s", type);
+                this.disabledDispatches.add(type);
+            }
+        }
+        return this;
+    }
+
     /**
      * The maximum size, in bytes, of the buffer used for decompressing discord payloads.
      * <br>If the maximum buffer size is exceeded a new buffer will be allocated instead.
@@ -988,7 +1290,9 @@ public class JDABuilder
         threadingConfig.setCallbackPool(callbackPool, shutdownCallbackPool);
         threadingConfig.setGatewayPool(mainWsPool, shutdownMainWsPool);
         threadingConfig.setRateLimitPool(rateLimitPool, shutdownRateLimitPool);
-        SessionConfig sessionConfig = new SessionConfig(controller, httpClient, wsFactory, voiceDispatchInterceptor, flags, maxReconnectDelay, largeThreshold);
+        threadingConfig.setAudioPool(audioPool, shutdownAudioPool);
+        threadingConfig.setVirtualThreads(flags.contains(ConfigFlag.VIRTUAL_THREADS));
+        SessionConfig sessionConfig = new SessionConfig(controller, httpClient, wsFactory, voiceDispatchInterceptor, sessionStore, flags, maxReconnectDelay, largeThreshold, eventCacheLimit, disabledDispatches, messageCacheChannelLimit, messageCacheLimit, messageCacheMaxAge);
         MetaConfig metaConfig = new MetaConfig(maxBufferSize, contextMap, cacheFlags, flags);
 
         JDAImpl jda = new JDAImpl(authConfig, sessionConfig, threadingConfig, metaConfig);
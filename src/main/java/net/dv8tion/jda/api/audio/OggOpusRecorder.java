@@ -0,0 +1,228 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.audio;
+
+import gnu.trove.map.TIntLongMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntLongHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import net.dv8tion.jda.internal.audio.OggOpusWriter;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * {@link net.dv8tion.jda.api.audio.AudioReceiveHandler AudioReceiveHandler} which records the received
+ * {@link net.dv8tion.jda.api.audio.OpusPacket OpusPackets} of every user into Ogg/Opus files.
+ *
+ * <p>The packets are written as they are received without decoding them, which means this does not require
+ * the opus binaries. Each SSRC is written to its own file and lost packets are filled with silence
+ * to keep the timeline of the recording intact.
+ *
+ * <p>By default every user gets one file per session in the provided directory, named {@code <user id>-<start millis>.opus}.
+ * If a file cannot be opened or written, the packets of that SSRC are dropped until {@link #closeUser(long)}
+ * is called for the user.
+ *
+ * <p><b>Example</b><br>
+ * <pre>{@code
+ * OggOpusRecorder recorder = new OggOpusRecorder(new File("recordings"));
+ * guild.getAudioManager().setReceivingHandler(recorder);
+ * // later
+ * guild.getAudioManager().setReceivingHandler(null);
+ * recorder.close();
+ * }</pre>
+ *
+ * @since 4.1.1
+ */
+public class OggOpusRecorder implements AudioReceiveHandler, Closeable
+{
+    public static final Logger LOG = JDALogger.getLog(OggOpusRecorder.class);
+
+    private final TIntObjectMap<Stream> streams = new TIntObjectHashMap<>();
+    // SSRCs whose recording failed, mapped to the user id, these are ignored until the user is closed
+    private final TIntLongMap failed = new TIntLongHashMap();
+    private final LongFunction<File> fileProvider;
+    private boolean closed;
+
+    /**
+     * Creates a new recorder which writes one file per user and session to the provided directory.
+     *
+     * @param  directory
+     *         The directory to write the recordings to
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided directory is null or not a directory
+     */
+    public OggOpusRecorder(@Nonnull File directory)
+    {
+        Checks.notNull(directory, "Directory");
+        Checks.check(directory.isDirectory(), "Provided file is not a directory!");
+        this.fileProvider = (userId) -> new File(directory, userId + "-" + System.currentTimeMillis() + ".opus");
+    }
+
+    /**
+     * Creates a new recorder which uses the provided function to decide on the file for a new recording.
+     * <br>The function is called with the user id whenever a new SSRC starts sending audio.
+     *
+     * @param  fileProvider
+     *         The function providing the target file for a user id
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided function is null
+     */
+    public OggOpusRecorder(@Nonnull LongFunction<File> fileProvider)
+    {
+        Checks.notNull(fileProvider, "File Provider");
+        this.fileProvider = fileProvider;
+    }
+
+    @Override
+    public boolean canReceiveEncoded()
+    {
+        return true;
+    }
+
+    @Override
+    public void handleEncodedAudio(@Nonnull OpusPacket packet)
+    {
+        Stream stream = getStream(packet);
+        if (stream == null)
+            return;
+        try
+        {
+            // This simply drops the packet if the stream was closed by closeUser or close in the meantime
+            stream.writer.write(packet.getTimestamp(), packet.getOpusAudio());
+        }
+        catch (IOException e)
+        {
+            synchronized (streams)
+            {
+                // The stream might have been replaced by a new recording after a concurrent closeUser
+                if (streams.get(packet.getSSRC()) != stream)
+                    return;
+                streams.remove(packet.getSSRC());
+                failed.put(packet.getSSRC(), packet.getUserId());
+            }
+            LOG.error("Failed to write opus packet for user {}, closing recording until the user is closed", packet.getUserId(), e);
+            closeStream(stream);
+        }
+    }
+
+    /**
+     * Finishes all recordings of the specified user.
+     * <br>If the user starts speaking again a new recording is started, this also retries recordings which failed.
+     *
+     * @param userId
+     *        The user id
+     */
+    public void closeUser(long userId)
+    {
+        List<Stream> removed = new ArrayList<>();
+        synchronized (streams)
+        {
+            streams.retainEntries((ssrc, stream) ->
+            {
+                if (stream.userId != userId)
+                    return true;
+                removed.add(stream);
+                return false;
+            });
+            failed.retainEntries((ssrc, id) -> id != userId);
+        }
+        removed.forEach(this::closeStream);
+    }
+
+    /**
+     * Finishes all recordings. Packets received after this are ignored.
+     * <br>This should be called after the handler has been removed from the audio manager.
+     */
+    @Override
+    public void close()
+    {
+        List<Stream> removed;
+        synchronized (streams)
+        {
+            closed = true;
+            removed = new ArrayList<>(streams.valueCollection());
+            streams.clear();
+            failed.clear();
+        }
+        removed.forEach(this::closeStream);
+    }
+
+    private Stream getStream(OpusPacket packet)
+    {
+        synchronized (streams)
+        {
+            int ssrc = packet.getSSRC();
+            if (closed || failed.containsKey(ssrc))
+                return null;
+            Stream stream = streams.get(ssrc);
+            if (stream != null)
+                return stream;
+            File file = fileProvider.apply(packet.getUserId());
+            try
+            {
+                FileChannel channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                stream = new Stream(packet.getUserId(), new OggOpusWriter(channel, ssrc));
+                streams.put(ssrc, stream);
+                return stream;
+            }
+            catch (IOException e)
+            {
+                LOG.error("Failed to open recording file {}, ignoring user {} until it is closed", file, packet.getUserId(), e);
+                failed.put(ssrc, packet.getUserId());
+                return null;
+            }
+        }
+    }
+
+    private void closeStream(Stream stream)
+    {
+        try
+        {
+            stream.writer.close();
+        }
+        catch (IOException e)
+        {
+            LOG.error("Failed to finish recording for user {}", stream.userId, e);
+        }
+    }
+
+    private static class Stream
+    {
+        private final long userId;
+        private final OggOpusWriter writer;
+
+        private Stream(long userId, OggOpusWriter writer)
+        {
+            this.userId = userId;
+            this.writer = writer;
+        }
+    }
+}
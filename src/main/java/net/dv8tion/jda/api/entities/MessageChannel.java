@@ -27,6 +27,7 @@ import net.dv8tion.jda.api.utils.AttachmentOption;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.CompactMessage;
 import net.dv8tion.jda.internal.entities.EntityBuilder;
 import net.dv8tion.jda.internal.requests.RestActionImpl;
 import net.dv8tion.jda.internal.requests.Route;
@@ -35,9 +36,11 @@ import net.dv8tion.jda.internal.requests.restaction.MessageActionImpl;
 import net.dv8tion.jda.internal.requests.restaction.pagination.MessagePaginationActionImpl;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.EncodingUtil;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -277,6 +280,50 @@ public interface MessageChannel extends ISnowflake, Formattable
      */
     boolean hasLatestMessage();
 
+    /**
+     * The cached {@link net.dv8tion.jda.api.entities.Message Message} with the provided id.
+     * <br>Messages are only cached when the message cache was enabled in the builder,
+     * see {@link net.dv8tion.jda.api.JDABuilder#setMessageCacheSize(int, int) JDABuilder.setMessageCacheSize(int, int)}.
+     * Use {@link #retrieveMessageById(long)} to load messages which are not cached.
+     *
+     * @param  messageId
+     *         The message id
+     *
+     * @return The cached message, or {@code null} if the message is not cached
+     *
+     * @since  4.1.1
+     */
+    @Nullable
+    default Message getCachedMessageById(long messageId)
+    {
+        JDAImpl jda = (JDAImpl) getJDA();
+        MessageCache cache = jda.getMessageCache();
+        CompactMessage message = cache == null ? null : cache.get(getIdLong(), messageId);
+        return message == null ? null : message.toMessage(jda);
+    }
+
+    /**
+     * The cached {@link net.dv8tion.jda.api.entities.Message Message} with the provided id.
+     * <br>Messages are only cached when the message cache was enabled in the builder,
+     * see {@link net.dv8tion.jda.api.JDABuilder#setMessageCacheSize(int, int) JDABuilder.setMessageCacheSize(int, int)}.
+     * Use {@link #retrieveMessageById(String)} to load messages which are not cached.
+     *
+     * @param  messageId
+     *         The message id
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided id is not a valid snowflake
+     *
+     * @return The cached message, or {@code null} if the message is not cached
+     *
+     * @since  4.1.1
+     */
+    @Nullable
+    default Message getCachedMessageById(@Nonnull String messageId)
+    {
+        return getCachedMessageById(MiscUtil.parseSnowflake(messageId));
+    }
+
     /**
      * This method is a shortcut method to return the following information in the following situation:
      * If the MessageChannel is instance of..
@@ -115,6 +115,7 @@ public class MessageEmbed implements SerializableData
 
     protected volatile int length = -1;
     protected volatile DataObject json = null;
+    protected volatile String serialized = null;
 
     public MessageEmbed(
         String url, String title, String description, EmbedType type, OffsetDateTime timestamp,
@@ -503,6 +504,27 @@ public class MessageEmbed implements SerializableData
         }
     }
 
+    /**
+     * The json representation of this embed as it is sent to discord.
+     * <br>Embeds are immutable, the json is only written once from {@link #toData()} and reused for every message this embed is sent with.
+     *
+     * @return The json for this embed
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public String toJson()
+    {
+        if (serialized != null)
+            return serialized;
+        synchronized (mutex)
+        {
+            if (serialized != null)
+                return serialized;
+            return serialized = toData().toString();
+        }
+    }
+
     /**
      * Represents the information Discord provided about a thumbnail image that should be
      * displayed with an embed message.
@@ -57,6 +57,11 @@ public class MessageHistory
 
     protected final ListOrderedMap<Long, Message> history = new ListOrderedMap<>();
 
+    // markers for streaming mode, the retrieved messages are not stored
+    protected boolean streaming = false;
+    protected long oldestId = 0;
+    protected long newestId = 0;
+
     /**
      * Creates a new MessageHistory object.
      *
@@ -109,6 +114,45 @@ public class MessageHistory
         return size() == 0;
     }
 
+    /**
+     * Whether retrieved messages should be passed through without being stored in this MessageHistory.
+     * <b>Default: false</b>
+     * <br>In streaming mode {@link #retrievePast(int)} and {@link #retrieveFuture(int)} only remember the ids of the oldest
+     * and newest retrieved message to continue from. The messages are not added to {@link #getRetrievedHistory()}
+     * and can be collected by the garbage collector once the caller is done with them.
+     * <br>This is useful to walk through the complete history of a channel, for instance to export it.
+     *
+     * <p>Messages which have been retrieved before streaming was enabled are kept.
+     * When streaming is disabled again, retrieval continues from the oldest and newest message retrieved in either mode.
+     *
+     * @param  streaming
+     *         True, to stop storing retrieved messages
+     *
+     * @return The current MessageHistory instance. Useful for chaining.
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public MessageHistory setStreaming(boolean streaming)
+    {
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * Whether this MessageHistory is in streaming mode.
+     *
+     * @return True, if retrieved messages are not stored
+     *
+     * @see    #setStreaming(boolean)
+     *
+     * @since  4.1.1
+     */
+    public boolean isStreaming()
+    {
+        return streaming;
+    }
+
     /**
      * Returns the {@link net.dv8tion.jda.api.entities.MessageChannel MessageChannel} that this MessageHistory
      * is related to.
@@ -181,20 +225,32 @@ public class MessageHistory
 
         Route.CompiledRoute route = Route.Messages.GET_MESSAGE_HISTORY.compile(channel.getId()).withQueryParams("limit", Integer.toString(amount));
 
-        if (!history.isEmpty())
-            route = route.withQueryParams("before", String.valueOf(history.lastKey()));
+        final long oldest = getOldestId();
+        if (oldest != 0)
+            route = route.withQueryParams("before", Long.toUnsignedString(oldest));
 
         JDAImpl jda = (JDAImpl) getJDA();
         return new RestActionImpl<>(jda, route, (response, request) ->
         {
             EntityBuilder builder = jda.getEntityBuilder();
-            LinkedList<Message> messages  = new LinkedList<>();
             DataArray historyJson = response.getArray();
+            List<Message> messages = new ArrayList<>(historyJson.length());
 
             for (int i = 0; i < historyJson.length(); i++)
                 messages.add(builder.createMessage(historyJson.getObject(i)));
 
-            messages.forEach(msg -> history.put(msg.getIdLong(), msg));
+            if (streaming)
+            {
+                if (!messages.isEmpty())
+                {
+                    oldestId = messages.get(messages.size() - 1).getIdLong();
+                    newestId = Math.max(getNewestId(), messages.get(0).getIdLong());
+                }
+            }
+            else
+            {
+                messages.forEach(msg -> history.put(msg.getIdLong(), msg));
+            }
             return messages;
         });
     }
@@ -249,10 +305,11 @@ public class MessageHistory
         if (amount > 100 || amount < 1)
             throw new IllegalArgumentException("Message retrieval limit is between 1 and 100 messages. No more, no less. Limit provided: " + amount);
 
-        if (history.isEmpty())
+        final long newest = getNewestId();
+        if (newest == 0)
             throw new IllegalStateException("No messages have been retrieved yet, so there is no message to act as a marker to retrieve more recent messages based on.");
 
-        Route.CompiledRoute route = Route.Messages.GET_MESSAGE_HISTORY.compile(channel.getId()).withQueryParams("limit", Integer.toString(amount), "after", String.valueOf(history.firstKey()));
+        Route.CompiledRoute route = Route.Messages.GET_MESSAGE_HISTORY.compile(channel.getId()).withQueryParams("limit", Integer.toString(amount), "after", Long.toUnsignedString(newest));
         JDAImpl jda = (JDAImpl) getJDA();
         return new RestActionImpl<>(jda, route, (response, request) ->
         {
@@ -263,6 +320,17 @@ public class MessageHistory
             for (int i = 0; i < historyJson.length(); i++)
                 messages.add(builder.createMessage(historyJson.getObject(i)));
 
+            if (streaming)
+            {
+                if (!messages.isEmpty())
+                {
+                    newestId = messages.getFirst().getIdLong();
+                    if (getOldestId() == 0)
+                        oldestId = messages.getLast().getIdLong();
+                }
+                return messages;
+            }
+
             for (Iterator<Message> it = messages.descendingIterator(); it.hasNext();)
             {
                 Message m = it.next();
@@ -273,6 +341,23 @@ public class MessageHistory
         });
     }
 
+    // The streaming markers and the stored history are combined, so switching streaming off continues from
+    // whichever of them reached further, and messages stored afterwards move the markers along
+    private long getOldestId()
+    {
+        if (history.isEmpty())
+            return oldestId;
+        long stored = history.lastKey();
+        return oldestId == 0 ? stored : Math.min(oldestId, stored);
+    }
+
+    private long getNewestId()
+    {
+        if (history.isEmpty())
+            return newestId;
+        return Math.max(newestId, history.firstKey());
+    }
+
     /**
      * The List of Messages, sorted starting from newest to oldest, of all message that have already been retrieved
      * from Discord with this MessageHistory object using the {@link #retrievePast(int)}, {@link #retrieveFuture(int)}, and
@@ -17,6 +17,7 @@ package net.dv8tion.jda.api.events.message;
 
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.events.Event;
 
@@ -29,17 +30,27 @@ import java.util.List;
  * <br>Set {@link net.dv8tion.jda.api.JDABuilder#setBulkDeleteSplittingEnabled(boolean)} to false in order to enable this event.
  * 
  * <p>Can be used to detect that a large chunk of Messages is deleted in a TextChannel. Providing a list of Message IDs and the specific TextChannel.
+ *
+ * <p><b>Previous information is only available for messages which were in the message cache, which is disabled by default.
+ * See {@link net.dv8tion.jda.api.JDABuilder#setMessageCacheSize(int, int) JDABuilder.setMessageCacheSize(int, int)}.</b>
  */
 public class MessageBulkDeleteEvent extends Event
 {
     protected final TextChannel channel;
     protected final List<String> messageIds;
+    protected final List<Message> cachedMessages;
 
     public MessageBulkDeleteEvent(@Nonnull JDA api, long responseNumber, @Nonnull TextChannel channel, @Nonnull List<String> messageIds)
+    {
+        this(api, responseNumber, channel, messageIds, Collections.emptyList());
+    }
+
+    public MessageBulkDeleteEvent(@Nonnull JDA api, long responseNumber, @Nonnull TextChannel channel, @Nonnull List<String> messageIds, @Nonnull List<Message> cachedMessages)
     {
         super(api, responseNumber);
         this.channel = channel;
         this.messageIds = Collections.unmodifiableList(messageIds);
+        this.cachedMessages = Collections.unmodifiableList(cachedMessages);
     }
 
     /**
@@ -74,4 +85,19 @@ public class MessageBulkDeleteEvent extends Event
     {
         return messageIds;
     }
+
+    /**
+     * The deleted {@link net.dv8tion.jda.api.entities.Message Messages} which were in the message cache.
+     * <br>This is always empty unless the message cache was enabled in the builder,
+     * messages which were not cached are only included in {@link #getMessageIds()}.
+     *
+     * @return Immutable list of the cached messages, in the order of their ids
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    public List<Message> getCachedMessages()
+    {
+        return cachedMessages;
+    }
 }
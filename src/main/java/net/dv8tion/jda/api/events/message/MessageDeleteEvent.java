@@ -16,22 +16,46 @@
 package net.dv8tion.jda.api.events.message;
 
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageChannel;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Indicates that a Message was deleted in a {@link net.dv8tion.jda.api.entities.MessageChannel MessageChannel}.
  * 
  * <p>Can be used to detect when a Message is deleted. No matter if private or guild.
  *
- * <p><b>JDA does not have a cache for messages and is not able to provide previous information due to limitations by the
- * Discord API!</b>
+ * <p><b>Previous information is only available if the message was in the message cache, which is disabled by default.
+ * See {@link net.dv8tion.jda.api.JDABuilder#setMessageCacheSize(int, int) JDABuilder.setMessageCacheSize(int, int)}.</b>
  */
 public class MessageDeleteEvent extends GenericMessageEvent
 {
+    private final Message cachedMessage;
+
     public MessageDeleteEvent(@Nonnull JDA api, long responseNumber, long messageId, @Nonnull MessageChannel channel)
+    {
+        this(api, responseNumber, messageId, channel, null);
+    }
+
+    public MessageDeleteEvent(@Nonnull JDA api, long responseNumber, long messageId, @Nonnull MessageChannel channel, @Nullable Message cachedMessage)
     {
         super(api, responseNumber, messageId, channel);
+        this.cachedMessage = cachedMessage;
+    }
+
+    /**
+     * The deleted {@link net.dv8tion.jda.api.entities.Message Message}, if it was in the message cache.
+     * <br>This is always {@code null} unless the message cache was enabled in the builder.
+     *
+     * @return The deleted message, or {@code null} if it was not cached
+     *
+     * @since  4.1.1
+     */
+    @Nullable
+    public Message getCachedMessage()
+    {
+        return cachedMessage;
     }
 }
@@ -29,17 +29,24 @@ import javax.annotation.Nullable;
  * <p>Can be used to detect a Message is edited in either a private or guild channel. Providing a MessageChannel and Message.
  * <br>This also includes whether a message is being pinned.
  *
- * <p><b>JDA does not have a cache for messages and is not able to provide previous information due to limitations by the
- * Discord API!</b>
+ * <p><b>Previous information is only available if the message was in the message cache, which is disabled by default.
+ * See {@link net.dv8tion.jda.api.JDABuilder#setMessageCacheSize(int, int) JDABuilder.setMessageCacheSize(int, int)}.</b>
  */
 public class MessageUpdateEvent extends GenericMessageEvent
 {
     private final Message message;
+    private final Message oldMessage;
 
     public MessageUpdateEvent(@Nonnull JDA api, long responseNumber, @Nonnull Message message)
+    {
+        this(api, responseNumber, message, null);
+    }
+
+    public MessageUpdateEvent(@Nonnull JDA api, long responseNumber, @Nonnull Message message, @Nullable Message oldMessage)
     {
         super(api, responseNumber, message.getIdLong(), message.getChannel());
         this.message = message;
+        this.oldMessage = oldMessage;
     }
 
     /**
@@ -54,6 +61,20 @@ public class MessageUpdateEvent extends GenericMessageEvent
         return message;
     }
 
+    /**
+     * The {@link net.dv8tion.jda.api.entities.Message Message} before the update, if it was in the message cache.
+     * <br>This is always {@code null} unless the message cache was enabled in the builder.
+     *
+     * @return The previous message, or {@code null} if it was not cached
+     *
+     * @since  4.1.1
+     */
+    @Nullable
+    public Message getOldMessage()
+    {
+        return oldMessage;
+    }
+
     /**
      * The author of the Message.
      *
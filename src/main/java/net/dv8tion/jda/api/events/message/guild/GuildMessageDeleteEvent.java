@@ -16,9 +16,11 @@
 package net.dv8tion.jda.api.events.message.guild;
 
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Indicates that a Guild Message was deleted.
@@ -27,8 +29,30 @@ import javax.annotation.Nonnull;
  */
 public class GuildMessageDeleteEvent extends GenericGuildMessageEvent
 {
+    private final Message cachedMessage;
+
     public GuildMessageDeleteEvent(@Nonnull JDA api, long responseNumber, long messageId, @Nonnull TextChannel channel)
+    {
+        this(api, responseNumber, messageId, channel, null);
+    }
+
+    public GuildMessageDeleteEvent(@Nonnull JDA api, long responseNumber, long messageId, @Nonnull TextChannel channel, @Nullable Message cachedMessage)
     {
         super(api, responseNumber, messageId, channel);
+        this.cachedMessage = cachedMessage;
+    }
+
+    /**
+     * The deleted {@link net.dv8tion.jda.api.entities.Message Message}, if it was in the message cache.
+     * <br>This is always {@code null} unless the message cache was enabled in the builder.
+     *
+     * @return The deleted message, or {@code null} if it was not cached
+     *
+     * @since  4.1.1
+     */
+    @Nullable
+    public Message getCachedMessage()
+    {
+        return cachedMessage;
     }
 }
@@ -31,11 +31,18 @@ import javax.annotation.Nullable;
 public class GuildMessageUpdateEvent extends GenericGuildMessageEvent
 {
     private final Message message;
+    private final Message oldMessage;
 
     public GuildMessageUpdateEvent(@Nonnull JDA api, long responseNumber, @Nonnull Message message)
+    {
+        this(api, responseNumber, message, null);
+    }
+
+    public GuildMessageUpdateEvent(@Nonnull JDA api, long responseNumber, @Nonnull Message message, @Nullable Message oldMessage)
     {
         super(api, responseNumber, message.getIdLong(), message.getTextChannel());
         this.message = message;
+        this.oldMessage = oldMessage;
     }
 
     /**
@@ -49,6 +56,20 @@ public class GuildMessageUpdateEvent extends GenericGuildMessageEvent
         return message;
     }
 
+    /**
+     * The {@link net.dv8tion.jda.api.entities.Message Message} before the update, if it was in the message cache.
+     * <br>This is always {@code null} unless the message cache was enabled in the builder.
+     *
+     * @return The previous message, or {@code null} if it was not cached
+     *
+     * @since  4.1.1
+     */
+    @Nullable
+    public Message getOldMessage()
+    {
+        return oldMessage;
+    }
+
     /**
      * The author of this message
      *
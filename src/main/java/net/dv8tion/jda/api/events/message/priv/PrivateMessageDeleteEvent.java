@@ -16,9 +16,11 @@
 package net.dv8tion.jda.api.events.message.priv;
 
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.PrivateChannel;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Indicates that a Message was deleted in a {@link net.dv8tion.jda.api.entities.PrivateChannel PrivateChannel}.
@@ -27,8 +29,30 @@ import javax.annotation.Nonnull;
  */
 public class PrivateMessageDeleteEvent extends GenericPrivateMessageEvent
 {
+    private final Message cachedMessage;
+
     public PrivateMessageDeleteEvent(@Nonnull JDA api, long responseNumber, long messageId, @Nonnull PrivateChannel channel)
+    {
+        this(api, responseNumber, messageId, channel, null);
+    }
+
+    public PrivateMessageDeleteEvent(@Nonnull JDA api, long responseNumber, long messageId, @Nonnull PrivateChannel channel, @Nullable Message cachedMessage)
     {
         super(api, responseNumber, messageId, channel);
+        this.cachedMessage = cachedMessage;
+    }
+
+    /**
+     * The deleted {@link net.dv8tion.jda.api.entities.Message Message}, if it was in the message cache.
+     * <br>This is always {@code null} unless the message cache was enabled in the builder.
+     *
+     * @return The deleted message, or {@code null} if it was not cached
+     *
+     * @since  4.1.1
+     */
+    @Nullable
+    public Message getCachedMessage()
+    {
+        return cachedMessage;
     }
 }
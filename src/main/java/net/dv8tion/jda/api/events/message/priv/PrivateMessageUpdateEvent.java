@@ -20,6 +20,7 @@ import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.User;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Indicates that a Message was edited in a {@link net.dv8tion.jda.api.entities.PrivateChannel PrivateChannel}.
@@ -29,11 +30,18 @@ import javax.annotation.Nonnull;
 public class PrivateMessageUpdateEvent extends GenericPrivateMessageEvent
 {
     private final Message message;
+    private final Message oldMessage;
 
     public PrivateMessageUpdateEvent(@Nonnull JDA api, long responseNumber, @Nonnull Message message)
+    {
+        this(api, responseNumber, message, null);
+    }
+
+    public PrivateMessageUpdateEvent(@Nonnull JDA api, long responseNumber, @Nonnull Message message, @Nullable Message oldMessage)
     {
         super(api, responseNumber, message.getIdLong(), message.getPrivateChannel());
         this.message = message;
+        this.oldMessage = oldMessage;
     }
 
     /**
@@ -47,6 +55,20 @@ public class PrivateMessageUpdateEvent extends GenericPrivateMessageEvent
         return message;
     }
 
+    /**
+     * The {@link net.dv8tion.jda.api.entities.Message Message} before the update, if it was in the message cache.
+     * <br>This is always {@code null} unless the message cache was enabled in the builder.
+     *
+     * @return The previous message, or {@code null} if it was not cached
+     *
+     * @since  4.1.1
+     */
+    @Nullable
+    public Message getOldMessage()
+    {
+        return oldMessage;
+    }
+
     /**
      * The author of this message
      *
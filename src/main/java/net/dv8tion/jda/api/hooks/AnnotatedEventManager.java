@@ -111,6 +111,20 @@ public class AnnotatedEventManager implements IEventManager
         while (eventClass != null);
     }
 
+    @Override
+    public boolean isListening(@Nonnull Class<? extends GenericEvent> type)
+    {
+        // handle() only walks the superclasses of an event, interfaces are never subscribed
+        Class<?> eventClass = type;
+        while (eventClass != null)
+        {
+            if (methods.containsKey(eventClass))
+                return true;
+            eventClass = eventClass == Event.class ? null : eventClass.getSuperclass();
+        }
+        return false;
+    }
+
     private void updateMethods()
     {
         methods.clear();
@@ -89,4 +89,24 @@ public interface IEventManager
      */
     @Nonnull
     List<Object> getRegisteredListeners();
+
+    /**
+     * Whether any registered listener would receive an event of the provided type.
+     * <br>JDA uses this to skip creating update events nobody listens to, the cache is updated either way.
+     * An implementation may return {@code true} when it cannot tell, but it must never return {@code false}
+     * for an event type that would be received by a listener.
+     *
+     * <p>The default implementation always returns {@code true}.
+     *
+     * @param  type
+     *         The event type
+     *
+     * @return True, if an event of this type might be received by a listener
+     *
+     * @since  4.1.1
+     */
+    default boolean isListening(@Nonnull Class<? extends GenericEvent> type)
+    {
+        return true;
+    }
 }
@@ -20,9 +20,13 @@ import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.utils.JDALogger;
 
 import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -42,6 +46,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class InterfacedEventManager implements IEventManager
 {
     private final CopyOnWriteArrayList<EventListener> listeners = new CopyOnWriteArrayList<>();
+    // Replaced whenever the listeners change, see isListening(Class)
+    private volatile Map<Class<?>, Boolean> listening = new ConcurrentHashMap<>();
 
     public InterfacedEventManager()
     {
@@ -62,6 +68,7 @@ public class InterfacedEventManager implements IEventManager
             throw new IllegalArgumentException("Listener must implement EventListener");
         }
         listeners.add((EventListener) listener);
+        listening = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -76,7 +83,8 @@ public class InterfacedEventManager implements IEventManager
         }
 
         //noinspection SuspiciousMethodCalls
-        listeners.remove(listener);
+        if (listeners.remove(listener))
+            listening = new ConcurrentHashMap<>();
     }
 
     @Nonnull
@@ -86,6 +94,51 @@ public class InterfacedEventManager implements IEventManager
         return Collections.unmodifiableList(new ArrayList<>(listeners));
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A {@link net.dv8tion.jda.api.hooks.ListenerAdapter ListenerAdapter} only listens to an event type
+     * if it overrides one of the methods which receive it. Any other {@link net.dv8tion.jda.api.hooks.EventListener EventListener}
+     * is assumed to listen to all events.
+     */
+    @Override
+    public boolean isListening(@Nonnull Class<? extends GenericEvent> type)
+    {
+        // Read the cache before the listeners, a concurrent register() then either misses this cache or is visible here
+        Map<Class<?>, Boolean> cache = listening;
+        Boolean result = cache.get(type);
+        if (result == null)
+        {
+            result = listeners.stream().anyMatch(listener -> isListening(listener, type));
+            cache.put(type, result);
+        }
+        return result;
+    }
+
+    private static boolean isListening(EventListener listener, Class<? extends GenericEvent> type)
+    {
+        if (!(listener instanceof ListenerAdapter))
+            return true;
+        Class<?> listenerClass = listener.getClass();
+        for (Method method : ListenerAdapter.class.getDeclaredMethods())
+        {
+            Class<?>[] parameters = method.getParameterTypes();
+            if (!Modifier.isPublic(method.getModifiers()) || Modifier.isFinal(method.getModifiers())
+                || parameters.length != 1 || !parameters[0].isAssignableFrom(type))
+                continue;
+            try
+            {
+                if (listenerClass.getMethod(method.getName(), parameters).getDeclaringClass() != ListenerAdapter.class)
+                    return true;
+            }
+            catch (NoSuchMethodException e)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void handle(@Nonnull GenericEvent event)
     {
@@ -29,6 +29,7 @@ import javax.annotation.Nullable;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -389,7 +390,7 @@ public interface MessageAction extends RestAction<Message>, Appendable
      * Adds the provided {@link java.io.File File} as file data.
      *
      * <p>To reset all files use {@link #clearFiles()}
-     * <br><u>This method opens a {@link java.io.FileInputStream FileInputStream} which will be closed by executing this action or using {@link #clearFiles()}!</u>
+     * <br>The file is streamed from disk whenever the request is sent, it should not be modified until this action completed.
      *
      * @param  file
      *         The File that will be interpreted as file data
@@ -419,6 +420,84 @@ public interface MessageAction extends RestAction<Message>, Appendable
     @CheckReturnValue
     MessageAction addFile(@Nonnull final File file, @Nonnull final String name, @Nonnull AttachmentOption... options);
 
+    /**
+     * Adds the file at the provided {@link java.nio.file.Path Path} as file data.
+     * <br>Shortcut for {@link #addFile(java.nio.file.Path, String, net.dv8tion.jda.api.utils.AttachmentOption...) addFile(path, path.getFileName().toString())}
+     * with the same side-effects.
+     *
+     * @param  path
+     *         The path of the file that will be interpreted as file data
+     * @param  options
+     *         Possible options to apply to this attachment, such as marking it as spoiler image
+     *
+     * @throws java.lang.IllegalStateException
+     *         If the file limit of {@value Message#MAX_FILE_AMOUNT} has been reached prior to calling this method,
+     *         or if this MessageAction will perform an edit operation on an existing Message (see {@link #isEdit()})
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided path is {@code null}, has no file name or if the file is bigger than the maximum file size of the currently logged in account
+     * @throws net.dv8tion.jda.api.exceptions.InsufficientPermissionException
+     *         If this is targeting a TextChannel and the currently logged in account does not have
+     *         {@link net.dv8tion.jda.api.Permission#MESSAGE_ATTACH_FILES Permission.MESSAGE_ATTACH_FILES}
+     *
+     * @return Updated MessageAction for chaining convenience
+     *
+     * @see    net.dv8tion.jda.api.entities.SelfUser#getAllowedFileSize() SelfUser.getAllowedFileSize()
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    @CheckReturnValue
+    default MessageAction addFile(@Nonnull final Path path, @Nonnull AttachmentOption... options)
+    {
+        Checks.notNull(path, "Path");
+        Checks.notNull(path.getFileName(), "File Name");
+        return addFile(path, path.getFileName().toString(), options);
+    }
+
+    /**
+     * Adds the file at the provided {@link java.nio.file.Path Path} as file data.
+     * <br>Like {@link #addFile(java.io.File, String, net.dv8tion.jda.api.utils.AttachmentOption...)} the file is streamed
+     * whenever the request is sent instead of being loaded into memory. This also supports paths of other
+     * {@link java.nio.file.FileSystem FileSystems}, such as files inside of a zip archive.
+     *
+     * <p>To reset all files use {@link #clearFiles()}
+     *
+     * @param  path
+     *         The path of the file that will be interpreted as file data
+     * @param  name
+     *         The file name that should be used to interpret the type of the given data
+     *         using the file-name extension. This name is similar to what will be visible
+     *         through {@link net.dv8tion.jda.api.entities.Message.Attachment#getFileName() Message.Attachment.getFileName()}
+     * @param  options
+     *         Possible options to apply to this attachment, such as marking it as spoiler image
+     *
+     * @throws java.lang.IllegalStateException
+     *         If the file limit of {@value Message#MAX_FILE_AMOUNT} has been reached prior to calling this method,
+     *         or if this MessageAction will perform an edit operation on an existing Message (see {@link #isEdit()})
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided path is {@code null} or the provided name is blank or {@code null}
+     *         or if the file is bigger than the maximum file size of the currently logged in account,
+     *         or if the file does not exist/ is not readable
+     * @throws java.io.UncheckedIOException
+     *         If the size of the file could not be read
+     * @throws net.dv8tion.jda.api.exceptions.InsufficientPermissionException
+     *         If this is targeting a TextChannel and the currently logged in account does not have
+     *         {@link net.dv8tion.jda.api.Permission#MESSAGE_ATTACH_FILES Permission.MESSAGE_ATTACH_FILES}
+     *
+     * @return Updated MessageAction for chaining convenience
+     *
+     * @see    net.dv8tion.jda.api.entities.SelfUser#getAllowedFileSize() SelfUser.getAllowedFileSize()
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    @CheckReturnValue
+    default MessageAction addFile(@Nonnull final Path path, @Nonnull final String name, @Nonnull AttachmentOption... options)
+    {
+        Checks.notNull(path, "Path");
+        return addFile(path.toFile(), name, options);
+    }
+
     /**
      * Clears all previously added files
      * <br>And closes {@code FileInputStreams} generated by {@link #addFile(File, String, net.dv8tion.jda.api.utils.AttachmentOption...)}.
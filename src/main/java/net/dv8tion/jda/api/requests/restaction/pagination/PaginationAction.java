@@ -242,6 +242,42 @@ public interface PaginationAction<T, M extends PaginationAction<T, M>> extends R
      */
     boolean isCacheEnabled();
 
+    /**
+     * Whether the next page should be requested as soon as the current page was received.
+     * <b>Default: false</b>
+     * <br>With this enabled, the {@link #iterator() iterator} and the {@link #forEachAsync(Procedure) forEach} operations
+     * request the following page while the current page is still being consumed, instead of waiting for the
+     * consumer to reach the end of the page. This hides the request latency for long iterations such as channel exports.
+     *
+     * <p>At most one page is requested ahead. Combined with {@link #cache(boolean) cache(false)} this keeps
+     * no more than two pages of entities in memory at any time.
+     * <br>When an iteration is stopped early, the page that was requested ahead is still retrieved and discarded.
+     * If the cache is enabled these entities are added to the cache like any other retrieved entity.
+     * <br>Since that page counts as retrieved, {@link #getLast()} and the next iteration, or {@link #complete()} call,
+     * continue <b>after</b> it. The entities of a page that was prefetched by an abandoned iterator are therefore skipped
+     * by later iterations, with the cache enabled they are still available from {@link #getCached()}.
+     *
+     * @param  enablePrefetch
+     *         Whether to request the next page ahead of time
+     *
+     * @return The current PaginationAction implementation instance
+     *
+     * @since  4.1.1
+     */
+    @Nonnull
+    M prefetch(final boolean enablePrefetch);
+
+    /**
+     * Whether the next page is requested ahead of time during iteration.
+     *
+     * @return True, if pages are prefetched
+     *
+     * @see    #prefetch(boolean)
+     *
+     * @since  4.1.1
+     */
+    boolean isPrefetchEnabled();
+
     /**
      * The maximum limit that can be used for this PaginationAction
      * <br>Limits provided to {@link #limit(int)} must not be greater
@@ -639,7 +675,7 @@ public interface PaginationAction<T, M extends PaginationAction<T, M>> extends R
 
         public PaginationIterator(Collection<E> queue, Supplier<List<E>> supply)
         {
-            this.items = new LinkedList<>(queue);
+            this.items = new ArrayDeque<>(queue);
             this.supply = supply;
         }
 
@@ -19,23 +19,26 @@ import gnu.trove.set.TIntSet;
 import net.dv8tion.jda.api.AccountType;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.OnlineStatus;
-import net.dv8tion.jda.api.entities.Activity;
-import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.utils.ChunkingFilter;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.SessionController;
 import net.dv8tion.jda.api.utils.cache.ShardCacheView;
+import net.dv8tion.jda.api.utils.cache.SnowflakeCacheView;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.managers.PresenceImpl;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.ChannelShardIndex;
 import net.dv8tion.jda.internal.utils.cache.ShardCacheViewImpl;
+import net.dv8tion.jda.internal.utils.cache.UnifiedCacheViewImpl.UnifiedSnowflakeCacheView;
 import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
 import net.dv8tion.jda.internal.utils.config.MetaConfig;
 import net.dv8tion.jda.internal.utils.config.SessionConfig;
 import net.dv8tion.jda.internal.utils.config.ThreadingConfig;
 import net.dv8tion.jda.internal.utils.config.sharding.*;
+import net.dv8tion.jda.internal.utils.config.flags.ConfigFlag;
 import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 
@@ -47,7 +50,9 @@ import java.util.Collection;
 import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 /**
  * JDA's default {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager} implementation.
@@ -81,6 +86,30 @@ public class DefaultShardManager implements ShardManager
      */
     protected ShardCacheViewImpl shards;
 
+    /**
+     * Index of guild channel ids to the shard that holds them, this is updated by the shards.
+     */
+    protected final ChannelShardIndex channelIndex = new ChannelShardIndex();
+
+    /**
+     * Cross-shard views which route lookups by id to a single shard.
+     */
+    protected final SnowflakeCacheView<Guild> guildCache = new UnifiedSnowflakeCacheView<>(
+        () -> shardStream().map(JDA::getGuildCache),
+        id -> routeGuild(id, JDA::getGuildCache));
+    protected final SnowflakeCacheView<Category> categoryCache = new UnifiedSnowflakeCacheView<>(
+        () -> shardStream().map(JDA::getCategoryCache),
+        id -> routeChannel(id, JDA::getCategoryCache));
+    protected final SnowflakeCacheView<StoreChannel> storeChannelCache = new UnifiedSnowflakeCacheView<>(
+        () -> shardStream().map(JDA::getStoreChannelCache),
+        id -> routeChannel(id, JDA::getStoreChannelCache));
+    protected final SnowflakeCacheView<TextChannel> textChannelCache = new UnifiedSnowflakeCacheView<>(
+        () -> shardStream().map(JDA::getTextChannelCache),
+        id -> routeChannel(id, JDA::getTextChannelCache));
+    protected final SnowflakeCacheView<VoiceChannel> voiceChannelCache = new UnifiedSnowflakeCacheView<>(
+        () -> shardStream().map(JDA::getVoiceChannelCache),
+        id -> routeChannel(id, JDA::getVoiceChannelCache));
+
     /**
      * This can be used to check if the ShardManager is shutting down.
      */
@@ -244,6 +273,41 @@ public class DefaultShardManager implements ShardManager
         return this.shards;
     }
 
+    @Nonnull
+    @Override
+    public SnowflakeCacheView<Guild> getGuildCache()
+    {
+        return guildCache;
+    }
+
+    @Nonnull
+    @Override
+    public SnowflakeCacheView<Category> getCategoryCache()
+    {
+        return categoryCache;
+    }
+
+    @Nonnull
+    @Override
+    public SnowflakeCacheView<StoreChannel> getStoreChannelCache()
+    {
+        return storeChannelCache;
+    }
+
+    @Nonnull
+    @Override
+    public SnowflakeCacheView<TextChannel> getTextChannelCache()
+    {
+        return textChannelCache;
+    }
+
+    @Nonnull
+    @Override
+    public SnowflakeCacheView<VoiceChannel> getVoiceChannelCache()
+    {
+        return voiceChannelCache;
+    }
+
     public void login() throws LoginException
     {
         // building the first one in the current thread ensures that LoginException and IllegalArgumentException can be thrown on login
@@ -480,18 +544,25 @@ public class DefaultShardManager implements ShardManager
         ExecutorService callbackPool = callbackPair.executor;
         boolean shutdownCallbackPool = callbackPair.automaticShutdown;
 
+        ExecutorPair<ScheduledExecutorService> audioPair = resolveExecutor(threadingConfig.getAudioPoolProvider(), shardId);
+        ScheduledExecutorService audioPool = audioPair.executor;
+        boolean shutdownAudioPool = audioPair.automaticShutdown;
+
         AuthorizationConfig authConfig = new AuthorizationConfig(AccountType.BOT, token);
         SessionConfig sessionConfig = this.sessionConfig.toSessionConfig(httpClient);
         ThreadingConfig threadingConfig = new ThreadingConfig();
         threadingConfig.setRateLimitPool(rateLimitPool, shutdownRateLimitPool);
         threadingConfig.setGatewayPool(gatewayPool, shutdownGatewayPool);
         threadingConfig.setCallbackPool(callbackPool, shutdownCallbackPool);
+        threadingConfig.setAudioPool(audioPool, shutdownAudioPool);
+        threadingConfig.setVirtualThreads(this.sessionConfig.getFlags().contains(ConfigFlag.VIRTUAL_THREADS));
         MetaConfig metaConfig = new MetaConfig(this.metaConfig.getMaxBufferSize(), this.metaConfig.getContextMap(shardId), this.metaConfig.getCacheFlags(), this.sessionConfig.getFlags());
         final JDAImpl jda = new JDAImpl(authConfig, sessionConfig, threadingConfig, metaConfig);
         jda.setChunkingFilter(chunkingFilter);
         threadingConfig.init(jda::getIdentifierString);
 
         jda.setShardManager(this);
+        jda.setChannelShardIndex(channelIndex);
 
         if (eventConfig.getEventManagerProvider() != null)
             jda.setEventManager(this.eventConfig.getEventManagerProvider().apply(shardId));
@@ -518,6 +589,8 @@ public class DefaultShardManager implements ShardManager
             {
                 SessionController.ShardedGateway gateway = jda.getShardedGateway();
                 this.gatewayURL = gateway.getUrl();
+                // Shards of different identify buckets can login in parallel
+                jda.getSessionController().setConcurrency(gateway.getConcurrency());
                 if (this.gatewayURL == null)
                     LOG.error("Acquired null gateway url from SessionController");
                 else
@@ -586,6 +659,28 @@ public class DefaultShardManager implements ShardManager
         presenceConfig.setStatusProvider(statusProvider);
     }
 
+    protected Stream<JDA> shardStream()
+    {
+        return this.shards == null ? Stream.empty() : this.shards.stream();
+    }
+
+    protected <T> T routeGuild(long guildId, Function<JDA, T> view)
+    {
+        if (this.shards == null)
+            return null;
+        JDA shard = this.shards.getElementById(MiscUtil.getShardForGuild(guildId, getShardsTotal()));
+        return shard == null ? null : view.apply(shard);
+    }
+
+    protected <T> T routeChannel(long channelId, Function<JDA, T> view)
+    {
+        int shardId = channelIndex.get(channelId);
+        if (shardId < 0 || this.shards == null)
+            return null;
+        JDA shard = this.shards.getElementById(shardId);
+        return shard == null ? null : view.apply(shard);
+    }
+
     /**
      * This method creates the internal {@link java.util.concurrent.ScheduledExecutorService ScheduledExecutorService}.
      * It is intended as a hook for custom implementations to create their own executor.
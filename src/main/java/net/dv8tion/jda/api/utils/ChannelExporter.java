@@ -0,0 +1,281 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.exceptions.InsufficientPermissionException;
+import net.dv8tion.jda.api.exceptions.ParsingException;
+import net.dv8tion.jda.internal.requests.RestActionImpl;
+import net.dv8tion.jda.internal.requests.Route;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.JsonUtil;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Exports the complete message history of a {@link net.dv8tion.jda.api.entities.MessageChannel MessageChannel}
+ * as newline delimited json (one raw message object per line), from the oldest to the newest message.
+ *
+ * <p>The messages are written exactly as they are received from discord, the response is only scanned for the
+ * boundaries and ids of the messages. They are never turned into {@link net.dv8tion.jda.api.entities.Message Message}
+ * instances or json objects. At most two pages of 100 messages are held in memory, the next page is requested
+ * while the current page is written on the {@link net.dv8tion.jda.api.JDA#getCallbackPool() callback pool}.
+ * The rate limits are handled by the requester as usual.
+ *
+ * <p>An export can be resumed with {@link #resumeAfter(long)} using the {@link #getLastExportedId() last exported id}
+ * of an interrupted export. Each line is written completely before the last exported id is updated.
+ *
+ * <p><b>Example</b><br>
+ * <pre>{@code
+ * try (FileChannel output = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND))
+ * {
+ *     new ChannelExporter(channel)
+ *         .resumeAfter(lastId)
+ *         .export(output)
+ *         .join();
+ * }
+ * }</pre>
+ *
+ * @since 4.1.1
+ */
+public class ChannelExporter
+{
+    private static final int PAGE_SIZE = 100;
+    private static final byte[] NEWLINE = { '\n' };
+
+    private final MessageChannel channel;
+    private volatile long lastId = 0;
+    private volatile long count = 0;
+
+    /**
+     * Creates a new ChannelExporter for the provided channel.
+     *
+     * @param  channel
+     *         The channel to export
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided channel is null
+     * @throws net.dv8tion.jda.api.exceptions.InsufficientPermissionException
+     *         If this is a TextChannel and the currently logged in account does not have
+     *         {@link net.dv8tion.jda.api.Permission#MESSAGE_HISTORY Permission.MESSAGE_HISTORY}
+     */
+    public ChannelExporter(@Nonnull MessageChannel channel)
+    {
+        Checks.notNull(channel, "Channel");
+        if (channel instanceof TextChannel)
+        {
+            TextChannel tc = (TextChannel) channel;
+            if (!tc.getGuild().getSelfMember().hasPermission(tc, Permission.MESSAGE_HISTORY))
+                throw new InsufficientPermissionException(tc, Permission.MESSAGE_HISTORY);
+        }
+        this.channel = channel;
+    }
+
+    /**
+     * Continues a previous export after the provided message id.
+     * <br>Only messages which were sent after this message are exported.
+     *
+     * @param  messageId
+     *         The last exported message id, or {@code 0} to start at the beginning of the channel
+     *
+     * @return The ChannelExporter instance. Useful for chaining.
+     */
+    @Nonnull
+    public ChannelExporter resumeAfter(long messageId)
+    {
+        this.lastId = messageId;
+        return this;
+    }
+
+    /**
+     * The id of the last message which was completely written.
+     * <br>This can be passed to {@link #resumeAfter(long)} to continue an interrupted export.
+     *
+     * @return The last exported message id, or the id provided to {@link #resumeAfter(long)}
+     */
+    public long getLastExportedId()
+    {
+        return lastId;
+    }
+
+    /**
+     * The amount of messages written by this exporter.
+     *
+     * @return The amount of exported messages
+     */
+    public long getExportedCount()
+    {
+        return count;
+    }
+
+    /**
+     * Starts the export into the provided channel.
+     * <br>The provided channel is not closed by this exporter.
+     *
+     * <p>The returned future completes with the {@link #getLastExportedId() last exported id} once the newest message
+     * of the channel was written. It fails if a request or a write fails.
+     * Cancelling the future stops the export after the current message.
+     *
+     * @param  output
+     *         The channel to write to
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided channel is null
+     *
+     * @return {@link java.util.concurrent.CompletableFuture} completed with the last exported id
+     */
+    @Nonnull
+    public CompletableFuture<Long> export(@Nonnull WritableByteChannel output)
+    {
+        Checks.notNull(output, "Output");
+        CompletableFuture<Long> task = new CompletableFuture<>();
+        handlePage(task, output, requestPage(lastId));
+        return task;
+    }
+
+    private CompletableFuture<Page> requestPage(long after)
+    {
+        Route.CompiledRoute route = Route.Messages.GET_MESSAGE_HISTORY.compile(channel.getId())
+            .withQueryParams("limit", String.valueOf(PAGE_SIZE), "after", Long.toUnsignedString(after));
+        return new RestActionImpl<Page>(channel.getJDA(), route, (response, request) -> response.get(Page.class, Page::read)).submit();
+    }
+
+    private void handlePage(CompletableFuture<Long> task, WritableByteChannel output, CompletableFuture<Page> page)
+    {
+        // writing blocks, this must not run on the requester threads
+        page.whenCompleteAsync((messages, error) ->
+        {
+            if (error != null)
+            {
+                task.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                return;
+            }
+            if (task.isDone())
+                return;
+            if (messages.size() == 0)
+            {
+                task.complete(lastId);
+                return;
+            }
+
+            // discord returns the page newest first, the first element is the start of the next page
+            CompletableFuture<Page> next = requestPage(messages.getId(0));
+            try
+            {
+                for (int i = messages.size() - 1; i >= 0 && !task.isDone(); i--)
+                    write(output, messages, i);
+            }
+            catch (IOException | RuntimeException ex)
+            {
+                next.cancel(false);
+                task.completeExceptionally(ex);
+                return;
+            }
+
+            if (task.isDone())
+                next.cancel(false);
+            else
+                handlePage(task, output, next);
+        }, channel.getJDA().getCallbackPool());
+    }
+
+    private void write(WritableByteChannel output, Page page, int index) throws IOException
+    {
+        ByteBuffer message = StandardCharsets.UTF_8.encode(CharBuffer.wrap(page.json, page.starts.get(index), page.ends.get(index)));
+        ByteBuffer newline = ByteBuffer.wrap(NEWLINE);
+        while (message.hasRemaining())
+            output.write(message);
+        while (newline.hasRemaining())
+            output.write(newline);
+        lastId = page.getId(index);
+        count++;
+    }
+
+    // The raw json of a history response with the bounds and ids of its messages, newest first
+    private static class Page
+    {
+        private final String json;
+        private final TIntArrayList starts = new TIntArrayList(PAGE_SIZE);
+        private final TIntArrayList ends = new TIntArrayList(PAGE_SIZE);
+        private final TLongArrayList ids = new TLongArrayList(PAGE_SIZE);
+
+        private Page(String json)
+        {
+            this.json = json;
+        }
+
+        private int size()
+        {
+            return ids.size();
+        }
+
+        private long getId(int index)
+        {
+            return ids.get(index);
+        }
+
+        private static Page read(BufferedReader reader) throws IOException
+        {
+            StringBuilder builder = new StringBuilder();
+            char[] buffer = new char[8192];
+            for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer))
+                builder.append(buffer, 0, read);
+            Page page = new Page(builder.toString());
+
+            try (JsonParser parser = JsonUtil.createParser(page.json))
+            {
+                if (parser.nextToken() != JsonToken.START_ARRAY)
+                    throw new ParsingException("Expected a message array");
+                while (parser.nextToken() == JsonToken.START_OBJECT)
+                {
+                    int start = (int) parser.getTokenLocation().getCharOffset();
+                    long id = 0;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME)
+                    {
+                        String field = parser.getCurrentName();
+                        if (parser.nextToken() == JsonToken.VALUE_STRING && field.equals("id"))
+                            id = Long.parseUnsignedLong(parser.getText());
+                        else
+                            parser.skipChildren();
+                    }
+                    if (parser.currentToken() != JsonToken.END_OBJECT || id == 0)
+                        throw new ParsingException("Malformed message in history response");
+                    page.starts.add(start);
+                    page.ends.add((int) parser.getTokenLocation().getCharOffset() + 1);
+                    page.ids.add(id);
+                }
+                if (parser.currentToken() != JsonToken.END_ARRAY)
+                    throw new ParsingException("Malformed history response");
+            }
+            return page;
+        }
+    }
+}
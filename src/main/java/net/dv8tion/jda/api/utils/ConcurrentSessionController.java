@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import com.neovisionaries.ws.client.OpeningHandshakeException;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link SessionController} which respects concurrent shard login.
+ * <br>This makes use of the {@link #setConcurrency(int)} hook to delegate buckets for individual shard logins.
+ *
+ * <p>Each bucket ({@code shard_id % concurrency}) has its own queue and worker thread which waits {@link #IDENTIFY_DELAY}
+ * between starting sessions. With a concurrency of 16, the startup time of a bot is reduced by roughly a factor of 16.
+ *
+ * <p>This is used by default for the {@link net.dv8tion.jda.api.sharding.DefaultShardManager DefaultShardManager}
+ * which applies the concurrency reported by discord.
+ *
+ * @since 4.1.1
+ */
+public class ConcurrentSessionController extends SessionControllerAdapter implements SessionController
+{
+    private Worker[] workers = { new Worker(0) };
+
+    @Override
+    public void setConcurrency(int level)
+    {
+        Checks.positive(level, "Concurrency");
+        List<SessionConnectNode> pending = new ArrayList<>();
+        synchronized (lock)
+        {
+            if (workers.length == level)
+                return;
+            for (Worker worker : workers)
+            {
+                pending.addAll(worker.queue);
+                worker.queue.clear();
+            }
+            workers = new Worker[level];
+            for (int i = 0; i < level; i++)
+                workers[i] = new Worker(i);
+        }
+        pending.forEach(this::appendSession);
+    }
+
+    @Override
+    public void appendSession(@Nonnull SessionConnectNode node)
+    {
+        getWorker(node).enqueue(node);
+    }
+
+    @Override
+    public void removeSession(@Nonnull SessionConnectNode node)
+    {
+        getWorker(node).dequeue(node);
+    }
+
+    private Worker getWorker(SessionConnectNode node)
+    {
+        synchronized (lock)
+        {
+            int shardId = node.getShardInfo().getShardId();
+            return workers[shardId % workers.length];
+        }
+    }
+
+    private class Worker implements Runnable
+    {
+        private final Queue<SessionConnectNode> queue = new ConcurrentLinkedQueue<>();
+        private final int id;
+        private Thread thread;
+        private long lastConnect = 0;
+
+        private Worker(int id)
+        {
+            this.id = id;
+        }
+
+        private synchronized void start()
+        {
+            if (thread == null)
+            {
+                thread = new Thread(this, "ConcurrentSessionController-Worker-" + id);
+                thread.setUncaughtExceptionHandler((t, e) -> log.error("Worker has failed with throwable!", e));
+                log.debug("Running worker for bucket {}", id);
+                thread.start();
+            }
+        }
+
+        private synchronized void stop()
+        {
+            thread = null;
+            if (!queue.isEmpty())
+                start();
+        }
+
+        private void enqueue(SessionConnectNode node)
+        {
+            queue.remove(node);
+            queue.add(node);
+            start();
+        }
+
+        private void dequeue(SessionConnectNode node)
+        {
+            queue.remove(node);
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                long delay = TimeUnit.SECONDS.toMillis(IDENTIFY_DELAY);
+                boolean isMultiple = queue.size() > 1;
+                while (!queue.isEmpty())
+                {
+                    long interval = System.currentTimeMillis() - lastConnect;
+                    if (interval < delay)
+                        Thread.sleep(delay - interval);
+
+                    SessionConnectNode node = queue.poll();
+                    if (node == null)
+                        break;
+                    try
+                    {
+                        node.run(isMultiple && queue.isEmpty());
+                        isMultiple = true;
+                        lastConnect = System.currentTimeMillis();
+                    }
+                    catch (IllegalStateException e)
+                    {
+                        Throwable t = e.getCause();
+                        if (t instanceof OpeningHandshakeException)
+                            log.error("Failed opening handshake, appending to queue. Message: {}", e.getMessage());
+                        else if (t != null && !JDA.Status.RECONNECT_QUEUED.name().equals(t.getMessage()))
+                            log.error("Failed to establish connection for a node, appending to queue", e);
+                        appendSession(node);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        appendSession(node);
+                        throw e;
+                    }
+                }
+            }
+            catch (InterruptedException e)
+            {
+                log.error("Failed to run node", e);
+            }
+            finally
+            {
+                stop();
+            }
+        }
+    }
+}
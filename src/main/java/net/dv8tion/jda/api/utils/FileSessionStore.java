@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.IOUtil;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link SessionStore} which writes one small json file per shard into a directory.
+ * <br>The files are named {@code session-<shard id>_<shard total>.json} and are deleted once they have been loaded.
+ * By default, the entity cache of each shard is stored alongside the session, a session is only resumed together with its cache.
+ *
+ * <p><b>Example</b><br>
+ * <pre>{@code
+ * new DefaultShardManagerBuilder(token)
+ *     .setSessionStore(new FileSessionStore(new File("sessions"), true))
+ *     .build();
+ * }</pre>
+ *
+ * @since 4.1.1
+ */
+public class FileSessionStore implements SessionStore
+{
+    public static final Logger LOG = JDALogger.getLog(FileSessionStore.class);
+
+    private final File directory;
+    private final boolean cacheSnapshots;
+
+    /**
+     * Creates a new FileSessionStore for the provided directory.
+     *
+     * @param  directory
+     *         The directory to store the sessions in
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided directory is null or not a directory
+     */
+    public FileSessionStore(@Nonnull File directory)
+    {
+        this(directory, true);
+    }
+
+    /**
+     * Creates a new FileSessionStore for the provided directory.
+     * <br>With cache snapshots enabled, the entity cache of each shard is written to {@code cache-<shard id>_<shard total>.bin}.
+     * <br><b>Without cache snapshots no session is resumed</b>, a resumed session does not receive its guilds again
+     * and would start with an empty cache. Shards identify as usual in that case.
+     *
+     * @param  directory
+     *         The directory to store the sessions in
+     * @param  cacheSnapshots
+     *         Whether the entity cache should be stored together with the session, which is required to resume it
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided directory is null or not a directory
+     */
+    public FileSessionStore(@Nonnull File directory, boolean cacheSnapshots)
+    {
+        Checks.notNull(directory, "Directory");
+        Checks.check(directory.isDirectory(), "Provided file is not a directory!");
+        this.directory = directory;
+        this.cacheSnapshots = cacheSnapshots;
+    }
+
+    @Nullable
+    @Override
+    public Session load(@Nonnull JDA.ShardInfo shardInfo)
+    {
+        File file = getFile(shardInfo);
+        if (!file.isFile())
+            return null;
+        try
+        {
+            DataObject json = DataObject.fromJson(new String(IOUtil.readFully(file), StandardCharsets.UTF_8));
+            return new Session(json.getString("session_id"), json.getLong("seq"), json.getString("url"));
+        }
+        catch (Exception e)
+        {
+            LOG.warn("Failed to load stored session for shard {}", shardInfo.getShardString(), e);
+            return null;
+        }
+        finally
+        {
+            // a session can only be resumed once
+            if (!file.delete())
+                LOG.warn("Failed to delete stored session file {}", file);
+        }
+    }
+
+    @Override
+    public void save(@Nonnull JDA.ShardInfo shardInfo, @Nonnull Session session)
+    {
+        File file = getFile(shardInfo);
+        DataObject json = DataObject.empty()
+            .put("session_id", session.getSessionId())
+            .put("seq", session.getSequence())
+            .put("url", session.getGatewayUrl());
+        try
+        {
+            File temp = new File(directory, file.getName() + ".tmp");
+            Files.write(temp.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e)
+        {
+            LOG.error("Failed to store session for shard {}", shardInfo.getShardString(), e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public File getCacheSnapshot(@Nonnull JDA.ShardInfo shardInfo)
+    {
+        if (!cacheSnapshots)
+            return null;
+        return new File(directory, "cache-" + shardInfo.getShardId() + "_" + shardInfo.getShardTotal() + ".bin");
+    }
+
+    private File getFile(JDA.ShardInfo shardInfo)
+    {
+        return new File(directory, "session-" + shardInfo.getShardId() + "_" + shardInfo.getShardTotal() + ".json");
+    }
+}
@@ -22,7 +22,7 @@ import net.dv8tion.jda.internal.utils.Checks;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
 /**
  * Implements and algorithm that can strip or replace markdown in any supplied string.
@@ -70,10 +70,6 @@ public class MarkdownSanitizer
     private static final int ESCAPED_QUOTE       = Integer.MIN_VALUE | QUOTE;
     private static final int ESCAPED_QUOTE_BLOCK = Integer.MIN_VALUE | QUOTE_BLOCK;
 
-    private static final Pattern codeLanguage = Pattern.compile("^\\w+\n.*", Pattern.MULTILINE | Pattern.DOTALL);
-    private static final Pattern quote = Pattern.compile("> +\\S.*", Pattern.DOTALL | Pattern.MULTILINE);
-    private static final Pattern quoteBlock = Pattern.compile(">>>\\s+\\S.*", Pattern.DOTALL | Pattern.MULTILINE);
-
     private static final TIntObjectMap<String> tokens;
 
     static
@@ -223,57 +219,67 @@ public class MarkdownSanitizer
         return this;
     }
 
-    private int getRegion(int index, @Nonnull String sequence)
+    private int getRegion(int index, @Nonnull String sequence, int start, int end)
     {
-        if (sequence.length() - index >= 3)
+        char current = sequence.charAt(index);
+        if (end - index >= 3 && sequence.charAt(index + 1) == current && sequence.charAt(index + 2) == current)
         {
-            String threeChars = sequence.substring(index, index + 3);
-            switch (threeChars)
+            switch (current)
             {
-                case "```":
-                    return doesEscape(index, sequence) ? ESCAPED_BLOCK : BLOCK;
-                case "***":
-                    return doesEscape(index, sequence) ? ESCAPED_BOLD | ITALICS_A : BOLD | ITALICS_A;
+                case '`':
+                    return doesEscape(index, sequence, start) ? ESCAPED_BLOCK : BLOCK;
+                case '*':
+                    return doesEscape(index, sequence, start) ? ESCAPED_BOLD | ITALICS_A : BOLD | ITALICS_A;
             }
         }
-        if (sequence.length() - index >= 2)
+        if (end - index >= 2 && sequence.charAt(index + 1) == current)
         {
-            String twoChars = sequence.substring(index, index + 2);
-            switch (twoChars)
+            switch (current)
             {
-                case "**":
-                    return doesEscape(index, sequence) ? ESCAPED_BOLD : BOLD;
-                case "__":
-                    return doesEscape(index, sequence) ? ESCAPED_UNDERLINE : UNDERLINE;
-                case "~~":
-                    return doesEscape(index, sequence) ? ESCAPED_STRIKE : STRIKE;
-                case "``":
-                    return doesEscape(index, sequence) ? ESCAPED_MONO_TWO : MONO_TWO;
-                case "||":
-                    return doesEscape(index, sequence) ? ESCAPED_SPOILER : SPOILER;
+                case '*':
+                    return doesEscape(index, sequence, start) ? ESCAPED_BOLD : BOLD;
+                case '_':
+                    return doesEscape(index, sequence, start) ? ESCAPED_UNDERLINE : UNDERLINE;
+                case '~':
+                    return doesEscape(index, sequence, start) ? ESCAPED_STRIKE : STRIKE;
+                case '`':
+                    return doesEscape(index, sequence, start) ? ESCAPED_MONO_TWO : MONO_TWO;
+                case '|':
+                    return doesEscape(index, sequence, start) ? ESCAPED_SPOILER : SPOILER;
             }
         }
-        char current = sequence.charAt(index);
         switch (current)
         {
             case '*':
-                return doesEscape(index, sequence) ? ESCAPED_ITALICS_A : ITALICS_A;
+                return doesEscape(index, sequence, start) ? ESCAPED_ITALICS_A : ITALICS_A;
             case '_':
-                return doesEscape(index, sequence) ? ESCAPED_ITALICS_U : ITALICS_U;
+                return doesEscape(index, sequence, start) ? ESCAPED_ITALICS_U : ITALICS_U;
             case '`':
-                return doesEscape(index, sequence) ? ESCAPED_MONO : MONO;
+                return doesEscape(index, sequence, start) ? ESCAPED_MONO : MONO;
         }
         return NORMAL;
     }
 
-    private boolean hasCollision(int index, @Nonnull String sequence, char c)
+    private boolean hasCollision(int index, @Nonnull String sequence, int end, char c)
     {
         if (index < 0)
             return false;
-        return index < sequence.length() - 1 && sequence.charAt(index + 1) == c;
+        return index < end - 1 && sequence.charAt(index + 1) == c;
+    }
+
+    private int indexOf(@Nonnull String sequence, char c, int fromIndex, int end)
+    {
+        int index = sequence.indexOf(c, fromIndex);
+        return index < end ? index : -1;
+    }
+
+    private int indexOf(@Nonnull String sequence, @Nonnull String token, int fromIndex, int end)
+    {
+        int index = sequence.indexOf(token, fromIndex);
+        return index + token.length() <= end ? index : -1;
     }
 
-    private int findEndIndex(int afterIndex, int region, @Nonnull String sequence)
+    private int findEndIndex(int afterIndex, int region, @Nonnull String sequence, int start, int end)
     {
         if (isEscape(region))
             return -1;
@@ -283,21 +289,21 @@ public class MarkdownSanitizer
             switch (region)
             {
                 case BOLD | ITALICS_A:
-                    lastMatch = sequence.indexOf("***", lastMatch);
+                    lastMatch = indexOf(sequence, "***", lastMatch, end);
                     break;
                 case BOLD:
-                    lastMatch = sequence.indexOf("**", lastMatch);
-                    if (lastMatch != -1 && hasCollision(lastMatch + 1, sequence, '*')) // did we find a bold italics tag?
+                    lastMatch = indexOf(sequence, "**", lastMatch, end);
+                    if (lastMatch != -1 && hasCollision(lastMatch + 1, sequence, end, '*')) // did we find a bold italics tag?
                     {
                         lastMatch += 3;
                         continue;
                     }
                     break;
                 case ITALICS_A:
-                    lastMatch = sequence.indexOf('*', lastMatch);
-                    if (lastMatch != -1 && hasCollision(lastMatch, sequence, '*')) // did we find a bold tag?
+                    lastMatch = indexOf(sequence, '*', lastMatch, end);
+                    if (lastMatch != -1 && hasCollision(lastMatch, sequence, end, '*')) // did we find a bold tag?
                     {
-                        if (hasCollision(lastMatch + 1, sequence, '*'))
+                        if (hasCollision(lastMatch + 1, sequence, end, '*'))
                             lastMatch += 3;
                         else
                             lastMatch += 2;
@@ -305,35 +311,35 @@ public class MarkdownSanitizer
                     }
                     break;
                 case UNDERLINE:
-                    lastMatch = sequence.indexOf("__", lastMatch);
+                    lastMatch = indexOf(sequence, "__", lastMatch, end);
                     break;
                 case ITALICS_U:
-                    lastMatch = sequence.indexOf('_', lastMatch);
-                    if (lastMatch != -1 && hasCollision(lastMatch, sequence, '_')) // did we find an underline tag?
+                    lastMatch = indexOf(sequence, '_', lastMatch, end);
+                    if (lastMatch != -1 && hasCollision(lastMatch, sequence, end, '_')) // did we find an underline tag?
                     {
                         lastMatch += 2;
                         continue;
                     }
                     break;
                 case SPOILER:
-                    lastMatch = sequence.indexOf("||", lastMatch);
+                    lastMatch = indexOf(sequence, "||", lastMatch, end);
                     break;
                 case BLOCK:
-                    lastMatch = sequence.indexOf("```", lastMatch);
+                    lastMatch = indexOf(sequence, "```", lastMatch, end);
                     break;
                 case MONO_TWO:
-                    lastMatch = sequence.indexOf("``", lastMatch);
-                    if (lastMatch != -1 && hasCollision(lastMatch + 1, sequence, '`')) // did we find a codeblock?
+                    lastMatch = indexOf(sequence, "``", lastMatch, end);
+                    if (lastMatch != -1 && hasCollision(lastMatch + 1, sequence, end, '`')) // did we find a codeblock?
                     {
                         lastMatch += 3;
                         continue;
                     }
                     break;
                 case MONO:
-                    lastMatch = sequence.indexOf('`', lastMatch);
-                    if (lastMatch != -1 && hasCollision(lastMatch, sequence, '`')) // did we find a codeblock?
+                    lastMatch = indexOf(sequence, '`', lastMatch, end);
+                    if (lastMatch != -1 && hasCollision(lastMatch, sequence, end, '`')) // did we find a codeblock?
                     {
-                        if (hasCollision(lastMatch + 1, sequence, '`'))
+                        if (hasCollision(lastMatch + 1, sequence, end, '`'))
                             lastMatch += 3;
                         else
                             lastMatch += 2;
@@ -341,30 +347,29 @@ public class MarkdownSanitizer
                     }
                     break;
                 case STRIKE:
-                    lastMatch = sequence.indexOf("~~", lastMatch);
+                    lastMatch = indexOf(sequence, "~~", lastMatch, end);
                     break;
                 default:
                     return -1;
             }
-            if (lastMatch == -1 || !doesEscape(lastMatch, sequence))
+            if (lastMatch == -1 || !doesEscape(lastMatch, sequence, start))
                 return lastMatch;
             lastMatch++;
         }
         return -1;
     }
 
-    @Nonnull
-    private String handleRegion(int start, int end, @Nonnull String sequence, int region)
+    private void handleRegion(int start, int end, @Nonnull String sequence, int region, @Nonnull StringBuilder builder)
     {
-        String resolved = sequence.substring(start, end);
         switch (region)
         {
             case BLOCK:
             case MONO:
             case MONO_TWO:
-                return resolved;
+                builder.append(sequence, start, end);
+                break;
             default:
-                return new MarkdownSanitizer(ignored, strategy).compute(resolved);
+                compute(sequence, start, end, true, builder);
         }
     }
 
@@ -401,14 +406,38 @@ public class MarkdownSanitizer
         }
     }
 
-    private void applyStrategy(int region, @Nonnull String seq, @Nonnull StringBuilder builder)
+    // The end of these regions is found with a plain search, once it failed it also fails for every later start
+    private int getMissIndex(int region)
+    {
+        switch (region)
+        {
+            case BOLD | ITALICS_A:
+                return 0;
+            case UNDERLINE:
+                return 1;
+            case SPOILER:
+                return 2;
+            case BLOCK:
+                return 3;
+            case STRIKE:
+                return 4;
+            default:
+                return -1;
+        }
+    }
+
+    private void applyStrategy(int region, int start, int end, @Nonnull String sequence, @Nonnull StringBuilder builder)
     {
         if (strategy == SanitizationStrategy.REMOVE)
         {
-            if (codeLanguage.matcher(seq).matches())
-                builder.append(seq.substring(seq.indexOf("\n") + 1));
-            else
-                builder.append(seq);
+            int offset = builder.length();
+            handleRegion(start, end, sequence, region, builder);
+            // skip the language of a code block, such as "```java\n...```"
+            int languageEnd = offset;
+            while (languageEnd < builder.length() && isWordChar(builder.charAt(languageEnd)))
+                languageEnd++;
+            if (languageEnd > offset && languageEnd < builder.length() && builder.charAt(languageEnd) == '\n')
+                builder.delete(offset, languageEnd + 1);
             return;
         }
         String token = tokens.get(region);
@@ -420,15 +449,15 @@ public class MarkdownSanitizer
             token = "*\\*"; // BOLD needs special handling because the client thinks its ITALICS_A if you only escape once
         else if (region == (BOLD | ITALICS_A))
             token = "*\\*\\*"; // BOLD | ITALICS_A needs special handling because the client thinks its BOLD if you only escape once
-        builder.append("\\").append(token)
-               .append(seq)
-               .append("\\").append(token);
+        builder.append("\\").append(token);
+        handleRegion(start, end, sequence, region, builder);
+        builder.append("\\").append(token);
     }
 
-    private boolean doesEscape(int index, @Nonnull String seq)
+    private boolean doesEscape(int index, @Nonnull String seq, int start)
     {
         int backslashes = 0;
-        for (int i = index - 1; i > -1; i--)
+        for (int i = index - 1; i >= start; i--)
         {
             if (seq.charAt(i) != '\\')
                 break;
@@ -447,6 +476,16 @@ public class MarkdownSanitizer
         return (nextRegion & ignored) == nextRegion;
     }
 
+    private static boolean isWordChar(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isWhitespace(char c)
+    {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
     /**
      * Computes the provided input.
      * <br>Uses the specified {@link net.dv8tion.jda.api.utils.MarkdownSanitizer.SanitizationStrategy} and
@@ -464,66 +503,111 @@ public class MarkdownSanitizer
     public String compute(@Nonnull String sequence)
     {
         Checks.notNull(sequence, "Input");
-        StringBuilder builder = new StringBuilder();
-        String end = handleQuote(sequence, false);
-        if (end != null) return end;
+        StringBuilder builder = new StringBuilder(sequence.length());
+        compute(sequence, 0, sequence.length(), true, builder);
+        return builder.toString();
+    }
 
-        for (int i = 0; i < sequence.length();)
+    // Nested regions and quotes are computed on the same string and builder instead of substrings
+    private void compute(@Nonnull String sequence, int start, int end, boolean checkQuote, @Nonnull StringBuilder builder)
+    {
+        if (checkQuote && handleQuote(sequence, start, end, false, builder))
+            return;
+
+        int[] misses = null;
+        for (int i = start; i < end;)
         {
-            int nextRegion = getRegion(i, sequence);
+            int nextRegion = getRegion(i, sequence, start, end);
             if (nextRegion == NORMAL)
             {
-                if (sequence.charAt(i) == '\n' && i + 1 < sequence.length())
-                {
-                    String result = handleQuote(sequence.substring(i + 1), true);
-                    if (result != null)
-                        return builder.append(result).toString();
-                }
+                if (sequence.charAt(i) == '\n' && i + 1 < end && handleQuote(sequence, i + 1, end, true, builder))
+                    return;
 
                 builder.append(sequence.charAt(i++));
                 continue;
             }
 
-            int endRegion = findEndIndex(i, nextRegion, sequence);
-            if (isIgnored(nextRegion) || endRegion == -1)
+            int delta = getDelta(nextRegion);
+            int endRegion = -1;
+            if (!isIgnored(nextRegion))
             {
-                int delta = getDelta(nextRegion);
-                for (int j = 0; j < delta; j++)
-                    builder.append(sequence.charAt(i++));
+                int missIndex = getMissIndex(nextRegion);
+                if (missIndex < 0 || misses == null || misses[missIndex] > i)
+                    endRegion = findEndIndex(i, nextRegion, sequence, start, end);
+                if (endRegion == -1 && missIndex >= 0)
+                {
+                    if (misses == null)
+                    {
+                        misses = new int[5];
+                        Arrays.fill(misses, Integer.MAX_VALUE);
+                    }
+                    misses[missIndex] = Math.min(misses[missIndex], i);
+                }
+            }
+            if (endRegion == -1)
+            {
+                builder.append(sequence, i, i + delta);
+                i += delta;
                 continue;
             }
-            int delta = getDelta(nextRegion);
-            applyStrategy(nextRegion, handleRegion(i + delta, endRegion, sequence, nextRegion), builder);
+            applyStrategy(nextRegion, i + delta, endRegion, sequence, builder);
             i = endRegion + delta;
         }
-        return builder.toString();
     }
 
-    private String handleQuote(@Nonnull String sequence, boolean newline)
+    private boolean handleQuote(@Nonnull String sequence, int start, int end, boolean newline, @Nonnull StringBuilder builder)
     {
         // Special handling for quote
-        if (!isIgnored(QUOTE) && quote.matcher(sequence).matches())
+        if (!isIgnored(QUOTE) && isQuote(sequence, start, end))
         {
-            int end = sequence.indexOf('\n');
-            if (end < 0)
-                end = sequence.length();
-            StringBuilder builder = new StringBuilder(compute(sequence.substring(2, end)));
-            if (strategy == SanitizationStrategy.ESCAPE)
-                builder.insert(0, "\\> ");
+            int lineEnd = indexOf(sequence, '\n', start, end);
+            if (lineEnd < 0)
+                lineEnd = end;
             if (newline)
-                builder.insert(0, '\n');
-            if (end < sequence.length())
-                builder.append(compute(sequence.substring(end)));
-            return builder.toString();
-
+                builder.append('\n');
+            if (strategy == SanitizationStrategy.ESCAPE)
+                builder.append("\\> ");
+            compute(sequence, start + 2, lineEnd, true, builder);
+            if (lineEnd < end)
+                compute(sequence, lineEnd, end, true, builder);
+            return true;
         }
-        else if (!isIgnored(QUOTE_BLOCK) && quoteBlock.matcher(sequence).matches())
+        else if (!isIgnored(QUOTE_BLOCK) && isQuoteBlock(sequence, start, end))
         {
             if (strategy == SanitizationStrategy.ESCAPE)
-                return compute("\\".concat(sequence));
-            return compute(sequence.substring(4));
+            {
+                builder.append('\\');
+                compute(sequence, start, end, false, builder);
+            }
+            else
+            {
+                compute(sequence, start + 4, end, true, builder);
+            }
+            return true;
         }
-        return null;
+        return false;
+    }
+
+    // Matches "> +\S.*"
+    private static boolean isQuote(@Nonnull String sequence, int start, int end)
+    {
+        if (end - start < 3 || sequence.charAt(start) != '>' || sequence.charAt(start + 1) != ' ')
+            return false;
+        int i = start + 2;
+        while (i < end && sequence.charAt(i) == ' ')
+            i++;
+        return i < end && !isWhitespace(sequence.charAt(i));
+    }
+
+    // Matches ">>>\s+\S.*"
+    private static boolean isQuoteBlock(@Nonnull String sequence, int start, int end)
+    {
+        if (end - start < 5 || !sequence.startsWith(">>>", start) || !isWhitespace(sequence.charAt(start + 3)))
+            return false;
+        int i = start + 4;
+        while (i < end && isWhitespace(sequence.charAt(i)))
+            i++;
+        return i < end;
     }
 
     public enum SanitizationStrategy
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.exceptions.InsufficientPermissionException;
+import net.dv8tion.jda.internal.requests.Requester;
+import net.dv8tion.jda.internal.requests.RestActionImpl;
+import net.dv8tion.jda.internal.requests.Route;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.Helpers;
+import net.dv8tion.jda.internal.utils.JsonUtil;
+import net.dv8tion.jda.internal.utils.PermissionUtil;
+import okhttp3.RequestBody;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the same message to many channels.
+ *
+ * <p>The request body is written once and shared by all requests. Permissions of all channels are checked
+ * before the first request is queued, channels which cannot receive the message are reported without a request.
+ * Every channel has its own rate limit bucket, but all requests share the global rate limit of the account.
+ * The requests are therefore paced: at most {@link #setMaxConcurrentRequests(int) a few requests} are in flight at once
+ * and new requests are started at a {@link #setRequestsPerSecond(int) fixed rate} below the global limit,
+ * instead of queueing everything and running into global 429 responses.
+ *
+ * <p>Only the content, embed and tts flag of the message are sent. Files are not supported.
+ *
+ * <p><b>Example</b><br>
+ * <pre>{@code
+ * Message announcement = new MessageBuilder("Maintenance in 10 minutes").build();
+ * new MessageBroadcast(jda, announcement)
+ *     .send(channelIds)
+ *     .thenAccept(result -> System.out.printf("Sent %d, failed %d%n", result.getSent().size(), result.getFailed().size()));
+ * }</pre>
+ *
+ * @since 4.1.1
+ */
+public class MessageBroadcast
+{
+    /** Default amount of requests in flight at once */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 10;
+    /** Default request rate, this leaves room for other requests below the global limit of 50 requests per second */
+    public static final int DEFAULT_REQUESTS_PER_SECOND = 40;
+
+    private final JDA api;
+    private final boolean hasEmbed;
+    private final RequestBody body;
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private int requestsPerSecond = DEFAULT_REQUESTS_PER_SECOND;
+
+    /**
+     * Creates a new MessageBroadcast for the provided message.
+     *
+     * @param  api
+     *         The JDA instance used to send the message
+     * @param  message
+     *         The message to send
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If null is provided or the message has neither content nor an embed
+     */
+    public MessageBroadcast(@Nonnull JDA api, @Nonnull Message message)
+    {
+        Checks.notNull(api, "JDA");
+        Checks.notNull(message, "Message");
+        List<MessageEmbed> embeds = message.getEmbeds();
+        MessageEmbed embed = embeds.isEmpty() ? null : embeds.get(0);
+        String content = message.getContentRaw();
+        Checks.check(!Helpers.isBlank(content) || (embed != null && !embed.isEmpty()), "Cannot broadcast a message without content!");
+
+        this.api = api;
+        this.hasEmbed = embed != null;
+        byte[] json = JsonUtil.write(generator ->
+        {
+            generator.writeStartObject();
+            if (embed != null)
+            {
+                generator.writeFieldName("embed");
+                generator.writeRawValue(embed.toJson());
+            }
+            if (!content.isEmpty())
+                generator.writeStringField("content", content);
+            generator.writeBooleanField("tts", message.isTTS());
+            generator.writeEndObject();
+        });
+        this.body = RequestBody.create(Requester.MEDIA_TYPE_JSON, json);
+    }
+
+    /**
+     * The maximum amount of requests which are in flight at once.
+     * <br>Default: {@value #DEFAULT_MAX_CONCURRENT_REQUESTS}
+     *
+     * @param  maxConcurrentRequests
+     *         The maximum amount of requests in flight
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided amount is not positive
+     *
+     * @return The MessageBroadcast instance. Useful for chaining.
+     */
+    @Nonnull
+    public MessageBroadcast setMaxConcurrentRequests(int maxConcurrentRequests)
+    {
+        Checks.positive(maxConcurrentRequests, "Max concurrent requests");
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
+    /**
+     * The maximum amount of requests started per second.
+     * <br>This should stay below the global rate limit of 50 requests per second, which is shared
+     * with all other requests of the account.
+     * <br>Default: {@value #DEFAULT_REQUESTS_PER_SECOND}
+     *
+     * @param  requestsPerSecond
+     *         The maximum request rate
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided rate is not positive
+     *
+     * @return The MessageBroadcast instance. Useful for chaining.
+     */
+    @Nonnull
+    public MessageBroadcast setRequestsPerSecond(int requestsPerSecond)
+    {
+        Checks.positive(requestsPerSecond, "Requests per second");
+        this.requestsPerSecond = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sends the message to all provided channels.
+     * <br>The ids may refer to {@link net.dv8tion.jda.api.entities.TextChannel TextChannels}
+     * or {@link net.dv8tion.jda.api.entities.PrivateChannel PrivateChannels} of the JDA instance.
+     *
+     * @param  channelIds
+     *         The ids of the target channels
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided collection is null or contains null
+     *
+     * @return {@link java.util.concurrent.CompletableFuture} completed with the outcome for every channel
+     *         once all requests are done
+     */
+    @Nonnull
+    public CompletableFuture<Result> send(@Nonnull Collection<Long> channelIds)
+    {
+        Checks.noneNull(channelIds, "Channel IDs");
+        Result result = new Result();
+        List<MessageChannel> targets = new ArrayList<>(channelIds.size());
+        TLongObjectMap<Member> selfMembers = new TLongObjectHashMap<>();
+        for (long id : new LinkedHashSet<>(channelIds))
+        {
+            MessageChannel channel = api.getTextChannelById(id);
+            if (channel == null)
+                channel = api.getPrivateChannelById(id);
+            if (channel == null)
+            {
+                result.failed.put(id, new IllegalArgumentException("No TextChannel or PrivateChannel with id " + Long.toUnsignedString(id)));
+                continue;
+            }
+            if (channel instanceof TextChannel)
+            {
+                TextChannel textChannel = (TextChannel) channel;
+                Guild guild = textChannel.getGuild();
+                Member self = selfMembers.get(guild.getIdLong());
+                if (self == null)
+                    selfMembers.put(guild.getIdLong(), self = guild.getSelfMember());
+                Permission missing = getMissingPermission(textChannel, self);
+                if (missing != null)
+                {
+                    result.failed.put(id, new InsufficientPermissionException(textChannel, missing));
+                    continue;
+                }
+            }
+            targets.add(channel);
+        }
+
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        if (targets.isEmpty())
+        {
+            future.complete(result);
+            return future;
+        }
+
+        new Dispatch(targets, result, future).pump();
+        return future;
+    }
+
+    private Permission getMissingPermission(TextChannel channel, Member self)
+    {
+        long permissions = PermissionUtil.getEffectivePermission(channel, self);
+        if ((permissions & Permission.MESSAGE_READ.getRawValue()) == 0)
+            return Permission.MESSAGE_READ;
+        if ((permissions & Permission.MESSAGE_WRITE.getRawValue()) == 0)
+            return Permission.MESSAGE_WRITE;
+        if (hasEmbed && (permissions & Permission.MESSAGE_EMBED_LINKS.getRawValue()) == 0)
+            return Permission.MESSAGE_EMBED_LINKS;
+        return null;
+    }
+
+    // Starts the requests of one send call, limited by the in-flight window and the request rate
+    private class Dispatch
+    {
+        private final Iterator<MessageChannel> targets;
+        private final Result result;
+        private final CompletableFuture<Result> future;
+        private final int window = maxConcurrentRequests;
+        private final long interval = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        private int remaining;
+        private int inFlight;
+        private long nextStart;
+        private boolean scheduled;
+
+        private Dispatch(List<MessageChannel> targets, Result result, CompletableFuture<Result> future)
+        {
+            this.targets = targets.iterator();
+            this.result = result;
+            this.future = future;
+            this.remaining = targets.size();
+            this.nextStart = System.nanoTime();
+        }
+
+        private synchronized void resume()
+        {
+            scheduled = false;
+            pump();
+        }
+
+        private synchronized void pump()
+        {
+            while (inFlight < window && targets.hasNext())
+            {
+                long now = System.nanoTime();
+                if (nextStart > now)
+                {
+                    if (!scheduled)
+                    {
+                        scheduled = true;
+                        api.getRateLimitPool().schedule(this::resume, nextStart - now, TimeUnit.NANOSECONDS);
+                    }
+                    return;
+                }
+                // a quiet period does not build up a burst, the rate applies from now on
+                nextStart = Math.max(nextStart, now) + interval;
+                inFlight++;
+                send(targets.next());
+            }
+        }
+
+        private void send(MessageChannel channel)
+        {
+            long channelId = channel.getIdLong();
+            Route.CompiledRoute route = Route.Messages.SEND_MESSAGE.compile(channel.getId());
+            new RestActionImpl<Long>(api, route, body, (response, request) -> response.getObject().getUnsignedLong("id")).queue(
+                messageId ->
+                {
+                    result.sent.put(channelId, messageId);
+                    done();
+                },
+                error ->
+                {
+                    result.failed.put(channelId, error);
+                    done();
+                });
+        }
+
+        private void done()
+        {
+            synchronized (this)
+            {
+                inFlight--;
+                if (--remaining > 0)
+                {
+                    pump();
+                    return;
+                }
+            }
+            future.complete(result);
+        }
+    }
+
+    /**
+     * The outcome of a broadcast.
+     */
+    public static class Result
+    {
+        private final Map<Long, Long> sent = new ConcurrentHashMap<>();
+        private final Map<Long, Throwable> failed = new ConcurrentHashMap<>();
+
+        /**
+         * The channels the message was sent to.
+         *
+         * @return Immutable map of channel id to the id of the sent message
+         */
+        @Nonnull
+        public Map<Long, Long> getSent()
+        {
+            return Collections.unmodifiableMap(sent);
+        }
+
+        /**
+         * The channels the message could not be sent to.
+         * <br>Channels which are unknown or miss a required permission are reported without sending a request,
+         * with an {@link java.lang.IllegalArgumentException IllegalArgumentException} or
+         * {@link net.dv8tion.jda.api.exceptions.InsufficientPermissionException InsufficientPermissionException}.
+         * Failed requests are reported with the failure of the request.
+         *
+         * @return Immutable map of channel id to the failure
+         */
+        @Nonnull
+        public Map<Long, Throwable> getFailed()
+        {
+            return Collections.unmodifiableMap(failed);
+        }
+
+        /**
+         * Whether the message was sent to every channel.
+         *
+         * @return True, if no channel failed
+         */
+        public boolean isSuccess()
+        {
+            return failed.isEmpty();
+        }
+    }
+}
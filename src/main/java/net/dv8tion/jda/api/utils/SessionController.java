@@ -86,6 +86,25 @@ public interface SessionController
      */
     int IDENTIFY_DELAY = 5;
 
+    /**
+     * Apply the {@code max_concurrency} for this bot.
+     * <br>This property is only relevant for very large bots which get assigned
+     * a higher concurrency limit for identifying shards. Shards with the same {@code shard_id % max_concurrency}
+     * share one identify bucket, shards of different buckets may identify at the same time.
+     *
+     * <p>The default implementation ignores this and identifies one session at a time.
+     * Use {@link net.dv8tion.jda.api.utils.ConcurrentSessionController ConcurrentSessionController} to start multiple sessions in parallel.
+     *
+     * @param level
+     *        The concurrency level
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the level is not positive
+     *
+     * @since 4.1.1
+     */
+    default void setConcurrency(int level) {}
+
     /**
      * Called by a JDA session when a WebSocket should be started. (Connecting and Reconnecting)
      * <br>This should only add the node to a queue and execute the queue with respect to the {@link #IDENTIFY_DELAY}.
@@ -183,6 +202,7 @@ public interface SessionController
     {
         private final String url;
         private final int shardTotal;
+        private final int concurrency;
 
         /**
          * Creates a new GatewayBot instance with the provided properties
@@ -193,9 +213,27 @@ public interface SessionController
          *        The recommended shard total
          */
         public ShardedGateway(String url, int shardTotal)
+        {
+            this(url, shardTotal, 1);
+        }
+
+        /**
+         * Creates a new GatewayBot instance with the provided properties
+         *
+         * @param url
+         *        The gateway endpoint (wss)
+         * @param shardTotal
+         *        The recommended shard total
+         * @param concurrency
+         *        The concurrency level for identifying shards
+         *
+         * @since 4.1.1
+         */
+        public ShardedGateway(String url, int shardTotal, int concurrency)
         {
             this.url = url;
             this.shardTotal = shardTotal;
+            this.concurrency = Math.max(1, concurrency);
         }
 
         /**
@@ -217,6 +255,19 @@ public interface SessionController
         {
             return shardTotal;
         }
+
+        /**
+         * The concurrency level for identifying shards, this is {@code max_concurrency} in the session start limit.
+         * <br>Shards with the same {@code shard_id % concurrency} share one identify bucket.
+         *
+         * @return The concurrency level, at least 1
+         *
+         * @since 4.1.1
+         */
+        public int getConcurrency()
+        {
+            return concurrency;
+        }
     }
 
     /**
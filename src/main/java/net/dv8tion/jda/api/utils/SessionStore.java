@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+
+/**
+ * Persists the gateway session of a shard across process restarts.
+ * <br>When a JDA session is shut down gracefully, its session id, last sequence number and gateway endpoint
+ * are handed to {@link #save(JDA.ShardInfo, Session)}. On the next login the stored session is
+ * {@link #load(JDA.ShardInfo) loaded} and JDA tries to RESUME it instead of sending a new IDENTIFY.
+ *
+ * <p>A resumed session does not receive the initial guild information again, discord only replays the events
+ * after the stored sequence number. The guilds, channels and members are therefore restored from a
+ * {@link #getCacheSnapshot(JDA.ShardInfo) cache snapshot} of the previous process. <b>A session is only stored and
+ * resumed together with its snapshot</b>, without one JDA sends a regular IDENTIFY since the resumed session would
+ * never see its guilds. If discord rejects the resume, JDA falls back to a regular IDENTIFY as well.
+ * <br>A resumed session fires a {@link net.dv8tion.jda.api.events.ResumedEvent ResumedEvent} instead of
+ * a {@link net.dv8tion.jda.api.events.ReadyEvent ReadyEvent}.
+ *
+ * <p>Sessions expire after a short time, this is only useful for restarts which take less than a minute.
+ *
+ * @see net.dv8tion.jda.api.utils.FileSessionStore FileSessionStore
+ *
+ * @since 4.1.1
+ */
+public interface SessionStore
+{
+    /**
+     * Loads and removes the stored session for the provided shard.
+     * <br>This is called once when the shard logs in.
+     *
+     * @param  shardInfo
+     *         The shard to load the session for
+     *
+     * @return The stored session, or {@code null} if no session was stored
+     */
+    @Nullable
+    Session load(@Nonnull JDA.ShardInfo shardInfo);
+
+    /**
+     * Stores the session of the provided shard.
+     * <br>This is called by {@link JDA#shutdown()} on the calling thread, right before the connection is closed
+     * with a code which keeps the session resumable.
+     *
+     * @param shardInfo
+     *        The shard the session belongs to
+     * @param session
+     *        The session to store
+     */
+    void save(@Nonnull JDA.ShardInfo shardInfo, @Nonnull Session session);
+
+    /**
+     * The file used for the cache snapshot of the provided shard.
+     * <br>When this is not null, the entity cache is written to this file together with the stored session
+     * and restored from it before the session is resumed. This makes a resumed session usable right away.
+     * <br>The snapshot is written on the thread calling {@link JDA#shutdown()}, before the stored session is saved.
+     *
+     * <p>The default implementation returns {@code null} which disables cache snapshots
+     * and with them resuming stored sessions.
+     *
+     * @param  shardInfo
+     *         The shard
+     *
+     * @return The snapshot file, or {@code null} to disable snapshots and resuming
+     */
+    @Nullable
+    default File getCacheSnapshot(@Nonnull JDA.ShardInfo shardInfo)
+    {
+        return null;
+    }
+
+    /**
+     * POJO containing the information required to resume a gateway session.
+     */
+    class Session
+    {
+        private final String sessionId;
+        private final long sequence;
+        private final String gatewayUrl;
+
+        /**
+         * Creates a new Session instance with the provided properties
+         *
+         * @param  sessionId
+         *         The session id
+         * @param  sequence
+         *         The last received sequence number
+         * @param  gatewayUrl
+         *         The gateway endpoint (wss) of the session
+         *
+         * @throws java.lang.IllegalArgumentException
+         *         If the session id or gateway url is null or empty
+         */
+        public Session(@Nonnull String sessionId, long sequence, @Nonnull String gatewayUrl)
+        {
+            Checks.notEmpty(sessionId, "Session ID");
+            Checks.notEmpty(gatewayUrl, "Gateway URL");
+            this.sessionId = sessionId;
+            this.sequence = sequence;
+            this.gatewayUrl = gatewayUrl;
+        }
+
+        /**
+         * The session id
+         *
+         * @return The session id
+         */
+        @Nonnull
+        public String getSessionId()
+        {
+            return sessionId;
+        }
+
+        /**
+         * The last sequence number received in this session
+         *
+         * @return The sequence number
+         */
+        public long getSequence()
+        {
+            return sequence;
+        }
+
+        /**
+         * The gateway endpoint
+         *
+         * @return The endpoint
+         */
+        @Nonnull
+        public String getGatewayUrl()
+        {
+            return gatewayUrl;
+        }
+    }
+}
@@ -345,8 +345,8 @@ public class DataArray implements Iterable<Object>
      */
     public boolean getBoolean(int index, boolean defaultValue)
     {
-        Boolean value = get(Boolean.class, index, Boolean::parseBoolean, null);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toBoolean(index, value);
     }
 
     /**
@@ -362,10 +362,10 @@ public class DataArray implements Iterable<Object>
      */
     public int getInt(int index)
     {
-        Integer value = get(Integer.class, index, Integer::parseInt, Number::intValue);
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "int");
-        return value;
+        return toInt(index, value);
     }
 
     /**
@@ -383,8 +383,8 @@ public class DataArray implements Iterable<Object>
      */
     public int getInt(int index, int defaultValue)
     {
-        Integer value = get(Integer.class, index, Integer::parseInt, Number::intValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toInt(index, value);
     }
 
     /**
@@ -400,10 +400,10 @@ public class DataArray implements Iterable<Object>
      */
     public int getUnsignedInt(int index)
     {
-        Integer value = get(Integer.class, index, Integer::parseUnsignedInt, Number::intValue);
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "unsigned int");
-        return value;
+        return toUnsignedInt(index, value);
     }
 
     /**
@@ -421,8 +421,8 @@ public class DataArray implements Iterable<Object>
      */
     public int getUnsignedInt(int index, int defaultValue)
     {
-        Integer value = get(Integer.class, index, Integer::parseUnsignedInt, Number::intValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toUnsignedInt(index, value);
     }
 
     /**
@@ -438,10 +438,10 @@ public class DataArray implements Iterable<Object>
      */
     public long getLong(int index)
     {
-        Long value = get(Long.class, index, Long::parseLong, Number::longValue);
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "long");
-        return value;
+        return toLong(index, value);
     }
 
     /**
@@ -459,8 +459,8 @@ public class DataArray implements Iterable<Object>
      */
     public long getLong(int index, long defaultValue)
     {
-        Long value = get(Long.class, index, Long::parseLong, Number::longValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toLong(index, value);
     }
 
     /**
@@ -476,10 +476,10 @@ public class DataArray implements Iterable<Object>
      */
     public long getUnsignedLong(int index)
     {
-        Long value = get(Long.class, index, Long::parseUnsignedLong, Number::longValue);
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "unsigned long");
-        return value;
+        return toUnsignedLong(index, value);
     }
 
     /**
@@ -497,8 +497,8 @@ public class DataArray implements Iterable<Object>
      */
     public long getUnsignedLong(int index, long defaultValue)
     {
-        Long value = get(Long.class, index, Long::parseUnsignedLong, Number::longValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toUnsignedLong(index, value);
     }
 
     /**
@@ -631,6 +631,59 @@ public class DataArray implements Iterable<Object>
         return new ParsingException("Unable to resolve value at " + index + " to type " + expectedType + ": " + data.get(index));
     }
 
+    // Primitive conversions, these avoid boxing the resolved value
+
+    private boolean toBoolean(int index, Object value)
+    {
+        if (value instanceof Boolean)
+            return (Boolean) value;
+        if (value instanceof String)
+            return Boolean.parseBoolean((String) value);
+        throw typeError(index, Boolean.class, value);
+    }
+
+    private int toInt(int index, Object value)
+    {
+        if (value instanceof Number)
+            return ((Number) value).intValue();
+        if (value instanceof String)
+            return Integer.parseInt((String) value);
+        throw typeError(index, Integer.class, value);
+    }
+
+    private int toUnsignedInt(int index, Object value)
+    {
+        if (value instanceof Number)
+            return ((Number) value).intValue();
+        if (value instanceof String)
+            return Integer.parseUnsignedInt((String) value);
+        throw typeError(index, Integer.class, value);
+    }
+
+    private long toLong(int index, Object value)
+    {
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        if (value instanceof String)
+            return Long.parseLong((String) value);
+        throw typeError(index, Long.class, value);
+    }
+
+    private long toUnsignedLong(int index, Object value)
+    {
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        if (value instanceof String)
+            return DataObject.parseUnsignedLong((String) value);
+        throw typeError(index, Long.class, value);
+    }
+
+    private ParsingException typeError(int index, Class<?> type, Object value)
+    {
+        return new ParsingException(String.format("Cannot parse value for index %d into type %s: %s instance of %s",
+                                                  index, type.getSimpleName(), value, value.getClass().getSimpleName()));
+    }
+
     @Nullable
     private <T> T get(@Nonnull Class<T> type, int index)
     {
@@ -389,8 +389,8 @@ public class DataObject implements SerializableData
      */
     public boolean getBoolean(@Nonnull String key, boolean defaultValue)
     {
-        Boolean value = get(Boolean.class, key, Boolean::parseBoolean, null);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toBoolean(key, value);
     }
 
     /**
@@ -406,10 +406,10 @@ public class DataObject implements SerializableData
      */
     public long getLong(@Nonnull String key)
     {
-        Long value = get(Long.class, key, Long::parseLong, Number::longValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "long");
-        return value;
+        return toLong(key, value);
     }
 
     /**
@@ -427,8 +427,8 @@ public class DataObject implements SerializableData
      */
     public long getLong(@Nonnull String key, long defaultValue)
     {
-        Long value = get(Long.class, key, Long::parseLong, Number::longValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toLong(key, value);
     }
 
     /**
@@ -444,10 +444,10 @@ public class DataObject implements SerializableData
      */
     public long getUnsignedLong(@Nonnull String key)
     {
-        Long value = get(Long.class, key, Long::parseUnsignedLong, Number::longValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "unsigned long");
-        return value;
+        return toUnsignedLong(key, value);
     }
 
     /**
@@ -465,8 +465,8 @@ public class DataObject implements SerializableData
      */
     public long getUnsignedLong(@Nonnull String key, long defaultValue)
     {
-        Long value = get(Long.class, key, Long::parseUnsignedLong, Number::longValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toUnsignedLong(key, value);
     }
 
     /**
@@ -482,10 +482,10 @@ public class DataObject implements SerializableData
      */
     public int getInt(@Nonnull String key)
     {
-        Integer value = get(Integer.class, key, Integer::parseInt, Number::intValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "int");
-        return value;
+        return toInt(key, value);
     }
 
     /**
@@ -503,8 +503,8 @@ public class DataObject implements SerializableData
      */
     public int getInt(@Nonnull String key, int defaultValue)
     {
-        Integer value = get(Integer.class, key, Integer::parseInt, Number::intValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toInt(key, value);
     }
 
     /**
@@ -520,10 +520,10 @@ public class DataObject implements SerializableData
      */
     public int getUnsignedInt(@Nonnull String key)
     {
-        Integer value = get(Integer.class, key, Integer::parseUnsignedInt, Number::intValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "unsigned int");
-        return value;
+        return toUnsignedInt(key, value);
     }
 
     /**
@@ -541,8 +541,8 @@ public class DataObject implements SerializableData
      */
     public int getUnsignedInt(@Nonnull String key, int defaultValue)
     {
-        Integer value = get(Integer.class, key, Integer::parseUnsignedInt, Number::intValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toUnsignedInt(key, value);
     }
 
     /**
@@ -656,6 +656,77 @@ public class DataObject implements SerializableData
         return new ParsingException("Unable to resolve value with key " + key + " to type " + expectedType + ": " + data.get(key));
     }
 
+    // Primitive conversions, these avoid boxing the resolved value
+
+    private boolean toBoolean(String key, Object value)
+    {
+        if (value instanceof Boolean)
+            return (Boolean) value;
+        if (value instanceof String)
+            return Boolean.parseBoolean((String) value);
+        throw typeError(key, Boolean.class, value);
+    }
+
+    private int toInt(String key, Object value)
+    {
+        if (value instanceof Number)
+            return ((Number) value).intValue();
+        if (value instanceof String)
+            return Integer.parseInt((String) value);
+        throw typeError(key, Integer.class, value);
+    }
+
+    private int toUnsignedInt(String key, Object value)
+    {
+        if (value instanceof Number)
+            return ((Number) value).intValue();
+        if (value instanceof String)
+            return Integer.parseUnsignedInt((String) value);
+        throw typeError(key, Integer.class, value);
+    }
+
+    private long toLong(String key, Object value)
+    {
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        if (value instanceof String)
+            return Long.parseLong((String) value);
+        throw typeError(key, Long.class, value);
+    }
+
+    private long toUnsignedLong(String key, Object value)
+    {
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        if (value instanceof String)
+            return parseUnsignedLong((String) value);
+        throw typeError(key, Long.class, value);
+    }
+
+    private ParsingException typeError(String key, Class<?> type, Object value)
+    {
+        return new ParsingException(String.format("Cannot parse value for %s into type %s: %s instance of %s",
+                                                  key, type.getSimpleName(), value, value.getClass().getSimpleName()));
+    }
+
+    // Snowflakes are sent as strings of up to 19 digits, these are accumulated directly instead of going through Long.parseUnsignedLong.
+    // Any 19 digit number is below 2^64, so the overflow of the signed accumulator yields the correct unsigned value.
+    static long parseUnsignedLong(String value)
+    {
+        int length = value.length();
+        if (length == 0 || length > 19)
+            return Long.parseUnsignedLong(value);
+        long result = 0;
+        for (int i = 0; i < length; i++)
+        {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return Long.parseUnsignedLong(value);
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
     @Nullable
     private <T> T get(@Nonnull Class<T> type, @Nonnull String key)
     {
@@ -17,8 +17,11 @@
 package net.dv8tion.jda.internal;
 
 import com.neovisionaries.ws.client.WebSocketFactory;
+import gnu.trove.map.TLongLongMap;
 import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongLongHashMap;
 import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import net.dv8tion.jda.api.AccountType;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
@@ -44,11 +47,15 @@ import net.dv8tion.jda.api.utils.ChunkingFilter;
 import net.dv8tion.jda.api.utils.Compression;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.SessionController;
+import net.dv8tion.jda.api.utils.SessionStore;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import net.dv8tion.jda.api.utils.cache.CacheView;
 import net.dv8tion.jda.api.utils.cache.SnowflakeCacheView;
 import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.audio.AudioReceiveSelector;
+import net.dv8tion.jda.internal.entities.CacheSnapshot;
 import net.dv8tion.jda.internal.entities.EntityBuilder;
+import net.dv8tion.jda.internal.entities.GuildImpl;
 import net.dv8tion.jda.internal.handle.EventCache;
 import net.dv8tion.jda.internal.handle.GuildSetupController;
 import net.dv8tion.jda.internal.hooks.EventManagerProxy;
@@ -61,6 +68,9 @@ import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import net.dv8tion.jda.internal.utils.UnlockHook;
 import net.dv8tion.jda.internal.utils.cache.AbstractCacheView;
+import net.dv8tion.jda.internal.utils.cache.ChannelShardIndex;
+import net.dv8tion.jda.internal.utils.cache.LoadingSnowflakeCacheViewImpl;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
 import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
 import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
 import net.dv8tion.jda.internal.utils.config.MetaConfig;
@@ -71,7 +81,10 @@ import org.slf4j.Logger;
 import org.slf4j.MDC;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.security.auth.login.LoginException;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.stream.Collectors;
@@ -80,17 +93,19 @@ public class JDAImpl implements JDA
 {
     public static final Logger LOG = JDALogger.getLog(JDA.class);
 
-    protected final Object audioLifeCycleLock = new Object();
-    protected ScheduledThreadPoolExecutor audioLifeCyclePool;
-
-    protected final SnowflakeCacheViewImpl<User> userCache = new SnowflakeCacheViewImpl<>(User.class, User::getName);
+    // users are not looked up by id from lazy guilds, only iterating the cache loads them
+    protected final SnowflakeCacheViewImpl<User> userCache = new LoadingSnowflakeCacheViewImpl<>(User.class, User::getName, id -> false, this::loadLazyGuilds);
     protected final SnowflakeCacheViewImpl<Guild> guildCache = new SnowflakeCacheViewImpl<>(Guild.class, Guild::getName);
-    protected final SnowflakeCacheViewImpl<Category> categories = new SnowflakeCacheViewImpl<>(Category.class, GuildChannel::getName);
-    protected final SnowflakeCacheViewImpl<StoreChannel> storeChannelCache = new SnowflakeCacheViewImpl<>(StoreChannel.class, GuildChannel::getName);
-    protected final SnowflakeCacheViewImpl<TextChannel> textChannelCache = new SnowflakeCacheViewImpl<>(TextChannel.class, GuildChannel::getName);
-    protected final SnowflakeCacheViewImpl<VoiceChannel> voiceChannelCache = new SnowflakeCacheViewImpl<>(VoiceChannel.class, GuildChannel::getName);
+    protected final SnowflakeCacheViewImpl<Category> categories = new LoadingSnowflakeCacheViewImpl<>(Category.class, GuildChannel::getName, this::loadGuildForChannel, this::loadLazyGuilds);
+    protected final SnowflakeCacheViewImpl<StoreChannel> storeChannelCache = new LoadingSnowflakeCacheViewImpl<>(StoreChannel.class, GuildChannel::getName, this::loadGuildForChannel, this::loadLazyGuilds);
+    protected final SnowflakeCacheViewImpl<TextChannel> textChannelCache = new LoadingSnowflakeCacheViewImpl<>(TextChannel.class, GuildChannel::getName, this::loadGuildForChannel, this::loadLazyGuilds);
+    protected final SnowflakeCacheViewImpl<VoiceChannel> voiceChannelCache = new LoadingSnowflakeCacheViewImpl<>(VoiceChannel.class, GuildChannel::getName, this::loadGuildForChannel, this::loadLazyGuilds);
     protected final SnowflakeCacheViewImpl<PrivateChannel> privateChannelCache = new SnowflakeCacheViewImpl<>(PrivateChannel.class, MessageChannel::getName);
 
+    // channel id -> guild id for guilds which have not created their entities yet
+    protected final TLongLongMap lazyGuildChannels = new TLongLongHashMap();
+    protected final TLongSet lazyGuilds = new TLongHashSet();
+
     protected final TLongObjectMap<User> fakeUsers = MiscUtil.newLongMap();
     protected final TLongObjectMap<PrivateChannel> fakePrivateChannels = MiscUtil.newLongMap();
 
@@ -100,6 +115,7 @@ public class JDAImpl implements JDA
     protected final Thread shutdownHook;
     protected final EntityBuilder entityBuilder = new EntityBuilder(this);
     protected final EventCache eventCache;
+    protected final MessageCache messageCache;
     protected final EventManagerProxy eventManager = new EventManagerProxy(new InterfacedEventManager());
 
     protected final GuildSetupController guildSetupController;
@@ -120,9 +136,13 @@ public class JDAImpl implements JDA
     protected long gatewayPing = -1;
     protected String gatewayUrl;
     protected ChunkingFilter chunkingFilter;
+    protected final Object audioReceiveLock = new Object();
+    protected AudioReceiveSelector audioReceiveSelector;
+    protected boolean audioReceiveShutdown;
 
     protected String clientId = null;
     protected ShardManager shardManager = null;
+    protected ChannelShardIndex channelShardIndex = null;
 
     public JDAImpl(AuthorizationConfig authConfig)
     {
@@ -143,7 +163,19 @@ public class JDAImpl implements JDA
         this.requester.setRetryOnTimeout(this.sessionConfig.isRetryOnTimeout());
         this.guildSetupController = new GuildSetupController(this);
         this.audioController = new DirectAudioControllerImpl(this);
-        this.eventCache = new EventCache(isGuildSubscriptions());
+        this.eventCache = new EventCache(isGuildSubscriptions(), this.sessionConfig.getEventCacheLimit());
+        this.messageCache = this.sessionConfig.getMessageCacheLimit() > 0
+            ? new MessageCache(this.sessionConfig.getMessageCacheChannelLimit(), this.sessionConfig.getMessageCacheLimit(), this.sessionConfig.getMessageCacheMaxAge())
+            : null;
+        if (this.sessionConfig.isNameIndex())
+        {
+            userCache.enableIndex();
+            guildCache.enableIndex();
+            categories.enableIndex();
+            storeChannelCache.enableIndex();
+            textChannelCache.enableIndex();
+            voiceChannelCache.enableIndex();
+        }
     }
 
     public void handleEvent(@Nonnull GenericEvent event)
@@ -151,6 +183,11 @@ public class JDAImpl implements JDA
         eventManager.handle(event);
     }
 
+    public boolean isListening(@Nonnull Class<? extends GenericEvent> type)
+    {
+        return eventManager.isListening(type);
+    }
+
     public boolean isRawEvents()
     {
         return sessionConfig.isRawEvents();
@@ -161,6 +198,26 @@ public class JDAImpl implements JDA
         return sessionConfig.isRelativeRateLimit();
     }
 
+    public SessionStore getSessionStore()
+    {
+        return sessionConfig.getSessionStore();
+    }
+
+    public boolean isSharedAudioReceive()
+    {
+        return sessionConfig.isSharedAudioReceive();
+    }
+
+    public boolean isLazyGuildLoading()
+    {
+        return sessionConfig.isLazyGuildLoading();
+    }
+
+    public boolean isNameIndex()
+    {
+        return sessionConfig.isNameIndex();
+    }
+
     public boolean isCacheFlagSet(CacheFlag flag)
     {
         return metaConfig.getCacheFlags().contains(flag);
@@ -176,6 +233,11 @@ public class JDAImpl implements JDA
         return sessionConfig.getLargeThreshold();
     }
 
+    public Set<String> getDisabledDispatches()
+    {
+        return sessionConfig.getDisabledDispatches();
+    }
+
     public int getMaxBufferSize()
     {
         return metaConfig.getMaxBufferSize();
@@ -229,6 +291,9 @@ public class JDAImpl implements JDA
         this.shardInfo = shardInfo;
         threadConfig.init(this::getIdentifierString);
         requester.getRateLimiter().init();
+        SessionStore.Session storedSession = loadStoredSession();
+        if (gatewayUrl == null && storedSession != null)
+            gatewayUrl = storedSession.getGatewayUrl();
         this.gatewayUrl = gatewayUrl == null ? getGateway() : gatewayUrl;
         Checks.notNull(this.gatewayUrl, "Gateway URL");
 
@@ -257,8 +322,11 @@ public class JDAImpl implements JDA
             verifyToken();
             LOG.info("Login Successful!");
         }
+        // A resumed session does not receive a READY, without a snapshot we need to get the self user here
+        if (storedSession != null && !hasSelfUser())
+            verifyToken();
 
-        client = new WebSocketClient(this, compression);
+        client = new WebSocketClient(this, compression, storedSession);
         // remove our MDC metadata when we exit our code
         if (previousContext != null)
             previousContext.forEach(MDC::put);
@@ -269,6 +337,48 @@ public class JDAImpl implements JDA
         return shardInfo == null ? -1 : shardInfo.getShardTotal();
     }
 
+    private SessionStore.Session loadStoredSession()
+    {
+        SessionStore store = sessionConfig.getSessionStore();
+        if (store == null)
+            return null;
+        SessionStore.Session session = store.load(getShardInfo());
+        File snapshot = store.getCacheSnapshot(getShardInfo());
+        if (snapshot == null || !snapshot.isFile())
+        {
+            // RESUME does not replay the guilds, without a snapshot the cache would stay empty
+            if (session != null)
+                LOG.info("Stored session has no cache snapshot, identifying instead");
+            return null;
+        }
+        try
+        {
+            if (session != null)
+            {
+                int guilds = CacheSnapshot.read(this, snapshot);
+                LOG.debug("Restored {} guilds from cache snapshot", guilds);
+            }
+        }
+        catch (Exception e)
+        {
+            LOG.warn("Failed to restore cache snapshot, the session will be identified instead", e);
+            session = null;
+            getTextChannelsView().clear();
+            getVoiceChannelsView().clear();
+            getStoreChannelsView().clear();
+            getCategoriesView().clear();
+            getGuildsView().clear();
+            getUsersView().clear();
+        }
+        finally
+        {
+            // the snapshot is only valid for the stored session
+            if (!snapshot.delete())
+                LOG.warn("Failed to delete cache snapshot {}", snapshot);
+        }
+        return session;
+    }
+
     public String getGateway()
     {
         return getSessionController().getGateway(this);
@@ -688,11 +798,10 @@ public class JDAImpl implements JDA
             return;
         //so we can shutdown from WebSocketClient properly
         closeAudioConnections();
+        shutdownAudioReceiveSelector();
         guildSetupController.close();
 
         getRequester().shutdown();
-        if (audioLifeCyclePool != null)
-            audioLifeCyclePool.shutdownNow();
         threadConfig.shutdown();
 
         if (shutdownHook != null)
@@ -872,6 +981,23 @@ public class JDAImpl implements JDA
         this.shardManager = shardManager;
     }
 
+    public void setChannelShardIndex(ChannelShardIndex channelShardIndex)
+    {
+        this.channelShardIndex = channelShardIndex;
+    }
+
+    public void indexChannel(long channelId)
+    {
+        if (channelShardIndex != null)
+            channelShardIndex.put(channelId, getShardInfo().getShardId());
+    }
+
+    public void unindexChannel(long channelId)
+    {
+        if (channelShardIndex != null)
+            channelShardIndex.remove(channelId);
+    }
+
     @Override
     public ShardManager getShardManager()
     {
@@ -946,6 +1072,90 @@ public class JDAImpl implements JDA
         return voiceChannelCache;
     }
 
+    public void addLazyGuild(long guildId, long[] channelIds)
+    {
+        synchronized (lazyGuilds)
+        {
+            lazyGuilds.add(guildId);
+            for (long channelId : channelIds)
+                lazyGuildChannels.put(channelId, guildId);
+        }
+    }
+
+    public void removeLazyGuild(long guildId, long[] channelIds)
+    {
+        synchronized (lazyGuilds)
+        {
+            lazyGuilds.remove(guildId);
+            if (channelIds != null)
+            {
+                for (long channelId : channelIds)
+                    lazyGuildChannels.remove(channelId);
+            }
+        }
+    }
+
+    public void clearLazyGuilds()
+    {
+        synchronized (lazyGuilds)
+        {
+            lazyGuilds.clear();
+            lazyGuildChannels.clear();
+        }
+    }
+
+    protected boolean loadGuildForChannel(long channelId)
+    {
+        // lookups while a cache is locked only see the loaded guilds
+        if (isLazyLoadingBlocked())
+            return false;
+        long guildId;
+        synchronized (lazyGuilds)
+        {
+            if (lazyGuilds.isEmpty())
+                return false;
+            guildId = lazyGuildChannels.get(channelId);
+        }
+        if (guildId == 0)
+            return false;
+        GuildImpl guild = (GuildImpl) getGuildsView().get(guildId);
+        if (guild == null)
+            return false;
+        guild.hydrate();
+        return true;
+    }
+
+    /**
+     * Whether the current thread holds a read lock of one of the views written by {@link GuildImpl#hydrate()}.
+     */
+    public boolean isLazyLoadingBlocked()
+    {
+        return userCache.isReadLockedByCurrentThread()
+            || categories.isReadLockedByCurrentThread()
+            || storeChannelCache.isReadLockedByCurrentThread()
+            || textChannelCache.isReadLockedByCurrentThread()
+            || voiceChannelCache.isReadLockedByCurrentThread();
+    }
+
+    protected void loadLazyGuilds()
+    {
+        if (isLazyLoadingBlocked())
+            return;
+        long[] guildIds;
+        synchronized (lazyGuilds)
+        {
+            if (lazyGuilds.isEmpty())
+                return;
+            guildIds = lazyGuilds.toArray();
+        }
+        for (long guildId : guildIds)
+        {
+            GuildImpl guild = (GuildImpl) getGuildsView().get(guildId);
+            if (guild != null)
+                guild.hydrate();
+        }
+    }
+
     public SnowflakeCacheViewImpl<PrivateChannel> getPrivateChannelsView()
     {
         return privateChannelCache;
@@ -989,6 +1199,15 @@ public class JDAImpl implements JDA
         return eventCache;
     }
 
+    /**
+     * @return The message cache, or {@code null} if messages are not cached
+     */
+    @Nullable
+    public MessageCache getMessageCache()
+    {
+        return messageCache;
+    }
+
     public String getGatewayUrl()
     {
         return gatewayUrl;
@@ -999,18 +1218,36 @@ public class JDAImpl implements JDA
         this.gatewayUrl = getGateway();
     }
 
-    public ScheduledThreadPoolExecutor getAudioLifeCyclePool()
+    public ScheduledExecutorService getAudioLifeCyclePool()
+    {
+        return threadConfig.getAudioPool(this::getIdentifierString);
+    }
+
+    public AudioReceiveSelector getAudioReceiveSelector() throws IOException
     {
-        ScheduledThreadPoolExecutor pool = audioLifeCyclePool;
-        if (pool == null)
+        // Audio connections call this while holding their own lock, so this cannot use the lock of JDA
+        synchronized (audioReceiveLock)
         {
-            synchronized (audioLifeCycleLock)
+            if (audioReceiveShutdown)
+                throw new IOException("Cannot receive audio after JDA was shutdown");
+            if (audioReceiveSelector == null)
             {
-                pool = audioLifeCyclePool;
-                if (pool == null)
-                    pool = audioLifeCyclePool = ThreadingConfig.newScheduler(1, this::getIdentifierString, "AudioLifeCycle");
+                int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+                ExecutorService handlerPool = threadConfig.getAudioReceivePool(this::getIdentifierString);
+                audioReceiveSelector = new AudioReceiveSelector(threads, handlerPool, this::getIdentifierString);
             }
+            return audioReceiveSelector;
+        }
+    }
+
+    private void shutdownAudioReceiveSelector()
+    {
+        synchronized (audioReceiveLock)
+        {
+            audioReceiveShutdown = true;
+            if (audioReceiveSelector != null)
+                audioReceiveSelector.shutdown();
+            audioReceiveSelector = null;
         }
-        return pool;
     }
 }
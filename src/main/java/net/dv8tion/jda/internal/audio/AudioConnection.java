@@ -39,14 +39,13 @@ import net.dv8tion.jda.internal.utils.IOUtil;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import net.dv8tion.jda.internal.utils.cache.SnowflakeReference;
 import org.slf4j.Logger;
-import tomp2p.opuswrapper.Opus;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
 import java.net.*;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-import java.nio.ShortBuffer;
+import java.nio.channels.DatagramChannel;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -73,8 +72,10 @@ public class AudioConnection
     private SnowflakeReference<VoiceChannel> channel;
     private PointerByReference opusEncoder;
     private ScheduledExecutorService combinedAudioExecutor;
+    private ScheduledFuture<?> readyTimeout;
     private IAudioSendSystem sendSystem;
     private Thread receiveThread;
+    private AudioReceiveSelector receiveSelector;
     private long queueTimeout;
     private boolean sentSilenceOnConnect = false;
     private int speakingDelay = 10;
@@ -175,16 +176,13 @@ public class AudioConnection
 
     public synchronized void shutdown()
     {
+        cancelReadyTimeout();
         if (sendSystem != null)
         {
             sendSystem.shutdown();
             sendSystem = null;
         }
-        if (receiveThread != null)
-        {
-            receiveThread.interrupt();
-            receiveThread = null;
-        }
+        stopReceiving();
         if (combinedAudioExecutor != null)
         {
             combinedAudioExecutor.shutdownNow();
@@ -192,7 +190,7 @@ public class AudioConnection
         }
         if (opusEncoder != null)
         {
-            Opus.INSTANCE.opus_encoder_destroy(opusEncoder);
+            OpusEncoderPool.DEFAULT.release(opusEncoder);
             opusEncoder = null;
         }
 
@@ -207,48 +205,57 @@ public class AudioConnection
 
     /* Used by AudioWebSocket */
 
-    protected void prepareReady()
+    protected DatagramSocket createUdpSocket() throws IOException
     {
-        Thread readyThread = new Thread(() ->
+        if (!api.isSharedAudioReceive())
+            return new DatagramSocket();
+        // The channel stays in blocking mode for the UDP discovery and is switched to non-blocking once registered
+        DatagramChannel channel = DatagramChannel.open();
+        try
+        {
+            channel.bind(null);
+            return new ChannelDatagramSocket(channel);
+        }
+        catch (IOException e)
         {
-            getJDA().setContext();
-            final long timeout = getGuild().getAudioManager().getConnectTimeout();
+            IOUtil.silentClose(channel);
+            throw e;
+        }
+    }
 
-            final long started = System.currentTimeMillis();
-            while (!webSocket.isReady())
+    protected synchronized void prepareReady()
+    {
+        cancelReadyTimeout();
+        final long timeout = getGuild().getAudioManager().getConnectTimeout();
+        if (timeout <= 0)
+            return;
+        try
+        {
+            // The websocket calls ready() once the handshake is done, this only handles the timeout
+            readyTimeout = getJDA().getAudioLifeCyclePool().schedule(() ->
             {
-                if (timeout > 0 && System.currentTimeMillis() - started > timeout)
-                    break;
-
+                getJDA().setContext();
                 try
                 {
-                    Thread.sleep(10);
+                    if (!webSocket.isReady())
+                        webSocket.close(ConnectionStatus.ERROR_CONNECTION_TIMEOUT);
                 }
-                catch (InterruptedException e)
+                catch (Throwable throwable)
                 {
-                    LOG.error("AudioConnection ready thread got interrupted while sleeping", e);
-                    Thread.currentThread().interrupt();
+                    LOG.error("Uncaught exception in audio connect timeout", throwable);
+                    JDAImpl api = getJDA();
+                    api.handleEvent(new ExceptionEvent(api, throwable, true));
                 }
-            }
-            if (webSocket.isReady())
-            {
-                setupSendSystem();
-                setupReceiveSystem();
-            }
-            else
-            {
-                webSocket.close(ConnectionStatus.ERROR_CONNECTION_TIMEOUT);
-            }
-        });
-        readyThread.setUncaughtExceptionHandler((thread, throwable) ->
-        {
-            LOG.error("Uncaught exception in Audio ready-thread", throwable);
-            JDAImpl api = getJDA();
-            api.handleEvent(new ExceptionEvent(api, throwable, true));
-        });
-        readyThread.setDaemon(true);
-        readyThread.setName(threadIdentifier + " Ready Thread");
-        readyThread.start();
+            }, timeout, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException ignored) {} // the pool is shutting down
+    }
+
+    protected synchronized void ready()
+    {
+        cancelReadyTimeout();
+        setupSendSystem();
+        setupReceiveSystem();
     }
 
     protected void removeUserSSRC(long userId)
@@ -287,13 +294,20 @@ public class AudioConnection
             ssrcMap.put(ssrc, userId);
 
             //Only create a decoder if we are actively handling received audio.
-            if (receiveThread != null && AudioNatives.ensureOpus())
+            if (isReceiving() && AudioNatives.ensureOpus())
                 opusDecoders.put(ssrc, new Decoder(ssrc));
         }
     }
 
     /* Internals */
 
+    private void cancelReadyTimeout()
+    {
+        if (readyTimeout != null)
+            readyTimeout.cancel(false);
+        readyTimeout = null;
+    }
+
     private synchronized void setupSendSystem()
     {
         if (udpSocket != null && !udpSocket.isClosed() && sendHandler != null && sendSystem == null)
@@ -310,7 +324,7 @@ public class AudioConnection
 
             if (opusEncoder != null)
             {
-                Opus.INSTANCE.opus_encoder_destroy(opusEncoder);
+                OpusEncoderPool.DEFAULT.release(opusEncoder);
                 opusEncoder = null;
             }
         }
@@ -318,14 +332,16 @@ public class AudioConnection
 
     private synchronized void setupReceiveSystem()
     {
-        if (udpSocket != null && !udpSocket.isClosed() && receiveHandler != null && receiveThread == null)
+        if (udpSocket != null && !udpSocket.isClosed() && receiveHandler != null && !isReceiving())
         {
-            setupReceiveThread();
+            if (udpSocket instanceof ChannelDatagramSocket)
+                setupReceiveSelector();
+            else
+                setupReceiveThread();
         }
-        else if (receiveHandler == null && receiveThread != null)
+        else if (receiveHandler == null && isReceiving())
         {
-            receiveThread.interrupt();
-            receiveThread = null;
+            stopReceiving();
 
             if (combinedAudioExecutor != null)
             {
@@ -343,6 +359,46 @@ public class AudioConnection
         }
     }
 
+    private boolean isReceiving()
+    {
+        return receiveThread != null || receiveSelector != null;
+    }
+
+    private void stopReceiving()
+    {
+        if (receiveThread != null)
+        {
+            receiveThread.interrupt();
+            receiveThread = null;
+        }
+        if (receiveSelector != null)
+        {
+            receiveSelector.unregister(((ChannelDatagramSocket) udpSocket).getChannel(), this);
+            receiveSelector = null;
+        }
+    }
+
+    private synchronized void setupReceiveSelector()
+    {
+        try
+        {
+            receiveSelector = getJDA().getAudioReceiveSelector();
+            receiveSelector.register(((ChannelDatagramSocket) udpSocket).getChannel(), this);
+        }
+        catch (IOException e)
+        {
+            LOG.error("Failed to open audio receive selector, falling back to a receive thread", e);
+            receiveSelector = null;
+            setupReceiveThread();
+            return;
+        }
+
+        if (receiveHandler.canReceiveCombined())
+        {
+            setupCombinedExecutor();
+        }
+    }
+
     private synchronized void setupReceiveThread()
     {
         if (receiveThread == null)
@@ -360,89 +416,12 @@ public class AudioConnection
                 }
                 while (!udpSocket.isClosed() && !Thread.currentThread().isInterrupted())
                 {
-                    DatagramPacket receivedPacket = new DatagramPacket(new byte[1920], 1920);
+                    DatagramPacket receivedPacket = new DatagramPacket(new byte[AudioReceiveSelector.RECEIVE_BUFFER_SIZE], AudioReceiveSelector.RECEIVE_BUFFER_SIZE);
                     try
                     {
                         udpSocket.receive(receivedPacket);
-
-                        boolean shouldDecode = receiveHandler != null && (receiveHandler.canReceiveUser() || receiveHandler.canReceiveCombined());
-                        boolean canReceive = receiveHandler != null && (receiveHandler.canReceiveUser() || receiveHandler.canReceiveCombined() || receiveHandler.canReceiveEncoded());
-                        if (canReceive && webSocket.getSecretKey() != null)
-                        {
-                            if (!couldReceive)
-                            {
-                                couldReceive = true;
-                                sendSilentPackets();
-                            }
-                            AudioPacket decryptedPacket = AudioPacket.decryptAudioPacket(webSocket.encryption, receivedPacket, webSocket.getSecretKey());
-                            if (decryptedPacket == null)
-                                continue;
-
-                            int ssrc = decryptedPacket.getSSRC();
-                            final long userId = ssrcMap.get(ssrc);
-                            Decoder decoder = opusDecoders.get(ssrc);
-                            if (userId == ssrcMap.getNoEntryValue())
-                            {
-                                ByteBuffer audio = decryptedPacket.getEncodedAudio();
-
-                                //If the bytes are silence, then this was caused by a User joining the voice channel,
-                                // and as such, we haven't yet received information to pair the SSRC with the UserId.
-                                if (!audio.equals(silenceBytes))
-                                    LOG.debug("Received audio data with an unknown SSRC id. Ignoring");
-
-                                continue;
-                            }
-                            if (decoder == null)
-                            {
-                                if (AudioNatives.ensureOpus())
-                                {
-                                    opusDecoders.put(ssrc, decoder = new Decoder(ssrc));
-                                }
-                                else if (!receiveHandler.canReceiveEncoded())
-                                {
-                                    LOG.error("Unable to decode audio due to missing opus binaries!");
-                                    break;
-                                }
-                            }
-                            OpusPacket opusPacket = new OpusPacket(decryptedPacket, userId, decoder);
-                            if (receiveHandler.canReceiveEncoded())
-                                receiveHandler.handleEncodedAudio(opusPacket);
-                            if (!shouldDecode || !opusPacket.canDecode())
-                                continue;
-
-                            User user = getJDA().getUserById(userId);
-                            if (user == null)
-                            {
-                                LOG.warn("Received audio data with a known SSRC, but the userId associate with the SSRC is unknown to JDA!");
-                                continue;
-                            }
-                            short[] decodedAudio = opusPacket.decode();
-                            //If decodedAudio is null, then the Opus decode failed, so throw away the packet.
-                            if (decodedAudio == null)
-                            {
-                                //decoder error logged in method
-                                continue;
-                            }
-                            if (receiveHandler.canReceiveUser())
-                            {
-                                receiveHandler.handleUserAudio(new UserAudio(user, decodedAudio));
-                            }
-                            if (receiveHandler.canReceiveCombined() && receiveHandler.includeUserInCombinedAudio(user))
-                            {
-                                Queue<AudioData> queue = combinedQueue.get(user);
-                                if (queue == null)
-                                {
-                                    queue = new ConcurrentLinkedQueue<>();
-                                    combinedQueue.put(user, queue);
-                                }
-                                queue.add(new AudioData(decodedAudio));
-                            }
-                        }
-                        else if (couldReceive)
-                        {
-                            couldReceive = false;
-                            sendSilentPackets();
-                        }
+                        if (!handleReceivedPacket(receivedPacket))
+                            break;
                     }
                     catch (SocketTimeoutException e)
                     {
@@ -477,6 +456,98 @@ public class AudioConnection
         }
     }
 
+    /**
+     * Handles a packet received on the UDP socket, either by the receive thread or the {@link AudioReceiveSelector}.
+     *
+     * @param  receivedPacket
+     *         The received packet, the data is copied and the packet can be reused afterwards
+     *
+     * @return False, if receiving should be stopped
+     */
+    protected boolean handleReceivedPacket(DatagramPacket receivedPacket)
+    {
+        final AudioReceiveHandler receiveHandler = this.receiveHandler;
+        boolean shouldDecode = receiveHandler != null && (receiveHandler.canReceiveUser() || receiveHandler.canReceiveCombined());
+        boolean canReceive = receiveHandler != null && (receiveHandler.canReceiveUser() || receiveHandler.canReceiveCombined() || receiveHandler.canReceiveEncoded());
+        if (canReceive && webSocket.getSecretKey() != null)
+        {
+            if (!couldReceive)
+            {
+                couldReceive = true;
+                sendSilentPackets();
+            }
+            AudioPacket decryptedPacket = AudioPacket.decryptAudioPacket(webSocket.encryption, receivedPacket, webSocket.getSecretKey());
+            if (decryptedPacket == null)
+                return true;
+
+            int ssrc = decryptedPacket.getSSRC();
+            final long userId = ssrcMap.get(ssrc);
+            Decoder decoder = opusDecoders.get(ssrc);
+            if (userId == ssrcMap.getNoEntryValue())
+            {
+                ByteBuffer audio = decryptedPacket.getEncodedAudio();
+
+                //If the bytes are silence, then this was caused by a User joining the voice channel,
+                // and as such, we haven't yet received information to pair the SSRC with the UserId.
+                if (!audio.equals(silenceBytes))
+                    LOG.debug("Received audio data with an unknown SSRC id. Ignoring");
+
+                return true;
+            }
+            if (decoder == null)
+            {
+                if (AudioNatives.ensureOpus())
+                {
+                    opusDecoders.put(ssrc, decoder = new Decoder(ssrc));
+                }
+                else if (!receiveHandler.canReceiveEncoded())
+                {
+                    LOG.error("Unable to decode audio due to missing opus binaries!");
+                    return false;
+                }
+            }
+            OpusPacket opusPacket = new OpusPacket(decryptedPacket, userId, decoder);
+            if (receiveHandler.canReceiveEncoded())
+                receiveHandler.handleEncodedAudio(opusPacket);
+            if (!shouldDecode || !opusPacket.canDecode())
+                return true;
+
+            User user = getJDA().getUserById(userId);
+            if (user == null)
+            {
+                LOG.warn("Received audio data with a known SSRC, but the userId associate with the SSRC is unknown to JDA!");
+                return true;
+            }
+            short[] decodedAudio = opusPacket.decode();
+            //If decodedAudio is null, then the Opus decode failed, so throw away the packet.
+            if (decodedAudio == null)
+            {
+                //decoder error logged in method
+                return true;
+            }
+            if (receiveHandler.canReceiveUser())
+            {
+                receiveHandler.handleUserAudio(new UserAudio(user, decodedAudio));
+            }
+            if (receiveHandler.canReceiveCombined() && receiveHandler.includeUserInCombinedAudio(user))
+            {
+                Queue<AudioData> queue = combinedQueue.get(user);
+                if (queue == null)
+                {
+                    queue = new ConcurrentLinkedQueue<>();
+                    combinedQueue.put(user, queue);
+                }
+                queue.add(new AudioData(decodedAudio));
+            }
+        }
+        else if (couldReceive)
+        {
+            couldReceive = false;
+            sendSilentPackets();
+        }
+        return true;
+    }
+
     private synchronized void setupCombinedExecutor()
     {
         if (combinedAudioExecutor == null)
@@ -567,33 +638,6 @@ public class AudioConnection
         }
     }
 
-    private ByteBuffer encodeToOpus(ByteBuffer rawAudio)
-    {
-        ShortBuffer nonEncodedBuffer = ShortBuffer.allocate(rawAudio.remaining() / 2);
-        ByteBuffer encoded = ByteBuffer.allocate(4096);
-        for (int i = rawAudio.position(); i < rawAudio.limit(); i += 2)
-        {
-            int firstByte =  (0x000000FF & rawAudio.get(i));      //Promotes to int and handles the fact that it was unsigned.
-            int secondByte = (0x000000FF & rawAudio.get(i + 1));
-
-            //Combines the 2 bytes into a short. Opus deals with unsigned shorts, not bytes.
-            short toShort = (short) ((firstByte << 8) | secondByte);
-
-            nonEncodedBuffer.put(toShort);
-        }
-        ((Buffer) nonEncodedBuffer).flip();
-
-        int result = Opus.INSTANCE.opus_encode(opusEncoder, nonEncodedBuffer, OpusPacket.OPUS_FRAME_SIZE, encoded, encoded.capacity());
-        if (result <= 0)
-        {
-            LOG.error("Received error code from opus_encode(...): {}", result);
-            return null;
-        }
-
-        ((Buffer) encoded).position(0).limit(result);
-        return encoded;
-    }
-
     private void setSpeaking(int raw)
     {
         this.speaking = raw != 0;
@@ -624,6 +668,7 @@ public class AudioConnection
         private long nonce = 0;
         private ByteBuffer buffer = ByteBuffer.allocate(512);
         private ByteBuffer encryptionBuffer = ByteBuffer.allocate(512);
+        private final ByteBuffer encodeBuffer = ByteBuffer.allocate(OpusEncoderPool.MAX_ENCODED_SIZE);
         private final byte[] nonceBuffer = new byte[TweetNaclFast.SecretBox.nonceLength];
 
         public PacketProvider(TweetNaclFast.SecretBox boxer)
@@ -751,15 +796,17 @@ public class AudioConnection
                     printedError = true;
                     return null;
                 }
-                IntBuffer error = IntBuffer.allocate(1);
-                opusEncoder = Opus.INSTANCE.opus_encoder_create(OpusPacket.OPUS_SAMPLE_RATE, OpusPacket.OPUS_CHANNEL_COUNT, Opus.OPUS_APPLICATION_AUDIO, error);
-                if (error.get() != Opus.OPUS_OK && opusEncoder == null)
+                try
+                {
+                    opusEncoder = OpusEncoderPool.DEFAULT.acquire();
+                }
+                catch (IllegalStateException e)
                 {
-                    LOG.error("Received error status from opus_encoder_create(...): {}", error.get());
+                    LOG.error("Failed to create opus encoder", e);
                     return null;
                 }
             }
-            return encodeToOpus(rawAudio);
+            return OpusEncoderPool.encode(opusEncoder, rawAudio, encodeBuffer);
         }
 
         private DatagramPacket getDatagramPacket(ByteBuffer b)
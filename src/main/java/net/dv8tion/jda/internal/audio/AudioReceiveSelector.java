@@ -0,0 +1,324 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.audio;
+
+import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared receive loop for the UDP sockets of all audio connections of one JDA instance.
+ * <br>Instead of one blocking receive thread per connection, the channels are registered
+ * with a small, fixed number of {@link Selector Selectors} which each run on their own thread.
+ *
+ * <p>Each connection is pinned to one selector thread, registration changes are queued on that thread
+ * and therefore applied in order. The selector threads only read the packets, the packets of a connection are handled
+ * in order on the handler pool. This way a slow {@link net.dv8tion.jda.api.audio.AudioReceiveHandler AudioReceiveHandler}
+ * only delays its own connection and the packets of one connection are never handled concurrently.
+ *
+ * <p>The selector threads exit on {@link #shutdown()}, which is called when JDA shuts down.
+ */
+public class AudioReceiveSelector
+{
+    public static final Logger LOG = JDALogger.getLog(AudioReceiveSelector.class);
+    public static final int RECEIVE_BUFFER_SIZE = 1920;
+    /** Maximum packets read from one channel before the other channels of the selector get their turn */
+    public static final int MAX_READS_PER_KEY = 16;
+    /** Maximum packets of one connection waiting for its handler, newer packets are dropped beyond this */
+    public static final int MAX_QUEUED_PACKETS = 500;
+
+    private final Worker[] workers;
+    private final ExecutorService handlerPool;
+
+    public AudioReceiveSelector(int threads, ExecutorService handlerPool, Supplier<String> identifier) throws IOException
+    {
+        this.handlerPool = handlerPool;
+        this.workers = new Worker[threads];
+        CountingThreadFactory threadFactory = new CountingThreadFactory(identifier, "AudioReceive-Selector");
+        try
+        {
+            for (int i = 0; i < threads; i++)
+                workers[i] = new Worker(threadFactory);
+        }
+        catch (IOException e)
+        {
+            shutdown();
+            throw e;
+        }
+    }
+
+    /**
+     * Stops all selector threads, the channels themselves are closed by their audio connections.
+     */
+    public void shutdown()
+    {
+        for (Worker worker : workers)
+        {
+            if (worker != null)
+                worker.shutdown();
+        }
+    }
+
+    protected void register(DatagramChannel channel, AudioConnection connection)
+    {
+        Worker worker = getWorker(connection);
+        worker.submit(() ->
+        {
+            try
+            {
+                SelectionKey key = channel.keyFor(worker.selector);
+                // A key which was cancelled by a previous unregister is only removed by the next select
+                if (key != null && !key.isValid())
+                    worker.selector.selectNow();
+                channel.configureBlocking(false);
+                channel.register(worker.selector, SelectionKey.OP_READ, new Receiver(connection, worker));
+            }
+            catch (ClosedChannelException ignored) {} // connection was closed before we could register
+            catch (IOException | CancelledKeyException e)
+            {
+                LOG.error("Failed to register audio channel with selector", e);
+            }
+        });
+    }
+
+    protected void unregister(DatagramChannel channel, AudioConnection connection)
+    {
+        Worker worker = getWorker(connection);
+        worker.submit(() -> cancel(channel.keyFor(worker.selector)));
+    }
+
+    private Worker getWorker(AudioConnection connection)
+    {
+        return workers[Math.floorMod(Long.hashCode(connection.getGuild().getIdLong()), workers.length)];
+    }
+
+    private static void cancel(SelectionKey key)
+    {
+        if (key == null)
+            return;
+        key.cancel();
+        Object attachment = key.attachment();
+        if (attachment instanceof Receiver)
+            ((Receiver) attachment).stop();
+    }
+
+    private class Worker implements Runnable
+    {
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECEIVE_BUFFER_SIZE);
+        private volatile boolean shutdown;
+
+        private Worker(ThreadFactory threadFactory) throws IOException
+        {
+            this.selector = Selector.open();
+            threadFactory.newThread(this).start();
+        }
+
+        private void submit(Runnable task)
+        {
+            if (shutdown)
+                return;
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        private void shutdown()
+        {
+            shutdown = true;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                loop();
+            }
+            finally
+            {
+                tasks.clear();
+                try
+                {
+                    for (SelectionKey key : selector.keys())
+                        cancel(key);
+                    selector.close();
+                }
+                catch (Exception e)
+                {
+                    LOG.error("Failed to close audio receive selector", e);
+                }
+            }
+        }
+
+        private void loop()
+        {
+            while (!shutdown)
+            {
+                try
+                {
+                    selector.select();
+                    Runnable task;
+                    while ((task = tasks.poll()) != null)
+                        task.run();
+
+                    Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                    while (iterator.hasNext())
+                    {
+                        SelectionKey key = iterator.next();
+                        iterator.remove();
+                        if (key.isValid() && key.isReadable())
+                            read(key);
+                    }
+                }
+                catch (Exception e)
+                {
+                    LOG.error("There was some random exception in the audio receive selector", e);
+                }
+            }
+        }
+
+        private void read(SelectionKey key)
+        {
+            DatagramChannel channel = (DatagramChannel) key.channel();
+            Receiver receiver = (Receiver) key.attachment();
+            try
+            {
+                for (int i = 0; i < MAX_READS_PER_KEY; i++)
+                {
+                    ((Buffer) buffer).clear();
+                    if (channel.receive(buffer) == null)
+                        return;
+                    ((Buffer) buffer).flip();
+                    // the packet is handled on another thread, it needs its own copy of the data
+                    byte[] data = new byte[buffer.remaining()];
+                    buffer.get(data);
+                    receiver.queue(key, new DatagramPacket(data, data.length));
+                }
+            }
+            catch (ClosedChannelException e)
+            {
+                cancel(key);
+            }
+            catch (Exception e)
+            {
+                LOG.error("There was some random exception while handling udp packets", e);
+            }
+        }
+    }
+
+    // Hands the packets of one connection to the handler pool, one packet at a time and in the order they were received
+    private class Receiver implements Runnable
+    {
+        private final AudioConnection connection;
+        private final Worker worker;
+        private final Queue<DatagramPacket> packets = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile SelectionKey key;
+        private volatile boolean stopped;
+
+        private Receiver(AudioConnection connection, Worker worker)
+        {
+            this.connection = connection;
+            this.worker = worker;
+        }
+
+        private void queue(SelectionKey key, DatagramPacket packet)
+        {
+            this.key = key;
+            if (stopped)
+                return;
+            if (size.incrementAndGet() > MAX_QUEUED_PACKETS)
+            {
+                size.decrementAndGet();
+                LOG.debug("Dropping audio packet, the receive handler is too slow");
+                return;
+            }
+            packets.add(packet);
+            schedule();
+        }
+
+        private void schedule()
+        {
+            if (!scheduled.compareAndSet(false, true))
+                return;
+            try
+            {
+                handlerPool.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                scheduled.set(false);
+            }
+        }
+
+        private void stop()
+        {
+            stopped = true;
+            packets.clear();
+            size.set(0);
+        }
+
+        @Override
+        public void run()
+        {
+            connection.getJDA().setContext();
+            try
+            {
+                DatagramPacket packet;
+                while (!stopped && (packet = packets.poll()) != null)
+                {
+                    size.decrementAndGet();
+                    try
+                    {
+                        if (!connection.handleReceivedPacket(packet))
+                        {
+                            SelectionKey current = key;
+                            worker.submit(() -> cancel(current));
+                            stop();
+                        }
+                    }
+                    catch (Exception e)
+                    {
+                        LOG.error("There was some random exception while handling udp packets", e);
+                    }
+                }
+            }
+            finally
+            {
+                scheduled.set(false);
+            }
+            // a packet might have been queued after the last poll but before the flag was cleared
+            if (!stopped && !packets.isEmpty())
+                schedule();
+        }
+    }
+}
@@ -43,10 +43,7 @@ import java.nio.ByteBuffer;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Future;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 
 class AudioWebSocket extends WebSocketAdapter
@@ -54,13 +51,16 @@ class AudioWebSocket extends WebSocketAdapter
     public static final Logger LOG = JDALogger.getLog(AudioWebSocket.class);
     public static final int DISCORD_SECRET_KEY_LENGTH = 32;
     private static final byte[] UDP_KEEP_ALIVE= { (byte) 0xC9, 0, 0, 0, 0, 0, 0, 0, 0 };
+    private static final int UDP_DISCOVERY_ATTEMPTS = 6;
+    private static final int RECONNECT_BASE_DELAY = 1000;
+    private static final int RECONNECT_MAX_DELAY = 30000;
 
     protected volatile AudioEncryption encryption;
-    protected WebSocket socket;
+    protected volatile WebSocket socket;
 
     private final AudioConnection audioConnection;
     private final ConnectionListener listener;
-    private final ScheduledThreadPoolExecutor keepAlivePool;
+    private final ScheduledExecutorService lifecyclePool;
     private final Guild guild;
     private final String sessionId;
     private final String token;
@@ -71,6 +71,7 @@ class AudioWebSocket extends WebSocketAdapter
     private boolean reconnecting = false;
     private boolean shouldReconnect;
     private int ssrc;
+    private int reconnectAttempts;
     private byte[] secretKey;
     private Future<?> keepAliveHandle;
     private InetSocketAddress address;
@@ -88,7 +89,7 @@ class AudioWebSocket extends WebSocketAdapter
         this.token = token;
         this.shouldReconnect = shouldReconnect;
 
-        keepAlivePool = getJDA().getAudioLifeCyclePool();
+        lifecyclePool = getJDA().getAudioLifeCyclePool();
 
         //Append the Secure Websocket scheme so that our websocket library knows how to connect
         wssEndpoint = String.format("wss://%s/?v=%d", endpoint, JDAInfo.AUDIO_GATEWAY_VERSION);
@@ -159,8 +160,11 @@ class AudioWebSocket extends WebSocketAdapter
             shutdown = true;
             stopKeepAlive();
 
-            if (audioConnection.udpSocket != null)
-                audioConnection.udpSocket.close();
+            synchronized (audioConnection)
+            {
+                if (audioConnection.udpSocket != null)
+                    audioConnection.udpSocket.close();
+            }
             if (socket != null)
                 socket.sendClose();
 
@@ -416,29 +420,8 @@ class AudioWebSocket extends WebSocketAdapter
                 }
 
                 //Find our external IP and Port using Discord
-                InetSocketAddress externalIpAndPort;
-
                 changeStatus(ConnectionStatus.CONNECTING_ATTEMPTING_UDP_DISCOVERY);
-                int tries = 0;
-                do
-                {
-                    externalIpAndPort = handleUdpDiscovery(new InetSocketAddress(ip, port), ssrc);
-                    tries++;
-                    if (externalIpAndPort == null && tries > 5)
-                    {
-                        close(ConnectionStatus.ERROR_UDP_UNABLE_TO_CONNECT);
-                        return;
-                    }
-                } while (externalIpAndPort == null);
-
-                final DataObject object = DataObject.empty()
-                        .put("protocol", "udp")
-                        .put("data", DataObject.empty()
-                                .put("address", externalIpAndPort.getHostString())
-                                .put("port", externalIpAndPort.getPort())
-                                .put("mode", encryption.getKey())); //Discord requires encryption
-                send(VoiceCode.SELECT_PROTOCOL, object);
-                changeStatus(ConnectionStatus.CONNECTING_AWAITING_READY);
+                startUdpDiscovery(socket, new InetSocketAddress(ip, port), 0);
                 break;
             }
             case VoiceCode.RESUMED:
@@ -447,6 +430,8 @@ class AudioWebSocket extends WebSocketAdapter
                 LOG.debug("Successfully resumed session!");
                 changeStatus(ConnectionStatus.CONNECTED);
                 ready = true;
+                reconnectAttempts = 0;
+                audioConnection.ready();
                 break;
             }
             case VoiceCode.SESSION_DESCRIPTION:
@@ -466,7 +451,9 @@ class AudioWebSocket extends WebSocketAdapter
 
                 LOG.trace("Audio connection has finished connecting!");
                 ready = true;
+                reconnectAttempts = 0;
                 changeStatus(ConnectionStatus.CONNECTED);
+                audioConnection.ready();
                 break;
             }
             case VoiceCode.HEARTBEAT:
@@ -564,22 +551,112 @@ class AudioWebSocket extends WebSocketAdapter
             ready = false;
             reconnecting = true;
             changeStatus(ConnectionStatus.ERROR_LOST_CONNECTION);
-            startConnection();
+            scheduleReconnect();
         });
     }
 
-    private InetSocketAddress handleUdpDiscovery(InetSocketAddress address, int ssrc)
+    private void scheduleReconnect()
     {
-        //We will now send a packet to discord to punch a port hole in the NAT wall.
-        //This is called UDP hole punching.
+        // Full jitter backoff, this spreads out mass reconnects after a voice server migration
+        final int backoff = RECONNECT_BASE_DELAY << Math.min(reconnectAttempts++, 5);
+        final long delay = ThreadLocalRandom.current().nextLong(Math.min(backoff, RECONNECT_MAX_DELAY) + 1);
+        LOG.debug("Attempting to reconnect audio connection in {} ms", delay);
+        try
+        {
+            lifecyclePool.schedule(() ->
+            {
+                getJDA().setContext();
+                locked((unused) ->
+                {
+                    if (!shutdown && reconnecting)
+                        startConnection();
+                });
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException ignored) {} // the pool is shutting down
+    }
+
+    private void startUdpDiscovery(WebSocket current, InetSocketAddress target, int attempt)
+    {
+        // Each attempt is its own task on the audio lifecycle pool so the websocket read thread never blocks on the UDP socket,
+        // the pool can be sized with JDABuilder#setAudioPool for many concurrent connections
+        Runnable discovery = () ->
+        {
+            getJDA().setContext();
+            if (shutdown || socket != current)
+                return; // Connection was closed or restarted in the meantime
+            try
+            {
+                DatagramSocket udpSocket = null;
+                InetSocketAddress externalIpAndPort = null;
+                try
+                {
+                    udpSocket = audioConnection.createUdpSocket();
+                    externalIpAndPort = handleUdpDiscovery(udpSocket, target, ssrc);
+                }
+                catch (IOException ignored) {} // the socket could not be created (firewall?)
+
+                if (externalIpAndPort == null)
+                {
+                    if (udpSocket != null)
+                        udpSocket.close();
+                    if (attempt + 1 >= UDP_DISCOVERY_ATTEMPTS)
+                        close(ConnectionStatus.ERROR_UDP_UNABLE_TO_CONNECT);
+                    else
+                        startUdpDiscovery(current, target, attempt + 1);
+                    return;
+                }
+                if (!setUdpSocket(current, udpSocket, target))
+                    return;
+
+                final DataObject object = DataObject.empty()
+                        .put("protocol", "udp")
+                        .put("data", DataObject.empty()
+                                .put("address", externalIpAndPort.getHostString())
+                                .put("port", externalIpAndPort.getPort())
+                                .put("mode", encryption.getKey())); //Discord requires encryption
+                send(VoiceCode.SELECT_PROTOCOL, object);
+                changeStatus(ConnectionStatus.CONNECTING_AWAITING_READY);
+            }
+            catch (Throwable throwable)
+            {
+                handleCallbackError(current, throwable);
+            }
+        };
+
         try
         {
-            //First close existing socket from possible previous attempts
+            lifecyclePool.execute(discovery);
+        }
+        catch (RejectedExecutionException ignored) {} // the pool is shutting down
+    }
+
+    private boolean setUdpSocket(WebSocket current, DatagramSocket udpSocket, InetSocketAddress address)
+    {
+        // The socket is only published once the discovery succeeded, close() uses the same lock
+        // so it either sees the new socket or we see the shutdown
+        synchronized (audioConnection)
+        {
+            if (shutdown || socket != current)
+            {
+                udpSocket.close();
+                return false;
+            }
+            //Close the socket of a previous connection attempt
             if (audioConnection.udpSocket != null)
                 audioConnection.udpSocket.close();
-            //Create new UDP socket for communication
-            audioConnection.udpSocket = new DatagramSocket();
+            audioConnection.udpSocket = udpSocket;
+            this.address = address;
+            return true;
+        }
+    }
 
+    private InetSocketAddress handleUdpDiscovery(DatagramSocket udpSocket, InetSocketAddress address, int ssrc)
+    {
+        //We will now send a packet to discord to punch a port hole in the NAT wall.
+        //This is called UDP hole punching.
+        try
+        {
             //Create a byte array of length 70 containing our ssrc.
             ByteBuffer buffer = ByteBuffer.allocate(70);    //70 taken from documentation
             buffer.putShort((short) 1);                     // 1 = send (receive will be 2)
@@ -589,12 +666,12 @@ class AudioWebSocket extends WebSocketAdapter
 
             //Construct our packet to be sent loaded with the byte buffer we store the ssrc in.
             DatagramPacket discoveryPacket = new DatagramPacket(buffer.array(), buffer.array().length, address);
-            audioConnection.udpSocket.send(discoveryPacket);
+            udpSocket.send(discoveryPacket);
 
             //Discord responds to our packet, returning a packet containing our external ip and the port we connected through.
             DatagramPacket receivedPacket = new DatagramPacket(new byte[70], 70);   //Give a buffer the same size as the one we sent.
-            audioConnection.udpSocket.setSoTimeout(1000);
-            audioConnection.udpSocket.receive(receivedPacket);
+            udpSocket.setSoTimeout(1000);
+            udpSocket.receive(receivedPacket);
 
             //The byte array returned by discord containing our external ip and the port that we used
             //to connect to discord with.
@@ -619,12 +696,11 @@ class AudioWebSocket extends WebSocketAdapter
             //Get our port which is stored as little endian at the end of the packet
             // We AND it with 0xFFFF to ensure that it isn't sign extended
             int ourPort = (int) IOUtil.getShortBigEndian(received, received.length - 2) & 0xFFFF;
-            this.address = address;
             return new InetSocketAddress(ourIP, ourPort);
         }
         catch (IOException e)
         {
-            // We either timed out or the socket could not be created (firewall?)
+            // We timed out or the packet could not be sent
             return null;
         }
     }
@@ -669,7 +745,7 @@ class AudioWebSocket extends WebSocketAdapter
 
         try
         {
-            keepAliveHandle = keepAlivePool.scheduleAtFixedRate(keepAliveRunnable, 0, keepAliveInterval, TimeUnit.MILLISECONDS);
+            keepAliveHandle = lifecyclePool.scheduleAtFixedRate(keepAliveRunnable, 0, keepAliveInterval, TimeUnit.MILLISECONDS);
         }
         catch (RejectedExecutionException ignored) {} //ignored because this is probably caused due to a race condition
                                                       // related to the threadpool shutdown.
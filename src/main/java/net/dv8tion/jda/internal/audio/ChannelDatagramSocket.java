@@ -0,0 +1,225 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.audio;
+
+import java.io.IOException;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * {@link DatagramSocket} view of a {@link DatagramChannel} which keeps working after the channel
+ * was switched to non-blocking mode for a {@link java.nio.channels.Selector Selector}.
+ * <br>The socket adaptor of the channel refuses to send in non-blocking mode which would break
+ * the {@link net.dv8tion.jda.api.audio.factory.IAudioSendSystem IAudioSendSystem} contract.
+ *
+ * <p>Sending is done directly on the channel, receiving is only possible while the channel is still blocking
+ * which is the case for the UDP discovery. Every other method is delegated to the socket adaptor of the channel,
+ * the closed placeholder socket this class extends is never used.
+ */
+class ChannelDatagramSocket extends DatagramSocket
+{
+    private final DatagramChannel channel;
+
+    ChannelDatagramSocket(DatagramChannel channel) throws SocketException
+    {
+        // Creates an unbound socket which we immediately close again, all calls go to the channel instead
+        super((SocketAddress) null);
+        super.close();
+        this.channel = channel;
+    }
+
+    @Override
+    public DatagramChannel getChannel()
+    {
+        return channel;
+    }
+
+    @Override
+    public void send(DatagramPacket packet) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength());
+        // In non-blocking mode this drops the packet if the send buffer is full, which is fine for voice
+        channel.send(buffer, packet.getSocketAddress());
+    }
+
+    @Override
+    public void bind(SocketAddress address) throws SocketException
+    {
+        channel.socket().bind(address);
+    }
+
+    @Override
+    public void connect(InetAddress address, int port)
+    {
+        channel.socket().connect(address, port);
+    }
+
+    @Override
+    public void connect(SocketAddress address) throws SocketException
+    {
+        channel.socket().connect(address);
+    }
+
+    @Override
+    public void disconnect()
+    {
+        channel.socket().disconnect();
+    }
+
+    @Override
+    public InetAddress getInetAddress()
+    {
+        return channel.socket().getInetAddress();
+    }
+
+    @Override
+    public int getPort()
+    {
+        return channel.socket().getPort();
+    }
+
+    @Override
+    public SocketAddress getRemoteSocketAddress()
+    {
+        return channel.socket().getRemoteSocketAddress();
+    }
+
+    @Override
+    public InetAddress getLocalAddress()
+    {
+        return channel.socket().getLocalAddress();
+    }
+
+    @Override
+    public void receive(DatagramPacket packet) throws IOException
+    {
+        channel.socket().receive(packet);
+    }
+
+    @Override
+    public void setSoTimeout(int timeout) throws SocketException
+    {
+        channel.socket().setSoTimeout(timeout);
+    }
+
+    @Override
+    public int getSoTimeout() throws SocketException
+    {
+        return channel.socket().getSoTimeout();
+    }
+
+    @Override
+    public void setSendBufferSize(int size) throws SocketException
+    {
+        channel.socket().setSendBufferSize(size);
+    }
+
+    @Override
+    public int getSendBufferSize() throws SocketException
+    {
+        return channel.socket().getSendBufferSize();
+    }
+
+    @Override
+    public void setReceiveBufferSize(int size) throws SocketException
+    {
+        channel.socket().setReceiveBufferSize(size);
+    }
+
+    @Override
+    public int getReceiveBufferSize() throws SocketException
+    {
+        return channel.socket().getReceiveBufferSize();
+    }
+
+    @Override
+    public void setReuseAddress(boolean on) throws SocketException
+    {
+        channel.socket().setReuseAddress(on);
+    }
+
+    @Override
+    public boolean getReuseAddress() throws SocketException
+    {
+        return channel.socket().getReuseAddress();
+    }
+
+    @Override
+    public void setBroadcast(boolean on) throws SocketException
+    {
+        channel.socket().setBroadcast(on);
+    }
+
+    @Override
+    public boolean getBroadcast() throws SocketException
+    {
+        return channel.socket().getBroadcast();
+    }
+
+    @Override
+    public void setTrafficClass(int trafficClass) throws SocketException
+    {
+        channel.socket().setTrafficClass(trafficClass);
+    }
+
+    @Override
+    public int getTrafficClass() throws SocketException
+    {
+        return channel.socket().getTrafficClass();
+    }
+
+    @Override
+    public int getLocalPort()
+    {
+        return channel.socket().getLocalPort();
+    }
+
+    @Override
+    public SocketAddress getLocalSocketAddress()
+    {
+        return channel.socket().getLocalSocketAddress();
+    }
+
+    @Override
+    public boolean isBound()
+    {
+        return channel.socket().isBound();
+    }
+
+    @Override
+    public boolean isConnected()
+    {
+        return channel.isConnected();
+    }
+
+    @Override
+    public boolean isClosed()
+    {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ignored) {}
+    }
+}
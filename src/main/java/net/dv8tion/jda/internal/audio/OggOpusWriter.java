@@ -0,0 +1,263 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.audio;
+
+import net.dv8tion.jda.api.audio.OpusPacket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams opus packets of a single SSRC into Ogg pages.
+ * <br>The page header and body buffers are allocated once and reused for every page.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc3533" target="_blank">RFC 3533 - The Ogg Encapsulation Format</a>
+ * @see <a href="https://tools.ietf.org/html/rfc7845" target="_blank">RFC 7845 - Ogg Encapsulation for the Opus Audio Codec</a>
+ */
+public class OggOpusWriter implements Closeable
+{
+    public static final int MAX_SEGMENTS = 255;
+    public static final int HEADER_LENGTH = 27;
+    /** Amount of packets we collect before a page is flushed, 50 packets are 1 second of audio */
+    public static final int PACKETS_PER_PAGE = 50;
+    /** Gaps longer than this (in frames) are considered a new stream rather than packet loss, this is 10 minutes */
+    public static final int MAX_GAP_FRAMES = 30000;
+
+    private static final byte FLAG_BEGIN = 0x02;
+    private static final byte FLAG_END   = 0x04;
+    private static final byte[] CAPTURE_PATTERN = {'O', 'g', 'g', 'S'};
+    private static final byte[] SILENCE = {(byte) 0xF8, (byte) 0xFF, (byte) 0xFE};
+    private static final int[] CRC_TABLE = new int[256];
+
+    static
+    {
+        // Ogg uses the non-reflected CRC-32 with polynomial 0x04C11DB7
+        for (int i = 0; i < 256; i++)
+        {
+            int r = i << 24;
+            for (int j = 0; j < 8; j++)
+                r = (r & 0x80000000) != 0 ? (r << 1) ^ 0x04C11DB7 : r << 1;
+            CRC_TABLE[i] = r;
+        }
+    }
+
+    private final FileChannel channel;
+    private final int serial;
+    private final ByteBuffer header = ByteBuffer.allocateDirect(HEADER_LENGTH + MAX_SEGMENTS).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer body = ByteBuffer.allocateDirect(MAX_SEGMENTS * 255);
+    private final ByteBuffer[] page = {header, body};
+    private final byte[] segments = new byte[MAX_SEGMENTS];
+
+    private int segmentCount;
+    private int packetCount;
+    private int pageSequence;
+    private long granule;
+    private boolean started;
+    private boolean closed;
+
+    private boolean hasTimestamp;
+    private int nextTimestamp;
+
+    public OggOpusWriter(FileChannel channel, int serial)
+    {
+        this.channel = channel;
+        this.serial = serial;
+    }
+
+    /**
+     * Appends the provided opus packet to the stream.
+     * <br>Missing frames, detected by the RTP timestamp, are filled with silence to keep the timeline intact.
+     *
+     * @param  timestamp
+     *         The RTP timestamp of the packet
+     * @param  opus
+     *         The opus packet
+     *
+     * @throws IOException
+     *         If a page could not be written
+     *
+     * @return True, if the packet was written. False if it was a duplicate, arrived too late or the writer is closed.
+     */
+    public synchronized boolean write(int timestamp, byte[] opus) throws IOException
+    {
+        if (closed)
+            return false;
+        if (!started)
+            writeHeaders();
+        if (hasTimestamp)
+        {
+            // RTP timestamps are unsigned 32 bit and wrap around, int arithmetic handles that for us
+            int delta = timestamp - nextTimestamp;
+            if (delta < 0)
+                return false;
+            int missing = delta / OpusPacket.OPUS_FRAME_SIZE;
+            if (missing <= MAX_GAP_FRAMES)
+            {
+                for (int i = 0; i < missing; i++)
+                    append(SILENCE);
+            }
+        }
+        append(opus);
+        hasTimestamp = true;
+        nextTimestamp = timestamp + getSampleCount(opus);
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (closed)
+            return;
+        closed = true;
+        try
+        {
+            if (started)
+                flush(FLAG_END);
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+
+    private void writeHeaders() throws IOException
+    {
+        started = true;
+        // Identification header
+        ByteBuffer identification = ByteBuffer.allocate(19).order(ByteOrder.LITTLE_ENDIAN);
+        identification.put("OpusHead".getBytes(StandardCharsets.US_ASCII))
+                      .put((byte) 1)                                // version
+                      .put((byte) OpusPacket.OPUS_CHANNEL_COUNT)
+                      .putShort((short) 0)                          // pre-skip, we did not encode this audio
+                      .putInt(OpusPacket.OPUS_SAMPLE_RATE)
+                      .putShort((short) 0)                          // output gain
+                      .put((byte) 0);                               // channel mapping family
+        appendSegments(identification.array());
+        flush(FLAG_BEGIN);
+
+        // Comment header
+        byte[] vendor = "JDA".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer comment = ByteBuffer.allocate(16 + vendor.length).order(ByteOrder.LITTLE_ENDIAN);
+        comment.put("OpusTags".getBytes(StandardCharsets.US_ASCII))
+               .putInt(vendor.length)
+               .put(vendor)
+               .putInt(0);                                          // user comment list length
+        appendSegments(comment.array());
+        flush((byte) 0);
+    }
+
+    private void append(byte[] opus) throws IOException
+    {
+        if (packetCount >= PACKETS_PER_PAGE || segmentCount + opus.length / 255 + 1 > MAX_SEGMENTS)
+            flush((byte) 0);
+        appendSegments(opus);
+        granule += getSampleCount(opus);
+    }
+
+    private void appendSegments(byte[] packet)
+    {
+        // Lacing values: a run of 255s terminated by a value < 255
+        int remaining = packet.length;
+        while (remaining >= 255)
+        {
+            segments[segmentCount++] = (byte) 255;
+            remaining -= 255;
+        }
+        segments[segmentCount++] = (byte) remaining;
+        body.put(packet);
+        packetCount++;
+    }
+
+    private void flush(byte flags) throws IOException
+    {
+        ((Buffer) header).clear();
+        header.put(CAPTURE_PATTERN)
+              .put((byte) 0)                // version
+              .put(flags)
+              .putLong(granule)
+              .putInt(serial)
+              .putInt(pageSequence++)
+              .putInt(0)                    // checksum, computed below
+              .put((byte) segmentCount)
+              .put(segments, 0, segmentCount);
+        ((Buffer) header).flip();
+        ((Buffer) body).flip();
+
+        int crc = updateCrc(0, header);
+        crc = updateCrc(crc, body);
+        header.putInt(22, crc);
+
+        while (header.hasRemaining() || body.hasRemaining())
+            channel.write(page);
+
+        ((Buffer) body).clear();
+        segmentCount = 0;
+        packetCount = 0;
+    }
+
+    private static int updateCrc(int crc, ByteBuffer buffer)
+    {
+        for (int i = buffer.position(); i < buffer.limit(); i++)
+            crc = (crc << 8) ^ CRC_TABLE[((crc >>> 24) & 0xFF) ^ (buffer.get(i) & 0xFF)];
+        return crc;
+    }
+
+    /**
+     * Reads the number of samples (at 48kHz) in the provided opus packet from its TOC byte.
+     *
+     * @param  opus
+     *         The opus packet
+     *
+     * @return The number of samples per channel
+     *
+     * @see <a href="https://tools.ietf.org/html/rfc6716#section-3.1" target="_blank">RFC 6716 - The TOC Byte</a>
+     */
+    public static int getSampleCount(byte[] opus)
+    {
+        if (opus.length == 0)
+            return 0;
+        int toc = opus[0] & 0xFF;
+        int config = toc >> 3;
+        int frameSize;
+        if (config < 12)        // SILK-only: 10, 20, 40, 60 ms
+            frameSize = config % 4 == 3 ? 2880 : 480 << (config % 4);
+        else if (config < 16)   // Hybrid: 10, 20 ms
+            frameSize = 480 << (config % 2);
+        else                    // CELT-only: 2.5, 5, 10, 20 ms
+            frameSize = 120 << (config % 4);
+
+        int frames;
+        switch (toc & 0x3)
+        {
+            case 0:
+                frames = 1;
+                break;
+            case 1:
+            case 2:
+                frames = 2;
+                break;
+            default:
+                frames = opus.length > 1 ? opus[1] & 0x3F : 0;
+        }
+        return frameSize * frames;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.audio;
+
+import com.sun.jna.ptr.PointerByReference;
+import net.dv8tion.jda.api.audio.OpusPacket;
+import tomp2p.opuswrapper.Opus;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of opus encoders which share the same configuration.
+ * <br>Encoders are handed out to audio connections and reset when they are returned,
+ * so connections which come and go do not have to create and destroy native encoders every time.
+ *
+ * <p>The native input and output buffers used for encoding are direct buffers owned by the encoding thread
+ * and reused for every frame.
+ */
+public class OpusEncoderPool
+{
+    /** Pool for the configuration used by all audio connections: 48kHz stereo audio */
+    public static final OpusEncoderPool DEFAULT = new OpusEncoderPool(OpusPacket.OPUS_SAMPLE_RATE, OpusPacket.OPUS_CHANNEL_COUNT, Opus.OPUS_APPLICATION_AUDIO);
+    /** Maximum size of an encoded frame, as used by the encoder before */
+    public static final int MAX_ENCODED_SIZE = 4096;
+    /** Maximum amount of idle encoders we keep around per configuration */
+    public static final int MAX_IDLE = 64;
+
+    private static final int OPUS_RESET_STATE = 4028;
+    private static final ThreadLocal<EncodeBuffers> BUFFERS = ThreadLocal.withInitial(EncodeBuffers::new);
+
+    private final Deque<PointerByReference> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final int sampleRate;
+    private final int channels;
+    private final int application;
+
+    public OpusEncoderPool(int sampleRate, int channels, int application)
+    {
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.application = application;
+    }
+
+    /**
+     * Retrieves an idle encoder or creates a new one if none is available.
+     *
+     * @throws IllegalStateException
+     *         If the encoder could not be created
+     *
+     * @return The encoder
+     */
+    public PointerByReference acquire()
+    {
+        PointerByReference encoder = idle.pollFirst();
+        if (encoder != null)
+        {
+            idleCount.decrementAndGet();
+            return encoder;
+        }
+
+        IntBuffer error = IntBuffer.allocate(1);
+        encoder = Opus.INSTANCE.opus_encoder_create(sampleRate, channels, application, error);
+        if (error.get() != Opus.OPUS_OK && encoder == null)
+            throw new IllegalStateException("Received error status from opus_encoder_create(...): " + error.get());
+        return encoder;
+    }
+
+    /**
+     * Returns the encoder to this pool. The encoder must not be used by the caller after this.
+     * <br>If the pool already holds {@link #MAX_IDLE} encoders the encoder is destroyed instead.
+     *
+     * @param encoder
+     *        The encoder to return
+     */
+    public void release(PointerByReference encoder)
+    {
+        if (encoder == null)
+            return;
+        if (idleCount.incrementAndGet() > MAX_IDLE)
+        {
+            idleCount.decrementAndGet();
+            Opus.INSTANCE.opus_encoder_destroy(encoder);
+            return;
+        }
+        // Make sure the next stream does not start with the prediction state of the previous one
+        Opus.INSTANCE.opus_encoder_ctl(encoder, OPUS_RESET_STATE);
+        idle.offerFirst(encoder);
+    }
+
+    /**
+     * Encodes one frame of 48KHz 16bit stereo signed BigEndian PCM.
+     *
+     * @param  encoder
+     *         The encoder to use
+     * @param  pcm
+     *         The PCM audio, the position is not changed
+     * @param  target
+     *         The buffer to write the opus frame to, must have a capacity of at least {@link #MAX_ENCODED_SIZE}
+     *
+     * @return The target buffer ready to be read or {@code null} if encoding failed
+     */
+    public static ByteBuffer encode(PointerByReference encoder, ByteBuffer pcm, ByteBuffer target)
+    {
+        EncodeBuffers buffers = BUFFERS.get();
+        int result = buffers.encode(encoder, pcm);
+        if (result <= 0)
+        {
+            AudioConnection.LOG.error("Received error code from opus_encode(...): {}", result);
+            return null;
+        }
+
+        ((Buffer) target).clear();
+        ((Buffer) buffers.encoded).limit(result);
+        target.put(buffers.encoded);
+        ((Buffer) target).flip();
+        return target;
+    }
+
+    private static class EncodeBuffers
+    {
+        private ShortBuffer input = allocateInput(OpusPacket.OPUS_FRAME_SIZE * OpusPacket.OPUS_CHANNEL_COUNT);
+        private final ByteBuffer encoded = ByteBuffer.allocateDirect(MAX_ENCODED_SIZE);
+
+        private int encode(PointerByReference encoder, ByteBuffer pcm)
+        {
+            int samples = pcm.remaining() / 2;
+            if (input.capacity() < samples)
+                input = allocateInput(samples);
+
+            ((Buffer) input).clear();
+            for (int i = pcm.position(); i < pcm.limit() - 1; i += 2)
+                input.put((short) ((pcm.get(i) & 0xFF) << 8 | (pcm.get(i + 1) & 0xFF))); // always big endian, regardless of the buffer order
+            ((Buffer) input).flip();
+            ((Buffer) encoded).clear();
+            return Opus.INSTANCE.opus_encode(encoder, input, OpusPacket.OPUS_FRAME_SIZE, encoded, encoded.capacity());
+        }
+
+        private static ShortBuffer allocateInput(int samples)
+        {
+            return ByteBuffer.allocateDirect(samples * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+        }
+    }
+}
@@ -0,0 +1,576 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.entities;
+
+import gnu.trove.map.TLongObjectMap;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compact binary snapshot of the entity cache of a {@link JDAImpl} instance.
+ * <br>The snapshot is written when a session is stored for a later resume and restored before the session is resumed,
+ * this skips building the guilds from the json of the GUILD_CREATE events.
+ *
+ * <p>The snapshot covers the self user, users, guilds, roles, members, channels, permission overrides and emotes.
+ * Volatile state such as presences and voice states is not included. The file is memory-mapped for reading.
+ *
+ * <p>Layout: all numbers are big endian, strings are a length prefixed UTF-8 sequence with a length of {@code -1} for null.
+ * <pre>
+ * header:  int magic, int version, int shardId, int shardTotal
+ * self:    long id, user fields, byte flags (verified, mfa)
+ * users:   int count, (long id, str name, str discriminator, str avatar, byte bot)*
+ * guilds:  int count, (guild fields, roles, members, channels, emotes)*
+ * </pre>
+ */
+public class CacheSnapshot
+{
+    public static final Logger LOG = JDALogger.getLog(CacheSnapshot.class);
+    public static final int MAGIC = 0x4A444143; // JDAC
+    public static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte OVERRIDE_ROLE = 0;
+    private static final byte OVERRIDE_MEMBER = 1;
+
+    private CacheSnapshot() {}
+
+    /**
+     * Writes the cache of the provided JDA instance to the file, replacing the previous content.
+     *
+     * @param  api
+     *         The JDA instance
+     * @param  file
+     *         The target file
+     *
+     * @throws IOException
+     *         If an I/O error occurs
+     */
+    public static void write(JDAImpl api, File file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            Writer writer = new Writer(channel);
+            JDA.ShardInfo shardInfo = api.getShardInfo();
+            writer.putInt(MAGIC);
+            writer.putInt(VERSION);
+            writer.putInt(shardInfo.getShardId());
+            writer.putInt(shardInfo.getShardTotal());
+
+            SelfUser self = api.getSelfUser();
+            writer.putLong(self.getIdLong());
+            writeUser(writer, self);
+            writer.putByte(flags(self.isVerified(), self.isMfaEnabled()));
+
+            List<User> users = api.getUsersView().asList();
+            writer.putInt(users.size());
+            for (User user : users)
+            {
+                writer.putLong(user.getIdLong());
+                writeUser(writer, user);
+            }
+
+            List<Guild> guilds = api.getGuildsView().asList();
+            writer.putInt(guilds.size());
+            for (Guild guild : guilds)
+                writeGuild(writer, (GuildImpl) guild);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Restores the cache from a snapshot file. This has to be done before the session is started.
+     *
+     * @param  api
+     *         The JDA instance
+     * @param  file
+     *         The snapshot file
+     *
+     * @throws IOException
+     *         If an I/O error occurs or the file is not a snapshot for this shard
+     *
+     * @return The number of restored guilds
+     */
+    public static int read(JDAImpl api, File file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            JDA.ShardInfo shardInfo = api.getShardInfo();
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                throw new IOException("Unsupported cache snapshot format");
+            if (buffer.getInt() != shardInfo.getShardId() || buffer.getInt() != shardInfo.getShardTotal())
+                throw new IOException("Cache snapshot belongs to a different shard");
+
+            final long selfId = buffer.getLong();
+            SelfUserImpl self = api.hasSelfUser() ? (SelfUserImpl) api.getSelfUser() : new SelfUserImpl(selfId, api);
+            readUser(buffer, self);
+            byte selfFlags = buffer.get();
+            self.setVerified((selfFlags & 1) != 0).setMfaEnabled((selfFlags & 2) != 0);
+            api.setSelfUser(self);
+
+            SnowflakeCacheViewImpl<User> userView = api.getUsersView();
+            try (UnlockHook hook = userView.writeLock())
+            {
+                TLongObjectMap<User> users = userView.getMap();
+                users.put(selfId, self);
+                int count = buffer.getInt();
+                for (int i = 0; i < count; i++)
+                {
+                    long id = buffer.getLong();
+                    if (id == selfId)
+                        readUser(buffer, new UserImpl(id, api)); // skip, already restored
+                    else
+                        users.put(id, readUser(buffer, new UserImpl(id, api)));
+                }
+            }
+
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+                readGuild(buffer, api);
+            return count;
+        }
+    }
+
+    private static void writeUser(Writer writer, User user) throws IOException
+    {
+        writer.putString(user.getName());
+        writer.putString(user.getDiscriminator());
+        writer.putString(user.getAvatarId());
+        writer.putByte(flags(user.isBot()));
+    }
+
+    private static UserImpl readUser(ByteBuffer buffer, UserImpl user)
+    {
+        return user.setName(getString(buffer))
+                   .setDiscriminator(getString(buffer))
+                   .setAvatarId(getString(buffer))
+                   .setBot(buffer.get() != 0);
+    }
+
+    private static void writeGuild(Writer writer, GuildImpl guild) throws IOException
+    {
+        writer.putLong(guild.getIdLong());
+        writer.putString(guild.getName());
+        writer.putString(guild.getIconId());
+        writer.putString(guild.getSplashId());
+        writer.putString(guild.getRegionRaw());
+        writer.putString(guild.getDescription());
+        writer.putString(guild.getBannerId());
+        writer.putString(guild.getVanityCode());
+        writer.putInt(guild.getMaxMembers());
+        writer.putInt(guild.getMaxPresences());
+        writer.putLong(guild.getOwnerIdLong());
+        writer.putInt(guild.getAfkTimeout().getSeconds());
+        writer.putInt(guild.getVerificationLevel().getKey());
+        writer.putInt(guild.getDefaultNotificationLevel().getKey());
+        writer.putInt(guild.getExplicitContentLevel().getKey());
+        writer.putInt(guild.getRequiredMFALevel().getKey());
+        writer.putInt(guild.getBoostCount());
+        writer.putInt(guild.getBoostTier().getKey());
+        writer.putInt(guild.getMemberCount());
+        Set<String> features = guild.getFeatures();
+        writer.putInt(features.size());
+        for (String feature : features)
+            writer.putString(feature);
+        VoiceChannel afkChannel = guild.getAfkChannel();
+        TextChannel systemChannel = guild.getSystemChannel();
+        writer.putLong(afkChannel == null ? 0 : afkChannel.getIdLong());
+        writer.putLong(systemChannel == null ? 0 : systemChannel.getIdLong());
+
+        List<Role> roles = guild.getRolesView().asList();
+        writer.putInt(roles.size());
+        for (Role role : roles)
+        {
+            RoleImpl impl = (RoleImpl) role;
+            writer.putLong(impl.getIdLong());
+            writer.putString(impl.getName());
+            writer.putInt(impl.getPositionRaw());
+            writer.putLong(impl.getPermissionsRaw());
+            writer.putInt(impl.getColorRaw());
+            writer.putByte(flags(impl.isManaged(), impl.isHoisted(), impl.isMentionable()));
+        }
+
+        List<Member> members = guild.getMembersView().asList();
+        writer.putInt(members.size());
+        for (Member member : members)
+        {
+            MemberImpl impl = (MemberImpl) member;
+            writer.putLong(impl.getIdLong());
+            writer.putString(impl.getNickname());
+            writer.putLong(impl.getTimeJoined().toInstant().toEpochMilli());
+            writer.putLong(impl.getBoostDateRaw());
+            Set<Role> memberRoles = impl.getRoleSet();
+            writer.putInt(memberRoles.size());
+            for (Role role : memberRoles)
+                writer.putLong(role.getIdLong());
+        }
+
+        // categories first so the parent is known when the other channels are restored
+        List<GuildChannel> channels = new ArrayList<>();
+        channels.addAll(guild.getCategoriesView().asList());
+        channels.addAll(guild.getTextChannelsView().asList());
+        channels.addAll(guild.getVoiceChannelsView().asList());
+        channels.addAll(guild.getStoreChannelView().asList());
+        writer.putInt(channels.size());
+        for (GuildChannel channel : channels)
+            writeChannel(writer, (AbstractChannelImpl<?, ?>) channel);
+
+        List<Emote> emotes = guild.getEmotesView().asList();
+        writer.putInt(emotes.size());
+        for (Emote emote : emotes)
+        {
+            writer.putLong(emote.getIdLong());
+            writer.putString(emote.getName());
+            writer.putByte(flags(emote.isAnimated(), emote.isManaged()));
+            Set<Role> emoteRoles = ((EmoteImpl) emote).getRoleSet();
+            writer.putInt(emoteRoles.size());
+            for (Role role : emoteRoles)
+                writer.putLong(role.getIdLong());
+        }
+    }
+
+    private static void readGuild(ByteBuffer buffer, JDAImpl api)
+    {
+        final long guildId = buffer.getLong();
+        GuildImpl guild = new GuildImpl(api, guildId);
+        guild.setAvailable(true)
+             .setName(getString(buffer))
+             .setIconId(getString(buffer))
+             .setSplashId(getString(buffer))
+             .setRegion(getString(buffer))
+             .setDescription(getString(buffer))
+             .setBannerId(getString(buffer))
+             .setVanityCode(getString(buffer))
+             .setMaxMembers(buffer.getInt())
+             .setMaxPresences(buffer.getInt())
+             .setOwnerId(buffer.getLong())
+             .setAfkTimeout(Guild.Timeout.fromKey(buffer.getInt()))
+             .setVerificationLevel(Guild.VerificationLevel.fromKey(buffer.getInt()))
+             .setDefaultNotificationLevel(Guild.NotificationLevel.fromKey(buffer.getInt()))
+             .setExplicitContentLevel(Guild.ExplicitContentLevel.fromKey(buffer.getInt()))
+             .setRequiredMFALevel(Guild.MFALevel.fromKey(buffer.getInt()))
+             .setBoostCount(buffer.getInt())
+             .setBoostTier(buffer.getInt())
+             .setMemberCount(buffer.getInt());
+        int featureCount = buffer.getInt();
+        Set<String> features = new HashSet<>(featureCount);
+        for (int i = 0; i < featureCount; i++)
+            features.add(getString(buffer));
+        guild.setFeatures(features);
+        final long afkChannelId = buffer.getLong();
+        final long systemChannelId = buffer.getLong();
+
+        SnowflakeCacheViewImpl<Guild> guildView = api.getGuildsView();
+        try (UnlockHook hook = guildView.writeLock())
+        {
+            guildView.getMap().put(guildId, guild);
+        }
+
+        try (UnlockHook hook = guild.getRolesView().writeLock())
+        {
+            TLongObjectMap<Role> roles = guild.getRolesView().getMap();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+            {
+                RoleImpl role = new RoleImpl(buffer.getLong(), guild);
+                role.setName(getString(buffer))
+                    .setRawPosition(buffer.getInt())
+                    .setRawPermissions(buffer.getLong())
+                    .setColor(buffer.getInt());
+                byte flags = buffer.get();
+                role.setManaged((flags & 1) != 0)
+                    .setHoisted((flags & 2) != 0)
+                    .setMentionable((flags & 4) != 0);
+                roles.put(role.getIdLong(), role);
+                if (role.getIdLong() == guildId)
+                    guild.setPublicRole(role);
+            }
+        }
+
+        try (UnlockHook hook = guild.getMembersView().writeLock())
+        {
+            TLongObjectMap<Member> members = guild.getMembersView().getMap();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+            {
+                final long userId = buffer.getLong();
+                final String nickname = getString(buffer);
+                final long joinDate = buffer.getLong();
+                final long boostDate = buffer.getLong();
+                int roleCount = buffer.getInt();
+                User user = api.getUsersView().get(userId);
+                MemberImpl member = user == null ? null : new MemberImpl(guild, user);
+                for (int j = 0; j < roleCount; j++)
+                {
+                    Role role = guild.getRolesView().get(buffer.getLong());
+                    if (role != null && member != null)
+                        member.getRoleSet().add(role);
+                }
+                if (member == null)
+                    continue;
+                member.setNickname(nickname).setJoinDate(joinDate).setBoostDate(boostDate);
+                members.put(userId, member);
+                if (userId == guild.getOwnerIdLong())
+                    guild.setOwner(member);
+            }
+        }
+
+        int channelCount = buffer.getInt();
+        for (int i = 0; i < channelCount; i++)
+            readChannel(buffer, api, guild);
+
+        boolean cacheEmotes = api.isCacheFlagSet(CacheFlag.EMOTE);
+        try (UnlockHook hook = guild.getEmotesView().writeLock())
+        {
+            TLongObjectMap<Emote> emotes = guild.getEmotesView().getMap();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+            {
+                EmoteImpl emote = new EmoteImpl(buffer.getLong(), guild, false);
+                emote.setName(getString(buffer));
+                byte flags = buffer.get();
+                emote.setAnimated((flags & 1) != 0).setManaged((flags & 2) != 0);
+                int roleCount = buffer.getInt();
+                for (int j = 0; j < roleCount; j++)
+                {
+                    Role role = guild.getRolesView().get(buffer.getLong());
+                    if (role != null)
+                        emote.getRoleSet().add(role);
+                }
+                if (cacheEmotes)
+                    emotes.put(emote.getIdLong(), emote);
+            }
+        }
+
+        guild.setAfkChannel(guild.getVoiceChannelById(afkChannelId))
+             .setSystemChannel(guild.getTextChannelById(systemChannelId));
+    }
+
+    private static void writeChannel(Writer writer, AbstractChannelImpl<?, ?> channel) throws IOException
+    {
+        writer.putByte((byte) channel.getType().getId());
+        writer.putLong(channel.getIdLong());
+        writer.putString(channel.getName());
+        writer.putInt(channel.getPositionRaw());
+        Category parent = channel.getParent();
+        writer.putLong(parent == null ? 0 : parent.getIdLong());
+        switch (channel.getType())
+        {
+        case TEXT:
+            TextChannelImpl text = (TextChannelImpl) channel;
+            writer.putString(text.getTopic());
+            writer.putByte(flags(text.isNSFW()));
+            writer.putInt(text.getSlowmode());
+            writer.putLong(text.hasLatestMessage() ? text.getLatestMessageIdLong() : 0);
+            break;
+        case VOICE:
+            VoiceChannelImpl voice = (VoiceChannelImpl) channel;
+            writer.putInt(voice.getUserLimit());
+            writer.putInt(voice.getBitrate());
+            break;
+        default:
+            break;
+        }
+
+        List<PermissionOverride> overrides = channel.getPermissionOverrides();
+        writer.putInt(overrides.size());
+        for (PermissionOverride override : overrides)
+        {
+            writer.putByte(override.isRoleOverride() ? OVERRIDE_ROLE : OVERRIDE_MEMBER);
+            writer.putLong(override.getIdLong());
+            writer.putLong(override.getAllowedRaw());
+            writer.putLong(override.getDeniedRaw());
+        }
+    }
+
+    private static void readChannel(ByteBuffer buffer, JDAImpl api, GuildImpl guild)
+    {
+        final ChannelType type = ChannelType.fromId(buffer.get());
+        final long id = buffer.getLong();
+        final String name = getString(buffer);
+        final int position = buffer.getInt();
+        final long parentId = buffer.getLong();
+
+        AbstractChannelImpl<?, ?> channel;
+        switch (type)
+        {
+        case CATEGORY:
+            channel = new CategoryImpl(id, guild);
+            put(guild.getCategoriesView(), api.getCategoriesView(), (Category) channel);
+            break;
+        case TEXT:
+            TextChannelImpl text = new TextChannelImpl(id, guild);
+            text.setTopic(getString(buffer))
+                .setNSFW(buffer.get() != 0)
+                .setSlowmode(buffer.getInt())
+                .setLastMessageId(buffer.getLong());
+            put(guild.getTextChannelsView(), api.getTextChannelsView(), text);
+            channel = text;
+            break;
+        case VOICE:
+            VoiceChannelImpl voice = new VoiceChannelImpl(id, guild);
+            voice.setUserLimit(buffer.getInt())
+                 .setBitrate(buffer.getInt());
+            put(guild.getVoiceChannelsView(), api.getVoiceChannelsView(), voice);
+            channel = voice;
+            break;
+        case STORE:
+            channel = new StoreChannelImpl(id, guild);
+            put(guild.getStoreChannelView(), api.getStoreChannelsView(), (StoreChannel) channel);
+            break;
+        default:
+            throw new IllegalStateException("Unexpected channel type in cache snapshot: " + type);
+        }
+        api.indexChannel(id);
+        channel.setName(name);
+        channel.setPosition(position);
+        if (type != ChannelType.CATEGORY)
+            channel.setParent(parentId);
+
+        int overrideCount = buffer.getInt();
+        for (int i = 0; i < overrideCount; i++)
+        {
+            final byte overrideType = buffer.get();
+            final long holderId = buffer.getLong();
+            final long allow = buffer.getLong();
+            final long deny = buffer.getLong();
+            IPermissionHolder holder = overrideType == OVERRIDE_ROLE
+                ? guild.getRolesView().get(holderId)
+                : guild.getMembersView().get(holderId);
+            if (holder == null)
+                continue;
+            PermissionOverrideImpl override = new PermissionOverrideImpl(channel, holder);
+            override.setAllow(allow).setDeny(deny);
+            channel.getOverrideMap().put(holderId, override);
+        }
+    }
+
+    private static <T extends GuildChannel> void put(SnowflakeCacheViewImpl<T> guildView, SnowflakeCacheViewImpl<T> globalView, T channel)
+    {
+        try (UnlockHook glock = guildView.writeLock();
+             UnlockHook jlock = globalView.writeLock())
+        {
+            guildView.getMap().put(channel.getIdLong(), channel);
+            globalView.getMap().put(channel.getIdLong(), channel);
+        }
+    }
+
+    private static byte flags(boolean... values)
+    {
+        int flags = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            if (values[i])
+                flags |= 1 << i;
+        }
+        return (byte) flags;
+    }
+
+    private static String getString(ByteBuffer buffer)
+    {
+        int length = buffer.getInt();
+        if (length < 0)
+            return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class Writer
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Writer(FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        private void ensure(int bytes) throws IOException
+        {
+            if (buffer.remaining() < bytes)
+                flush();
+        }
+
+        private void flush() throws IOException
+        {
+            ((Buffer) buffer).flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            ((Buffer) buffer).clear();
+        }
+
+        private void putByte(byte value) throws IOException
+        {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        private void putInt(int value) throws IOException
+        {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        private void putLong(long value) throws IOException
+        {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        private void putString(String value) throws IOException
+        {
+            if (value == null)
+            {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            if (bytes.length > buffer.capacity())
+            {
+                flush();
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining())
+                    channel.write(wrapped);
+                return;
+            }
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.entities;
+
+import gnu.trove.set.hash.TLongHashSet;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable and compact form of a received message, meant to be held in message caches.
+ * <br>The content is kept as UTF-8, mentions as id arrays and rarely used parts like embeds, attachments and reactions
+ * as json which is only decoded when a {@link Message} view is {@link #toMessage(JDAImpl) created}.
+ */
+public class CompactMessage
+{
+    private static final long[] EMPTY = new long[0];
+    private static final int WEBHOOK = 1;
+    private static final int MENTIONS_EVERYONE = 1 << 1;
+    private static final int TTS = 1 << 2;
+    private static final int PINNED = 1 << 3;
+
+    private final long id;
+    private final long channelId;
+    private final long authorId;
+    private final int type;
+    private final int bits;
+    private final int flags;
+    private final OffsetDateTime editedTime;
+    private final String nonce;
+    private final byte[] content;
+    private final long[] mentionedUsers;
+    private final long[] mentionedRoles;
+    private final byte[] author;
+    private final byte[] extra;
+
+    private CompactMessage(DataObject json, CompactMessage previous)
+    {
+        this.id = json.getLong("id");
+        this.channelId = json.getLong("channel_id");
+        DataObject author = json.getObject("author");
+        this.authorId = author.getLong("id");
+        this.type = json.getInt("type");
+        int bits = 0;
+        if (json.hasKey("webhook_id"))
+            bits |= WEBHOOK;
+        if (json.getBoolean("mention_everyone"))
+            bits |= MENTIONS_EVERYONE;
+        if (json.getBoolean("tts"))
+            bits |= TTS;
+        if (json.getBoolean("pinned"))
+            bits |= PINNED;
+        this.bits = bits;
+        this.flags = json.getInt("flags", 0);
+        this.editedTime = json.isNull("edited_timestamp") ? null : OffsetDateTime.parse(json.getString("edited_timestamp"));
+        this.nonce = json.isNull("nonce") ? null : json.get("nonce").toString();
+        this.content = json.getString("content", "").getBytes(StandardCharsets.UTF_8);
+        this.mentionedUsers = toIds(json.optArray("mentions").orElse(null), true);
+        this.mentionedRoles = toIds(json.optArray("mention_roles").orElse(null), false);
+        // Only the fields used to create a fake user
+        this.author = encode(DataObject.empty()
+            .put("id", author.getString("id"))
+            .put("username", author.getString("username", ""))
+            .put("discriminator", author.getString("discriminator", "0000"))
+            .put("avatar", author.getString("avatar", null))
+            .put("bot", author.getBoolean("bot")));
+
+        // Parts missing from an update, usually the reactions, are kept from the previous version
+        DataObject previousExtra = previous == null || previous.extra == null ? DataObject.empty() : decode(previous.extra);
+        DataObject extra = DataObject.empty();
+        for (String key : new String[] { "embeds", "attachments", "reactions" })
+        {
+            if (!json.hasKey(key))
+                previousExtra.optArray(key).ifPresent(array -> extra.put(key, array));
+            else if (!json.isNull(key) && json.getArray(key).length() > 0)
+                extra.put(key, json.getArray(key));
+        }
+        for (String key : new String[] { "activity", "application" })
+        {
+            if (!json.hasKey(key))
+                previousExtra.optObject(key).ifPresent(object -> extra.put(key, object));
+            else if (!json.isNull(key))
+                extra.put(key, json.getObject(key));
+        }
+        this.extra = extra.keys().isEmpty() ? null : encode(extra);
+    }
+
+    private CompactMessage(CompactMessage message, DataObject extra)
+    {
+        this.id = message.id;
+        this.channelId = message.channelId;
+        this.authorId = message.authorId;
+        this.type = message.type;
+        this.bits = message.bits;
+        this.flags = message.flags;
+        this.editedTime = message.editedTime;
+        this.nonce = message.nonce;
+        this.content = message.content;
+        this.mentionedUsers = message.mentionedUsers;
+        this.mentionedRoles = message.mentionedRoles;
+        this.author = message.author;
+        this.extra = extra.keys().isEmpty() ? null : encode(extra);
+    }
+
+    /**
+     * Creates a compact message from the json of a received message.
+     *
+     * @param  json
+     *         The message json, as received from the gateway or REST api
+     *
+     * @return The compact message
+     */
+    @Nonnull
+    public static CompactMessage fromJson(@Nonnull DataObject json)
+    {
+        return new CompactMessage(json, null);
+    }
+
+    /**
+     * Creates the updated version of this message from the json of a MESSAGE_UPDATE.
+     * <br>Embeds, attachments, reactions, activity and application which are missing from the update are kept,
+     * updates usually do not include the reactions of the message.
+     *
+     * @param  json
+     *         The updated message json
+     *
+     * @return The updated compact message
+     */
+    @Nonnull
+    public CompactMessage update(@Nonnull DataObject json)
+    {
+        return new CompactMessage(json, this);
+    }
+
+    /**
+     * Creates a version of this message with one reaction added or removed, like a MESSAGE_REACTION_ADD or MESSAGE_REACTION_REMOVE.
+     *
+     * @param  emoji
+     *         The emoji json of the reaction
+     * @param  self
+     *         Whether the reaction was added or removed by the currently logged in account
+     * @param  add
+     *         True, if the reaction was added
+     *
+     * @return The updated compact message
+     */
+    @Nonnull
+    public CompactMessage updateReaction(@Nonnull DataObject emoji, boolean self, boolean add)
+    {
+        DataObject extra = this.extra == null ? DataObject.empty() : decode(this.extra);
+        DataArray reactions = extra.optArray("reactions").orElseGet(DataArray::empty);
+        DataArray updated = DataArray.empty();
+        boolean found = false;
+        for (int i = 0; i < reactions.length(); i++)
+        {
+            DataObject reaction = reactions.getObject(i);
+            if (!found && isSameEmoji(reaction.getObject("emoji"), emoji))
+            {
+                found = true;
+                int count = reaction.getInt("count", 0) + (add ? 1 : -1);
+                if (count <= 0)
+                    continue;
+                reaction.put("count", count);
+                if (self)
+                    reaction.put("me", add);
+            }
+            updated.add(reaction);
+        }
+        if (!found && add)
+            updated.add(DataObject.empty().put("count", 1).put("me", self).put("emoji", emoji));
+
+        if (updated.length() == 0)
+            extra.remove("reactions");
+        else
+            extra.put("reactions", updated);
+        return new CompactMessage(this, extra);
+    }
+
+    /**
+     * Creates a version of this message without reactions, like a MESSAGE_REACTION_REMOVE_ALL.
+     *
+     * @return The updated compact message
+     */
+    @Nonnull
+    public CompactMessage clearReactions()
+    {
+        if (extra == null)
+            return this;
+        return new CompactMessage(this, decode(extra).remove("reactions"));
+    }
+
+    public long getIdLong()
+    {
+        return id;
+    }
+
+    public long getChannelIdLong()
+    {
+        return channelId;
+    }
+
+    public long getAuthorIdLong()
+    {
+        return authorId;
+    }
+
+    @Nonnull
+    public String getContentRaw()
+    {
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    public OffsetDateTime getTimeEdited()
+    {
+        return editedTime;
+    }
+
+    public boolean isPinned()
+    {
+        return (bits & PINNED) != 0;
+    }
+
+    /**
+     * Creates a full {@link Message} view of this message.
+     * <br>The author and channel are resolved from the current cache of the provided JDA instance.
+     *
+     * @param  api
+     *         The JDA instance
+     *
+     * @throws IllegalArgumentException
+     *         If the message type is {@link MessageType#UNKNOWN UNKNOWN}, like {@link EntityBuilder#createMessage(DataObject)}
+     *
+     * @return The message, or {@code null} if its channel is no longer cached
+     */
+    @Nullable
+    public Message toMessage(@Nonnull JDAImpl api)
+    {
+        if (MessageType.fromId(type) == MessageType.UNKNOWN)
+            throw new IllegalArgumentException(EntityBuilder.UNKNOWN_MESSAGE_TYPE);
+        MessageChannel channel = api.getTextChannelById(channelId);
+        if (channel == null)
+            channel = api.getPrivateChannelById(channelId);
+        if (channel == null)
+            channel = api.getFakePrivateChannelMap().get(channelId);
+        if (channel == null)
+            return null;
+
+        EntityBuilder builder = api.getEntityBuilder();
+        Member member = null;
+        User user;
+        if (channel instanceof TextChannel)
+        {
+            member = ((TextChannel) channel).getGuild().getMemberById(authorId);
+            user = member != null ? member.getUser() : api.getUserById(authorId);
+        }
+        else if (authorId == api.getSelfUser().getIdLong())
+        {
+            user = api.getSelfUser();
+        }
+        else
+        {
+            user = ((PrivateChannel) channel).getUser();
+        }
+        if (user == null)
+            user = builder.createFakeUser(decode(author), false);
+
+        List<MessageEmbed> embeds = Collections.emptyList();
+        List<Message.Attachment> attachments = Collections.emptyList();
+        List<MessageReaction> reactions = Collections.emptyList();
+        MessageActivity activity = null;
+        if (extra != null)
+        {
+            DataObject json = decode(extra);
+            if (json.hasKey("embeds"))
+                embeds = map(json.getArray("embeds"), builder::createMessageEmbed);
+            if (json.hasKey("attachments"))
+                attachments = map(json.getArray("attachments"), builder::createMessageAttachment);
+            if (json.hasKey("reactions"))
+            {
+                MessageChannel chan = channel;
+                reactions = map(json.getArray("reactions"), obj -> builder.createMessageReaction(chan, id, obj));
+            }
+            if (json.hasKey("activity"))
+                activity = EntityBuilder.createMessageActivity(json);
+        }
+
+        MessageType messageType = MessageType.fromId(type);
+        TLongHashSet users = new TLongHashSet(mentionedUsers);
+        TLongHashSet roles = new TLongHashSet(mentionedRoles);
+        String contentRaw = getContentRaw();
+        boolean webhook = (bits & WEBHOOK) != 0;
+        boolean everyone = (bits & MENTIONS_EVERYONE) != 0;
+        boolean tts = (bits & TTS) != 0;
+        if (messageType == MessageType.DEFAULT)
+        {
+            return new ReceivedMessage(id, channel, messageType, webhook, everyone, users, roles, tts, isPinned(),
+                contentRaw, nonce, user, member, activity, editedTime, reactions, attachments, embeds, flags);
+        }
+        return new SystemMessage(id, channel, messageType, webhook, everyone, users, roles, tts, isPinned(),
+            contentRaw, nonce, user, member, activity, editedTime, reactions, attachments, embeds, flags);
+    }
+
+    private static boolean isSameEmoji(DataObject first, DataObject second)
+    {
+        // custom emotes are identified by id, their name can change
+        long id = first.getUnsignedLong("id", 0L);
+        if (id != 0 || !second.isNull("id"))
+            return id == second.getUnsignedLong("id", 0L);
+        return first.getString("name", "").equals(second.getString("name", ""));
+    }
+
+    private static long[] toIds(DataArray array, boolean objects)
+    {
+        if (array == null || array.length() == 0)
+            return EMPTY;
+        long[] ids = new long[array.length()];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = objects ? array.getObject(i).getLong("id") : array.getLong(i);
+        return ids;
+    }
+
+    private static <T> List<T> map(DataArray array, Function<DataObject, T> mapper)
+    {
+        List<T> list = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++)
+            list.add(mapper.apply(array.getObject(i)));
+        return list;
+    }
+
+    private static byte[] encode(DataObject json)
+    {
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static DataObject decode(byte[] json)
+    {
+        return DataObject.fromJson(new String(json, StandardCharsets.UTF_8));
+    }
+}
@@ -17,6 +17,7 @@
 package net.dv8tion.jda.internal.entities;
 
 import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import gnu.trove.set.TLongSet;
 import gnu.trove.set.hash.TLongHashSet;
 import net.dv8tion.jda.api.AccountType;
@@ -48,6 +49,8 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.slf4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
@@ -114,6 +117,7 @@ public class EntityBuilder
                 .setDiscriminator(self.getString("discriminator"))
                 .setAvatarId(self.getString("avatar", null))
                 .setBot(self.getBoolean("bot"));
+        userView.updateIndex(selfUser.getIdLong());
 
         if (this.getJDA().getAccountType() == AccountType.CLIENT)
         {
@@ -155,6 +159,11 @@ public class EntityBuilder
     }
 
     public GuildImpl createGuild(long guildId, DataObject guildJson, TLongObjectMap<DataObject> members, int memberCount)
+    {
+        return createGuild(guildId, guildJson, members, memberCount, false);
+    }
+
+    public GuildImpl createGuild(long guildId, DataObject guildJson, TLongObjectMap<DataObject> members, int memberCount, boolean lazy)
     {
         final GuildImpl guildObj = new GuildImpl(getJDA(), guildId);
         final String name = guildJson.getString("name", "");
@@ -164,15 +173,8 @@ public class EntityBuilder
         final String description = guildJson.getString("description", null);
         final String vanityCode = guildJson.getString("vanity_url_code", null);
         final String bannerId = guildJson.getString("banner", null);
-        final DataArray roleArray = guildJson.getArray("roles");
-        final DataArray channelArray = guildJson.getArray("channels");
-        final DataArray emotesArray = guildJson.getArray("emojis");
-        final DataArray voiceStateArray = guildJson.getArray("voice_states");
         final Optional<DataArray> featuresArray = guildJson.optArray("features");
-        final Optional<DataArray> presencesArray = guildJson.optArray("presences");
         final long ownerId = guildJson.getUnsignedLong("owner_id", 0L);
-        final long afkChannelId = guildJson.getUnsignedLong("afk_channel_id", 0L);
-        final long systemChannelId = guildJson.getUnsignedLong("system_channel_id", 0L);
         final int boostCount = guildJson.getInt("premium_subscription_count", 0);
         final int boostTier = guildJson.getInt("premium_tier", 0);
         final int maxMembers = guildJson.getInt("max_members", 0);
@@ -215,6 +217,62 @@ public class EntityBuilder
                          .collect(Collectors.toSet())
         ).orElse(Collections.emptySet()));
 
+        if (lazy)
+        {
+            // Keep the entities as compact json until the guild is accessed, see GuildImpl#hydrate
+            DataArray channelArray = guildJson.getArray("channels");
+            DataArray memberArray = DataArray.empty();
+            for (DataObject memberJson : members.valueCollection())
+                memberArray.add(memberJson);
+            DataObject payload = DataObject.empty()
+                .put("roles", guildJson.getArray("roles"))
+                .put("channels", channelArray)
+                .put("emojis", guildJson.getArray("emojis"))
+                .put("voice_states", guildJson.getArray("voice_states"))
+                .put("presences", guildJson.optArray("presences").orElseGet(DataArray::empty))
+                .put("members", memberArray)
+                .put("owner_id", ownerId)
+                .put("afk_channel_id", guildJson.getUnsignedLong("afk_channel_id", 0L))
+                .put("system_channel_id", guildJson.getUnsignedLong("system_channel_id", 0L));
+            long[] channelIds = new long[channelArray.length()];
+            for (int i = 0; i < channelIds.length; i++)
+            {
+                channelIds[i] = channelArray.getObject(i).getLong("id");
+                getJDA().indexChannel(channelIds[i]);
+            }
+            guildObj.setLazyPayload(payload.toString().getBytes(StandardCharsets.UTF_8), channelIds);
+            getJDA().addLazyGuild(guildId, channelIds);
+            return guildObj;
+        }
+
+        createGuildEntities(guildObj, guildJson, members);
+        return guildObj;
+    }
+
+    public void hydrateGuild(GuildImpl guildObj, byte[] payload)
+    {
+        DataObject guildJson = DataObject.fromJson(new ByteArrayInputStream(payload));
+        DataArray memberArray = guildJson.getArray("members");
+        TLongObjectMap<DataObject> members = new TLongObjectHashMap<>(memberArray.length());
+        for (int i = 0; i < memberArray.length(); i++)
+        {
+            DataObject memberJson = memberArray.getObject(i);
+            members.put(memberJson.getObject("user").getLong("id"), memberJson);
+        }
+        createGuildEntities(guildObj, guildJson, members);
+    }
+
+    private void createGuildEntities(GuildImpl guildObj, DataObject guildJson, TLongObjectMap<DataObject> members)
+    {
+        final long guildId = guildObj.getIdLong();
+        final DataArray roleArray = guildJson.getArray("roles");
+        final DataArray channelArray = guildJson.getArray("channels");
+        final DataArray emotesArray = guildJson.getArray("emojis");
+        final DataArray voiceStateArray = guildJson.getArray("voice_states");
+        final Optional<DataArray> presencesArray = guildJson.optArray("presences");
+        final long afkChannelId = guildJson.getUnsignedLong("afk_channel_id", 0L);
+        final long systemChannelId = guildJson.getUnsignedLong("system_channel_id", 0L);
+
         SnowflakeCacheViewImpl<Role> roleView = guildObj.getRolesView();
         try (UnlockHook hook = roleView.writeLock())
         {
@@ -276,8 +334,6 @@ public class EntityBuilder
                     createPresence(member, presence);
             }
         });
-
-        return guildObj;
     }
 
     private void createGuildChannel(GuildImpl guildObj, DataObject channelData)
@@ -398,6 +454,7 @@ public class EntityBuilder
                    .setDiscriminator(user.get("discriminator").toString())
                    .setAvatarId(user.getString("avatar", null))
                    .setBot(user.getBoolean("bot"));
+            getJDA().getUsersView().updateIndex(id);
         }
         else if (!userObj.isFake())
         {
@@ -423,6 +480,7 @@ public class EntityBuilder
         if (!oldName.equals(newName))
         {
             userObj.setName(newName);
+            jda.getUsersView().updateIndex(userObj.getIdLong());
             jda.handleEvent(
                 new UserUpdateNameEvent(
                     jda, responseNumber,
@@ -549,6 +607,7 @@ public class EntityBuilder
                 member.getRoleSet().add(r);
             }
         }
+        guild.getMembersView().updateIndex(member.getIdLong());
     }
 
     public void updateMember(GuildImpl guild, MemberImpl member, DataObject content, List<Role> newRoles)
@@ -558,6 +617,7 @@ public class EntityBuilder
         if (newRoles != null)
         {
             updateMemberRoles(member, newRoles, responseNumber);
+            guild.getMembersView().updateIndex(member.getIdLong());
         }
         if (content.hasKey("nick"))
         {
@@ -566,6 +626,7 @@ public class EntityBuilder
             if (!Objects.equals(oldNick, newNick))
             {
                 member.setNickname(newNick);
+                guild.getMembersView().updateIndex(member.getIdLong());
                 getJDA().handleEvent(
                     new GuildMemberUpdateNicknameEvent(
                         getJDA(), responseNumber,
@@ -823,6 +884,7 @@ public class EntityBuilder
                 guildCategoryView.getMap().put(id, channel);
                 playbackCache = categoryView.getMap().put(id, channel) == null;
             }
+            getJDA().indexChannel(id);
         }
 
         if (!json.isNull("permission_overwrites"))
@@ -834,6 +896,8 @@ public class EntityBuilder
         channel
             .setName(json.getString("name"))
             .setPosition(json.getInt("position"));
+        channel.getGuild().getCategoriesView().updateIndex(id);
+        getJDA().getCategoriesView().updateIndex(id);
         if (playbackCache)
             getJDA().getEventCache().playbackCache(EventCache.Type.CHANNEL, id);
         return channel;
@@ -864,6 +928,7 @@ public class EntityBuilder
                 guildStoreView.getMap().put(id, channel);
                 playbackCache = storeView.getMap().put(id, channel) == null;
             }
+            getJDA().indexChannel(id);
         }
 
         if (!json.isNull("permission_overwrites"))
@@ -876,6 +941,8 @@ public class EntityBuilder
             .setParent(json.getLong("parent_id", 0))
             .setName(json.getString("name"))
             .setPosition(json.getInt("position"));
+        channel.getGuild().getStoreChannelView().updateIndex(id);
+        getJDA().getStoreChannelsView().updateIndex(id);
         if (playbackCache)
             getJDA().getEventCache().playbackCache(EventCache.Type.CHANNEL, id);
         return channel;
@@ -907,6 +974,7 @@ public class EntityBuilder
                 guildTextView.getMap().put(id, channel);
                 playbackCache = textView.getMap().put(id, channel) == null;
             }
+            getJDA().indexChannel(id);
         }
 
         if (!json.isNull("permission_overwrites"))
@@ -923,6 +991,8 @@ public class EntityBuilder
             .setPosition(json.getInt("position"))
             .setNSFW(json.getBoolean("nsfw"))
             .setSlowmode(json.getInt("rate_limit_per_user", 0));
+        channel.getGuild().getTextChannelsView().updateIndex(id);
+        getJDA().getTextChannelsView().updateIndex(id);
         if (playbackCache)
             getJDA().getEventCache().playbackCache(EventCache.Type.CHANNEL, id);
         return channel;
@@ -953,6 +1023,7 @@ public class EntityBuilder
                 guildVoiceView.getMap().put(id, channel);
                 playbackCache = voiceView.getMap().put(id, channel) == null;
             }
+            getJDA().indexChannel(id);
         }
 
         if (!json.isNull("permission_overwrites"))
@@ -967,6 +1038,8 @@ public class EntityBuilder
             .setPosition(json.getInt("position"))
             .setUserLimit(json.getInt("user_limit"))
             .setBitrate(json.getInt("bitrate"));
+        channel.getGuild().getVoiceChannelsView().updateIndex(id);
+        getJDA().getVoiceChannelsView().updateIndex(id);
         if (playbackCache)
             getJDA().getEventCache().playbackCache(EventCache.Type.CHANNEL, id);
         return channel;
@@ -1066,6 +1139,7 @@ public class EntityBuilder
             .setHoisted(roleJson.getBoolean("hoist"))
             .setColor(color == 0 ? Role.DEFAULT_COLOR_RAW : color)
             .setMentionable(roleJson.getBoolean("mentionable"));
+        guild.getRolesView().updateIndex(id);
         if (playbackCache)
             getJDA().getEventCache().playbackCache(EventCache.Type.ROLE, id);
         return role;
@@ -1230,7 +1304,7 @@ public class EntityBuilder
         return message;
     }
 
-    private static MessageActivity createMessageActivity(DataObject jsonObject)
+    static MessageActivity createMessageActivity(DataObject jsonObject)
     {
         DataObject activityData = jsonObject.getObject("activity");
         final MessageActivity.ActivityType activityType = MessageActivity.ActivityType.fromId(activityData.getInt("type"));
@@ -93,6 +93,12 @@ public class GuildImpl implements Guild
     private final ReentrantLock mngLock = new ReentrantLock();
     private volatile GuildManager manager;
 
+    // compact json of roles, channels, emotes and members which have not been created yet
+    private final Object hydrateLock = new Object();
+    private volatile byte[] lazyPayload;
+    private long[] lazyChannels;
+    private volatile Thread hydratingThread;
+
     private Member owner;
     private String name;
     private String iconId, splashId;
@@ -120,6 +126,16 @@ public class GuildImpl implements Guild
     {
         this.id = id;
         this.api = api;
+        if (api.isNameIndex())
+        {
+            categoryCache.enableIndex();
+            voiceChannelCache.enableIndex();
+            storeChannelCache.enableIndex();
+            textChannelCache.enableIndex();
+            roleCache.enableIndex();
+            emoteCache.enableIndex();
+            memberCache.enableIndex(api.getUsersView());
+        }
     }
 
     @Nonnull
@@ -252,7 +268,7 @@ public class GuildImpl implements Guild
     @SuppressWarnings("ConstantConditions") // can't be null here
     public List<Member> getBoosters()
     {
-        return memberCache.applyStream((members) ->
+        return getMembersView().applyStream((members) ->
             members.filter(m -> m.getTimeBoosted() != null)
                    .sorted(Comparator.comparing(Member::getTimeBoosted))
                    .collect(Collectors.toList()));
@@ -273,12 +289,14 @@ public class GuildImpl implements Guild
     @Override
     public VoiceChannel getAfkChannel()
     {
+        hydrate();
         return afkChannel;
     }
 
     @Override
     public TextChannel getSystemChannel()
     {
+        hydrate();
         return systemChannel;
     }
 
@@ -316,6 +334,7 @@ public class GuildImpl implements Guild
     @Override
     public Member getOwner()
     {
+        hydrate();
         return owner;
     }
 
@@ -342,7 +361,7 @@ public class GuildImpl implements Guild
     @Override
     public boolean isMember(@Nonnull User user)
     {
-        return memberCache.get(user.getIdLong()) != null;
+        return getMembersView().get(user.getIdLong()) != null;
     }
 
     @Nonnull
@@ -366,6 +385,7 @@ public class GuildImpl implements Guild
     @Override
     public MemberCacheView getMemberCache()
     {
+        hydrate();
         return memberCache;
     }
 
@@ -373,6 +393,7 @@ public class GuildImpl implements Guild
     @Override
     public SortedSnowflakeCacheView<Category> getCategoryCache()
     {
+        hydrate();
         return categoryCache;
     }
 
@@ -380,6 +401,7 @@ public class GuildImpl implements Guild
     @Override
     public SortedSnowflakeCacheView<StoreChannel> getStoreChannelCache()
     {
+        hydrate();
         return storeChannelCache;
     }
 
@@ -387,6 +409,7 @@ public class GuildImpl implements Guild
     @Override
     public SortedSnowflakeCacheView<TextChannel> getTextChannelCache()
     {
+        hydrate();
         return textChannelCache;
     }
 
@@ -394,6 +417,7 @@ public class GuildImpl implements Guild
     @Override
     public SortedSnowflakeCacheView<VoiceChannel> getVoiceChannelCache()
     {
+        hydrate();
         return voiceChannelCache;
     }
 
@@ -401,6 +425,7 @@ public class GuildImpl implements Guild
     @Override
     public SortedSnowflakeCacheView<Role> getRoleCache()
     {
+        hydrate();
         return roleCache;
     }
 
@@ -408,6 +433,7 @@ public class GuildImpl implements Guild
     @Override
     public SnowflakeCacheView<Emote> getEmoteCache()
     {
+        hydrate();
         return emoteCache;
     }
 
@@ -583,6 +609,7 @@ public class GuildImpl implements Guild
     @Override
     public Role getPublicRole()
     {
+        hydrate();
         return publicRole;
     }
 
@@ -1443,36 +1470,43 @@ public class GuildImpl implements Guild
 
     public SortedSnowflakeCacheViewImpl<Category> getCategoriesView()
     {
+        hydrate();
         return categoryCache;
     }
 
     public SortedSnowflakeCacheViewImpl<StoreChannel> getStoreChannelView()
     {
+        hydrate();
         return storeChannelCache;
     }
 
     public SortedSnowflakeCacheViewImpl<TextChannel> getTextChannelsView()
     {
+        hydrate();
         return textChannelCache;
     }
 
     public SortedSnowflakeCacheViewImpl<VoiceChannel> getVoiceChannelsView()
     {
+        hydrate();
         return voiceChannelCache;
     }
 
     public SortedSnowflakeCacheViewImpl<Role> getRolesView()
     {
+        hydrate();
         return roleCache;
     }
 
     public SnowflakeCacheViewImpl<Emote> getEmotesView()
     {
+        hydrate();
         return emoteCache;
     }
 
     public MemberCacheViewImpl getMembersView()
     {
+        hydrate();
         return memberCache;
     }
 
@@ -1575,6 +1609,67 @@ public class GuildImpl implements Guild
         acknowledgeMembers();
     }
 
+    public boolean isHydrated()
+    {
+        return lazyPayload == null;
+    }
+
+    public void setLazyPayload(byte[] payload, long[] channelIds)
+    {
+        this.lazyChannels = channelIds;
+        this.lazyPayload = payload;
+    }
+
+    /**
+     * Creates the roles, channels, emotes and members of a lazily loaded guild.
+     * <br>This is called on first access of any of these caches, the payload is kept until then.
+     * If loading fails, the payload is kept as well and the next access tries again.
+     *
+     * <p>The user and channel caches of JDA load all lazy guilds before they take their read lock.
+     * If this guild is still not loaded while the current thread holds one of these locks, for instance because
+     * it was created during the iteration, loading is deferred to the next access outside of the lock.
+     */
+    public void hydrate()
+    {
+        // hydrating already calls back into the cache getters
+        if (lazyPayload == null || hydratingThread == Thread.currentThread())
+            return;
+        // the read lock cannot be upgraded to the write lock we need and waiting for the hydrate lock
+        // could deadlock with the thread which is loading this guild
+        if (api.isLazyLoadingBlocked())
+        {
+            JDALogger.getLog(Guild.class).debug("Deferring load of lazy guild {} while a cache of JDA is read-locked", id);
+            return;
+        }
+        synchronized (hydrateLock)
+        {
+            byte[] payload = lazyPayload;
+            if (payload == null)
+                return;
+            hydratingThread = Thread.currentThread();
+            try
+            {
+                JDALogger.getLog(Guild.class).debug("Loading entities of lazy guild {}", id);
+                api.getEntityBuilder().hydrateGuild(this, payload);
+                api.removeLazyGuild(id, lazyChannels);
+                lazyChannels = null;
+                lazyPayload = null;
+            }
+            catch (Exception e)
+            {
+                JDALogger.getLog(Guild.class).error("Failed to load entities of lazy guild {}, trying again on next access", id, e);
+                return;
+            }
+            finally
+            {
+                hydratingThread = null;
+            }
+        }
+
+        if (api.chunkGuild(id) && memberCache.size() < memberCount)
+            api.getGuildSetupController().requestChunks(id, memberCount);
+    }
+
     public void acknowledgeMembers()
     {
         if (memberCache.size() == memberCount && !chunkingCallback.isDone())
@@ -45,7 +45,6 @@ import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.function.Function;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ReceivedMessage extends AbstractMessage
 {
@@ -79,6 +78,7 @@ public class ReceivedMessage extends AbstractMessage
     protected List<Role> roleMentions = null;
     protected List<TextChannel> channelMentions = null;
     protected List<String> invites = null;
+    protected List<MentionToken> mentionTokens = null;
 
     public ReceivedMessage(
         long id, MessageChannel channel, MessageType type,
@@ -275,9 +275,9 @@ public class ReceivedMessage extends AbstractMessage
         return String.format("https://discordapp.com/channels/%s/%s/%s", isFromGuild() ? getGuild().getId() : "@me", getChannel().getId(), getId());
     }
 
-    private User matchUser(Matcher matcher)
+    private User matchUser(MentionToken token)
     {
-        long userId = MiscUtil.parseSnowflake(matcher.group(1));
+        long userId = token.id;
         if (!mentionedUsers.contains(userId))
             return null;
         User user = getJDA().getUserById(userId);
@@ -304,10 +304,9 @@ public class ReceivedMessage extends AbstractMessage
         return processMentions(MentionType.USER, new HashBag<>(), false, this::matchUser);
     }
 
-    private TextChannel matchTextChannel(Matcher matcher)
+    private TextChannel matchTextChannel(MentionToken token)
     {
-        long channelId = MiscUtil.parseSnowflake(matcher.group(1));
-        return getJDA().getTextChannelById(channelId);
+        return getJDA().getTextChannelById(token.id);
     }
 
     @Nonnull
@@ -326,9 +325,9 @@ public class ReceivedMessage extends AbstractMessage
         return processMentions(MentionType.CHANNEL, new HashBag<>(), false, this::matchTextChannel);
     }
 
-    private Role matchRole(Matcher matcher)
+    private Role matchRole(MentionToken token)
     {
-        long roleId = MiscUtil.parseSnowflake(matcher.group(1));
+        long roleId = token.id;
         if (!mentionedRoles.contains(roleId))
             return null;
         if (getChannelType().isGuild())
@@ -578,29 +577,47 @@ public class ReceivedMessage extends AbstractMessage
         {
             if (altContent != null)
                 return altContent;
-            String tmp = content;
-            for (User user : getMentionedUsers())
+            // Replace all mentions in one pass over the tokens, the resolved names are never scanned again
+            StringBuilder builder = new StringBuilder(content.length());
+            int last = 0;
+            for (MentionToken token : getMentionTokens())
             {
-                String name;
-                if (isFromType(ChannelType.TEXT) && getGuild().isMember(user))
-                    name = getGuild().getMember(user).getEffectiveName();
-                else
-                    name = user.getName();
-                tmp = tmp.replaceAll("<@!?" + Pattern.quote(user.getId()) + '>', '@' + Matcher.quoteReplacement(name));
+                String replacement = getDisplayName(token);
+                if (replacement == null)
+                    continue;
+                builder.append(content, last, token.start).append(replacement);
+                last = token.end;
             }
-            for (Emote emote : getEmotes())
+            return altContent = builder.append(content, last, content.length()).toString();
+        }
+    }
+
+    private String getDisplayName(MentionToken token)
+    {
+        switch (token.type)
+        {
+            case USER:
             {
-                tmp = tmp.replace(emote.getAsMention(), ":" + emote.getName() + ":");
+                User user = matchUser(token);
+                if (user == null)
+                    return null;
+                Member member = isFromType(ChannelType.TEXT) ? getGuild().getMember(user) : null;
+                return '@' + (member != null ? member.getEffectiveName() : user.getName());
             }
-            for (TextChannel mentionedChannel : getMentionedChannels())
+            case EMOTE:
+                return ':' + matchEmote(token).getName() + ':';
+            case CHANNEL:
             {
-                tmp = tmp.replace(mentionedChannel.getAsMention(), '#' + mentionedChannel.getName());
+                TextChannel channel = matchTextChannel(token);
+                return channel == null ? null : '#' + channel.getName();
             }
-            for (Role mentionedRole : getMentionedRoles())
+            case ROLE:
             {
-                tmp = tmp.replace(mentionedRole.getAsMention(), '@' + mentionedRole.getName());
+                Role role = matchRole(token);
+                return role == null ? null : '@' + role.getName();
             }
-            return altContent = tmp;
+            default:
+                return null;
         }
     }
 
@@ -700,14 +717,11 @@ public class ReceivedMessage extends AbstractMessage
         return embeds;
     }
 
-    private Emote matchEmote(Matcher m)
+    private Emote matchEmote(MentionToken token)
     {
-        long emoteId = MiscUtil.parseSnowflake(m.group(2));
-        String name = m.group(1);
-        boolean animated = m.group(0).startsWith("<a:");
-        Emote emote = getJDA().getEmoteById(emoteId);
+        Emote emote = getJDA().getEmoteById(token.id);
         if (emote == null)
-            emote = new EmoteImpl(emoteId, api).setName(name).setAnimated(animated);
+            emote = new EmoteImpl(token.id, api).setName(token.name).setAnimated(token.animated);
         return emote;
     }
 
@@ -889,21 +903,126 @@ public class ReceivedMessage extends AbstractMessage
         this.memberMentions = Collections.unmodifiableList(members);
     }
 
-    private <T, C extends Collection<T>> C processMentions(MentionType type, C collection, boolean distinct, Function<Matcher, T> map)
+    private <T, C extends Collection<T>> C processMentions(MentionType type, C collection, boolean distinct, Function<MentionToken, T> map)
     {
-        Matcher matcher = type.getPattern().matcher(getContentRaw());
-        while (matcher.find())
+        for (MentionToken token : getMentionTokens())
         {
-            try
+            if (token.type != type)
+                continue;
+            T elem = map.apply(token);
+            if (elem == null || (distinct && collection.contains(elem)))
+                continue;
+            collection.add(elem);
+        }
+        return collection;
+    }
+
+    private List<MentionToken> getMentionTokens()
+    {
+        if (mentionTokens != null)
+            return mentionTokens;
+        synchronized (mutex)
+        {
+            if (mentionTokens != null)
+                return mentionTokens;
+            return mentionTokens = tokenizeMentions(content);
+        }
+    }
+
+    /**
+     * Finds the same mentions as the USER, ROLE, CHANNEL, and EMOTE patterns of {@link MentionType} in a single scan.
+     * <br>Mentions with an id which is not a valid snowflake are skipped.
+     *
+     * @param  content
+     *         The raw content of a message
+     *
+     * @return The mentions, ordered by their position in the content
+     */
+    public static List<MentionToken> tokenizeMentions(String content)
+    {
+        List<MentionToken> tokens = new ArrayList<>();
+        int length = content.length();
+        int i = content.indexOf('<');
+        while (i >= 0 && i < length - 1)
+        {
+            MentionToken token = null;
+            char c = content.charAt(i + 1);
+            if (c == '@')
             {
-                T elem = map.apply(matcher);
-                if (elem == null || (distinct && collection.contains(elem)))
-                    continue;
-                collection.add(elem);
+                int offset = i + 2;
+                MentionType type = MentionType.USER;
+                if (offset < length && content.charAt(offset) == '!')
+                    offset++;
+                else if (offset < length && content.charAt(offset) == '&')
+                {
+                    type = MentionType.ROLE;
+                    offset++;
+                }
+                token = readSnowflake(content, i, offset, type, null, false);
+            }
+            else if (c == '#')
+            {
+                token = readSnowflake(content, i, i + 2, MentionType.CHANNEL, null, false);
+            }
+            else if (c == ':' || (c == 'a' && i + 2 < length && content.charAt(i + 2) == ':'))
+            {
+                boolean animated = c == 'a';
+                int nameStart = animated ? i + 3 : i + 2;
+                int nameEnd = nameStart;
+                while (nameEnd < length && isEmoteNameChar(content.charAt(nameEnd)))
+                    nameEnd++;
+                if (nameEnd > nameStart && nameEnd < length && content.charAt(nameEnd) == ':')
+                    token = readSnowflake(content, i, nameEnd + 1, MentionType.EMOTE, content.substring(nameStart, nameEnd), animated);
             }
-            catch (NumberFormatException ignored) {}
+
+            if (token != null)
+                tokens.add(token);
+            i = content.indexOf('<', token == null ? i + 1 : token.end);
+        }
+        return tokens.isEmpty() ? Collections.emptyList() : tokens;
+    }
+
+    private static MentionToken readSnowflake(String content, int start, int offset, MentionType type, String name, boolean animated)
+    {
+        int end = offset;
+        while (end < content.length() && content.charAt(end) >= '0' && content.charAt(end) <= '9')
+            end++;
+        if (end == offset || end == content.length() || content.charAt(end) != '>')
+            return null;
+        try
+        {
+            long id = MiscUtil.parseSnowflake(content.substring(offset, end));
+            return new MentionToken(type, start, end + 1, id, name, animated);
+        }
+        catch (NumberFormatException ignored)
+        {
+            return null;
+        }
+    }
+
+    private static boolean isEmoteNameChar(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    public static class MentionToken
+    {
+        public final MentionType type;
+        public final int start;
+        public final int end;
+        public final long id;
+        public final String name;
+        public final boolean animated;
+
+        public MentionToken(MentionType type, int start, int end, long id, String name, boolean animated)
+        {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.name = name;
+            this.animated = animated;
         }
-        return collection;
     }
 
     private static class FormatToken
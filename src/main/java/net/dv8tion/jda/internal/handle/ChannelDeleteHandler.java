@@ -51,6 +51,10 @@ public class ChannelDeleteHandler extends SocketHandler
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         final long channelId = content.getLong("id");
+        if (type.isGuild())
+            getJDA().unindexChannel(channelId);
+        if (getJDA().getMessageCache() != null)
+            getJDA().getMessageCache().removeChannel(channelId);
 
         switch (type)
         {
@@ -83,6 +83,8 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldName, name))
                 {
                     storeChannel.setName(name);
+                    storeChannel.getGuild().getStoreChannelView().updateIndex(channelId);
+                    getJDA().getStoreChannelsView().updateIndex(channelId);
                     getJDA().handleEvent(
                         new StoreChannelUpdateNameEvent(
                             getJDA(), responseNumber,
@@ -126,6 +128,8 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldName, name))
                 {
                     textChannel.setName(name);
+                    textChannel.getGuild().getTextChannelsView().updateIndex(channelId);
+                    getJDA().getTextChannelsView().updateIndex(channelId);
                     getJDA().handleEvent(
                             new TextChannelUpdateNameEvent(
                                     getJDA(), responseNumber,
@@ -207,6 +211,8 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldName, name))
                 {
                     voiceChannel.setName(name);
+                    voiceChannel.getGuild().getVoiceChannelsView().updateIndex(channelId);
+                    getJDA().getVoiceChannelsView().updateIndex(channelId);
                     getJDA().handleEvent(
                             new VoiceChannelUpdateNameEvent(
                                     getJDA(), responseNumber,
@@ -272,6 +278,8 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldName, name))
                 {
                     category.setName(name);
+                    category.getGuild().getCategoriesView().updateIndex(channelId);
+                    getJDA().getCategoriesView().updateIndex(channelId);
                     getJDA().handleEvent(
                             new CategoryUpdateNameEvent(
                                 getJDA(), responseNumber,
@@ -15,7 +15,6 @@
  */
 package net.dv8tion.jda.internal.handle;
 
-import gnu.trove.iterator.TLongObjectIterator;
 import gnu.trove.map.TLongObjectMap;
 import gnu.trove.map.hash.TLongObjectHashMap;
 import net.dv8tion.jda.api.utils.data.DataObject;
@@ -23,114 +22,248 @@ import net.dv8tion.jda.internal.utils.CacheConsumer;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import org.slf4j.Logger;
 
+import java.util.ArrayDeque;
 import java.util.EnumMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class EventCache
 {
     public static final Logger LOG = JDALogger.getLog(EventCache.class);
     /** Sequence difference after which events will be removed from cache */
     public static final long TIMEOUT_AMOUNT = 100;
-    private final EnumMap<Type, TLongObjectMap<List<CacheNode>>> eventCache = new EnumMap<>(Type.class);
+    /** Default maximum amount of cached events */
+    public static final int DEFAULT_LIMIT = 10000;
+
+    // All locked sections are O(1) (amortized), callbacks are executed without holding the lock
+    private final ReentrantLock lock = new ReentrantLock();
+    // All cached events in the order they were cached, this is ordered by responseTotal so expiry only has to look at the head.
+    // Events which were replayed or cleared stay in here as removed nodes until they reach the head.
+    private final ArrayDeque<CacheNode> timeline = new ArrayDeque<>();
+    private final EnumMap<Type, TLongObjectMap<ArrayDeque<CacheNode>>> eventCache = new EnumMap<>(Type.class);
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLongArray cachedCount = new AtomicLongArray(Type.values().length);
+    private final AtomicLongArray replayedCount = new AtomicLongArray(Type.values().length);
+    private final AtomicLongArray droppedCount = new AtomicLongArray(Type.values().length);
     private final boolean cacheUsers;
+    private final int limit;
+    private boolean printedLimitWarning = false;
 
     public EventCache(boolean cacheUsers)
+    {
+        this(cacheUsers, DEFAULT_LIMIT);
+    }
+
+    public EventCache(boolean cacheUsers, int limit)
     {
         this.cacheUsers = cacheUsers;
+        this.limit = limit;
     }
 
-    public synchronized void timeout(final long responseTotal)
+    public void timeout(final long responseTotal)
     {
-        if (eventCache.isEmpty())
+        if (size.get() == 0)
             return;
-        AtomicInteger count = new AtomicInteger();
-        eventCache.forEach((type, map) ->
+        int amount = 0;
+        lock.lock();
+        try
         {
-            if (map.isEmpty())
-                return;
-            TLongObjectIterator<List<CacheNode>> iterator = map.iterator();
-            while (iterator.hasNext())
+            CacheNode node;
+            //Remove when this node is more than 100 events ago
+            while ((node = timeline.peekFirst()) != null && (node.removed || responseTotal - node.responseTotal > TIMEOUT_AMOUNT))
             {
-                iterator.advance();
-                long triggerId = iterator.key();
-                List<CacheNode> cache = iterator.value();
-                //Remove when this node is more than 100 events ago
-                cache.removeIf(node ->
-                {
-                    boolean remove = responseTotal - node.responseTotal > TIMEOUT_AMOUNT;
-                    if (remove)
-                    {
-                        count.incrementAndGet();
-                        LOG.trace("Removing type {}/{} from event cache with payload {}", type, triggerId, node.event);
-                    }
-                    return remove;
-                });
-                if (cache.isEmpty())
-                    iterator.remove();
+                timeline.pollFirst();
+                if (node.removed)
+                    continue;
+                LOG.trace("Removing type {}/{} from event cache with payload {}", node.type, node.triggerId, node.event);
+                drop(node);
+                amount++;
             }
-        });
-        int amount = count.get();
+        }
+        finally
+        {
+            lock.unlock();
+        }
         if (amount > 0)
             LOG.debug("Removed {} events from cache that were too old to be recycled", amount);
     }
 
-    public synchronized void cache(Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer handler)
+    public void cache(Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer handler)
     {
         if (type == Type.USER && !cacheUsers)
             return;
-        TLongObjectMap<List<CacheNode>> triggerCache =
-                eventCache.computeIfAbsent(type, k -> new TLongObjectHashMap<>());
+        CacheNode node = new CacheNode(type, triggerId, responseTotal, event, handler);
+        boolean warn = false;
+        lock.lock();
+        try
+        {
+            TLongObjectMap<ArrayDeque<CacheNode>> triggerCache =
+                    eventCache.computeIfAbsent(type, k -> new TLongObjectHashMap<>());
 
-        List<CacheNode> items = triggerCache.get(triggerId);
-        if (items == null)
+            ArrayDeque<CacheNode> items = triggerCache.get(triggerId);
+            if (items == null)
+            {
+                items = new ArrayDeque<>(4);
+                triggerCache.put(triggerId, items);
+            }
+
+            items.add(node);
+            timeline.add(node);
+            size.incrementAndGet();
+            cachedCount.incrementAndGet(type.ordinal());
+
+            // Evict the oldest events when the limit is exceeded
+            while (size.get() > limit)
+            {
+                CacheNode oldest = timeline.pollFirst();
+                if (oldest == null)
+                    break;
+                if (oldest.removed)
+                    continue;
+                drop(oldest);
+                warn = !printedLimitWarning;
+                printedLimitWarning = true;
+            }
+        }
+        finally
         {
-            items = new LinkedList<>();
-            triggerCache.put(triggerId, items);
+            lock.unlock();
         }
-
-        items.add(new CacheNode(responseTotal, event, handler));
+        if (warn)
+            LOG.warn("The event cache reached its limit of {} events, the oldest events are dropped. This is only reported once.", limit);
     }
 
-    public synchronized void playbackCache(Type type, long triggerId)
+    public void playbackCache(Type type, long triggerId)
     {
-        TLongObjectMap<List<CacheNode>> typeCache = this.eventCache.get(type);
-        if (typeCache == null)
+        ArrayDeque<CacheNode> items = remove(type, triggerId);
+        if (items == null)
             return;
+        replayedCount.addAndGet(type.ordinal(), items.size());
+        EventCache.LOG.debug("Replaying {} events from the EventCache for type {} with id: {}",
+            items.size(), type, triggerId);
+        for (CacheNode item : items)
+            item.execute();
+    }
+
+    public int size()
+    {
+        return size.get();
+    }
 
-        List<CacheNode> items = typeCache.remove(triggerId);
-        if (items != null && !items.isEmpty())
+    public void clear()
+    {
+        lock.lock();
+        try
+        {
+            for (CacheNode node : timeline)
+            {
+                if (!node.removed)
+                    droppedCount.incrementAndGet(node.type.ordinal());
+                node.removed = true;
+            }
+            timeline.clear();
+            eventCache.clear();
+            size.set(0);
+            printedLimitWarning = false;
+        }
+        finally
         {
-            EventCache.LOG.debug("Replaying {} events from the EventCache for type {} with id: {}",
-                items.size(), type, triggerId);
-            for (CacheNode item : items)
-                item.execute();
+            lock.unlock();
         }
     }
 
-    public synchronized int size()
+    public void clear(Type type, long id)
     {
-        return (int) eventCache.values().stream()
-                .mapToLong(typeMap ->
-                    typeMap.valueCollection().stream().mapToLong(List::size).sum())
-                .sum();
+        ArrayDeque<CacheNode> events = remove(type, id);
+        if (events == null)
+            return;
+        droppedCount.addAndGet(type.ordinal(), events.size());
+        LOG.debug("Clearing cache for type {} with ID {} (Size: {})", type, id, events.size());
     }
 
-    public synchronized void clear()
+    /**
+     * The total amount of events of the provided type which have been added to this cache.
+     *
+     * @param  type
+     *         The cache type
+     *
+     * @return The amount of cached events
+     */
+    public long getCachedCount(Type type)
     {
-        eventCache.clear();
+        return cachedCount.get(type.ordinal());
     }
 
-    public synchronized void clear(Type type, long id)
+    /**
+     * The total amount of events of the provided type which have been replayed from this cache.
+     *
+     * @param  type
+     *         The cache type
+     *
+     * @return The amount of replayed events
+     */
+    public long getReplayedCount(Type type)
     {
-        TLongObjectMap<List<CacheNode>> typeCache = this.eventCache.get(type);
-        if (typeCache == null)
-            return;
+        return replayedCount.get(type.ordinal());
+    }
+
+    /**
+     * The total amount of events of the provided type which have been dropped without being replayed.
+     * <br>This includes events that timed out, events evicted due to the cache limit, and cleared events.
+     *
+     * @param  type
+     *         The cache type
+     *
+     * @return The amount of dropped events
+     */
+    public long getDroppedCount(Type type)
+    {
+        return droppedCount.get(type.ordinal());
+    }
 
-        List<CacheNode> events = typeCache.remove(id);
-        if (events != null)
-            LOG.debug("Clearing cache for type {} with ID {} (Size: {})", type, id, events.size());
+    private ArrayDeque<CacheNode> remove(Type type, long triggerId)
+    {
+        lock.lock();
+        try
+        {
+            TLongObjectMap<ArrayDeque<CacheNode>> typeCache = this.eventCache.get(type);
+            if (typeCache == null)
+                return null;
+            ArrayDeque<CacheNode> items = typeCache.remove(triggerId);
+            if (items == null || items.isEmpty())
+                return null;
+            // the nodes are removed from the timeline once they reach its head
+            for (CacheNode node : items)
+                node.removed = true;
+            // drop the removed nodes right away when nothing else is cached
+            if (size.addAndGet(-items.size()) == 0)
+                timeline.clear();
+            return items;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    // Removes a node that was taken from the head of the timeline, must hold the lock
+    private void drop(CacheNode node)
+    {
+        node.removed = true;
+        size.decrementAndGet();
+        droppedCount.incrementAndGet(node.type.ordinal());
+        TLongObjectMap<ArrayDeque<CacheNode>> typeCache = eventCache.get(node.type);
+        ArrayDeque<CacheNode> items = typeCache.get(node.triggerId);
+        if (items == null)
+            return;
+        // nodes are added to both queues in the same order, so this is usually the head
+        if (items.peekFirst() == node)
+            items.pollFirst();
+        else
+            items.remove(node);
+        if (items.isEmpty())
+            typeCache.remove(node.triggerId);
     }
 
     public enum Type
@@ -138,14 +271,19 @@ public class EventCache
         USER, MEMBER, GUILD, CHANNEL, ROLE, RELATIONSHIP, CALL
     }
 
-    private class CacheNode
+    private static class CacheNode
     {
+        private final Type type;
+        private final long triggerId;
         private final long responseTotal;
         private final DataObject event;
         private final CacheConsumer callback;
+        private boolean removed;
 
-        public CacheNode(long responseTotal, DataObject event, CacheConsumer callback)
+        public CacheNode(Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer callback)
         {
+            this.type = type;
+            this.triggerId = triggerId;
             this.responseTotal = responseTotal;
             this.event = event;
             this.callback = callback;
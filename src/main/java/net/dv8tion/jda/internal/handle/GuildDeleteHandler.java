@@ -74,22 +74,36 @@ public class GuildDeleteHandler extends SocketHandler
         try (UnlockHook hook = storeView.writeLock())
         {
             guild.getStoreChannelCache()
-                 .forEachUnordered(chan -> storeView.getMap().remove(chan.getIdLong()));
+                 .forEachUnordered(chan -> {
+                     storeView.getMap().remove(chan.getIdLong());
+                     getJDA().unindexChannel(chan.getIdLong());
+                 });
         }
         try (UnlockHook hook = textView.writeLock())
         {
             guild.getTextChannelCache()
-                 .forEachUnordered(chan -> textView.getMap().remove(chan.getIdLong()));
+                 .forEachUnordered(chan -> {
+                     textView.getMap().remove(chan.getIdLong());
+                     getJDA().unindexChannel(chan.getIdLong());
+                     if (getJDA().getMessageCache() != null)
+                         getJDA().getMessageCache().removeChannel(chan.getIdLong());
+                 });
         }
         try (UnlockHook hook = voiceView.writeLock())
         {
             guild.getVoiceChannelCache()
-                 .forEachUnordered(chan -> voiceView.getMap().remove(chan.getIdLong()));
+                 .forEachUnordered(chan -> {
+                     voiceView.getMap().remove(chan.getIdLong());
+                     getJDA().unindexChannel(chan.getIdLong());
+                 });
         }
         try (UnlockHook hook = categoryView.writeLock())
         {
             guild.getCategoryCache()
-                 .forEachUnordered(chan -> categoryView.getMap().remove(chan.getIdLong()));
+                 .forEachUnordered(chan -> {
+                     categoryView.getMap().remove(chan.getIdLong());
+                     getJDA().unindexChannel(chan.getIdLong());
+                 });
         }
 
         // Clear audio connection
@@ -88,6 +88,7 @@ public class GuildEmojisUpdateHandler extends SocketHandler
                 emote.setName(current.getString("name"))
                      .setAnimated(current.getBoolean("animated"))
                      .setManaged(current.getBoolean("managed"));
+                emoteView.updateIndex(emoteId);
                 //update roles
                 DataArray roles = current.getArray("roles");
                 Set<Role> newRoles = emote.getRoleSet();
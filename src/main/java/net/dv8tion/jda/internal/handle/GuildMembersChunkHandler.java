@@ -47,7 +47,10 @@ public class GuildMembersChunkHandler extends SocketHandler
             }
             guild.acknowledgeMembers();
         }
-        getJDA().getGuildSetupController().onMemberChunk(guildId, members);
+        // Without chunk_count every chunk is treated as the last one
+        int chunkIndex = content.getInt("chunk_index", 0);
+        int chunkCount = content.getInt("chunk_count", 1);
+        getJDA().getGuildSetupController().onMemberChunk(guildId, chunkIndex, chunkCount, members);
         return null;
     }
 
@@ -61,6 +61,7 @@ public class GuildRoleDeleteHandler extends SocketHandler
         {
             MemberImpl member = (MemberImpl) m;
             member.getRoleSet().remove(removedRole);
+            guild.getMembersView().updateIndex(member.getIdLong());
         });
 
         for (Emote emote : guild.getEmoteCache())
@@ -69,57 +69,66 @@ public class GuildRoleUpdateHandler extends SocketHandler
         {
             String oldName = role.getName();
             role.setName(name);
-            getJDA().handleEvent(
-                    new RoleUpdateNameEvent(
-                            getJDA(), responseNumber,
-                            role, oldName));
+            guild.getRolesView().updateIndex(roleId);
+            if (getJDA().isListening(RoleUpdateNameEvent.class))
+                getJDA().handleEvent(
+                        new RoleUpdateNameEvent(
+                                getJDA(), responseNumber,
+                                role, oldName));
         }
         if (color != role.getColorRaw())
         {
             int oldColor = role.getColorRaw();
             role.setColor(color);
-            getJDA().handleEvent(
-                    new RoleUpdateColorEvent(
-                            getJDA(), responseNumber,
-                            role, oldColor));
+            if (getJDA().isListening(RoleUpdateColorEvent.class))
+                getJDA().handleEvent(
+                        new RoleUpdateColorEvent(
+                                getJDA(), responseNumber,
+                                role, oldColor));
         }
-        if (!Objects.equals(position, role.getPositionRaw()))
+        if (position != role.getPositionRaw())
         {
-            int oldPosition = role.getPosition();
+            // getPosition() sorts all roles of the guild, only compute it when the event is used
+            boolean listening = getJDA().isListening(RoleUpdatePositionEvent.class);
+            int oldPosition = listening ? role.getPosition() : 0;
             int oldPositionRaw = role.getPositionRaw();
             role.setRawPosition(position);
-            getJDA().handleEvent(
-                    new RoleUpdatePositionEvent(
-                            getJDA(), responseNumber,
-                            role, oldPosition, oldPositionRaw));
+            if (listening)
+                getJDA().handleEvent(
+                        new RoleUpdatePositionEvent(
+                                getJDA(), responseNumber,
+                                role, oldPosition, oldPositionRaw));
         }
-        if (!Objects.equals(permissions, role.getPermissionsRaw()))
+        if (permissions != role.getPermissionsRaw())
         {
             long oldPermissionsRaw = role.getPermissionsRaw();
             role.setRawPermissions(permissions);
-            getJDA().handleEvent(
-                    new RoleUpdatePermissionsEvent(
-                            getJDA(), responseNumber,
-                            role, oldPermissionsRaw));
+            if (getJDA().isListening(RoleUpdatePermissionsEvent.class))
+                getJDA().handleEvent(
+                        new RoleUpdatePermissionsEvent(
+                                getJDA(), responseNumber,
+                                role, oldPermissionsRaw));
         }
 
         if (hoisted != role.isHoisted())
         {
             boolean wasHoisted = role.isHoisted();
             role.setHoisted(hoisted);
-            getJDA().handleEvent(
-                    new RoleUpdateHoistedEvent(
-                            getJDA(), responseNumber,
-                            role, wasHoisted));
+            if (getJDA().isListening(RoleUpdateHoistedEvent.class))
+                getJDA().handleEvent(
+                        new RoleUpdateHoistedEvent(
+                                getJDA(), responseNumber,
+                                role, wasHoisted));
         }
         if (mentionable != role.isMentionable())
         {
             boolean wasMentionable = role.isMentionable();
             role.setMentionable(mentionable);
-            getJDA().handleEvent(
-                    new RoleUpdateMentionableEvent(
-                            getJDA(), responseNumber,
-                            role, wasMentionable));
+            if (getJDA().isListening(RoleUpdateMentionableEvent.class))
+                getJDA().handleEvent(
+                        new RoleUpdateMentionableEvent(
+                                getJDA(), responseNumber,
+                                role, wasMentionable));
         }
         return null;
     }
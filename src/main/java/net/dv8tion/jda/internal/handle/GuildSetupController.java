@@ -17,11 +17,10 @@
 package net.dv8tion.jda.internal.handle;
 
 import gnu.trove.iterator.TLongIterator;
-import gnu.trove.iterator.TLongLongIterator;
 import gnu.trove.iterator.TLongObjectIterator;
-import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.TLongIntMap;
 import gnu.trove.map.TLongObjectMap;
-import gnu.trove.map.hash.TLongLongHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
 import gnu.trove.map.hash.TLongObjectHashMap;
 import gnu.trove.set.TLongSet;
 import gnu.trove.set.hash.TLongHashSet;
@@ -46,12 +45,21 @@ import java.util.stream.Collectors;
 public class GuildSetupController
 {
     protected static final int CHUNK_TIMEOUT = 10000;
+    // Interval at which queued chunk requests are flushed and timeouts are checked
+    protected static final int CHUNK_TICK = 1000;
+    // Maximum amount of guilds in one chunk request
+    protected static final int MAX_CHUNK_GUILDS = 50;
+    // Maximum sum of expected members in one chunk request, larger guilds are requested on their own
+    protected static final int MAX_CHUNK_MEMBERS = 50000;
+    // Gateway sends per minute which are kept free for regular requests such as presence or voice updates
+    protected static final int RESERVED_SENDS = 20;
     protected static final Logger log = JDALogger.getLog(GuildSetupController.class);
 
     private final JDAImpl api;
     private final TLongObjectMap<GuildSetupNode> setupNodes = new TLongObjectHashMap<>();
-    private final TLongSet chunkingGuilds = new TLongHashSet();
-    private final TLongLongMap pendingChunks = new TLongLongHashMap();
+    private final TLongIntMap chunkingGuilds = new TLongIntHashMap(); // guild id -> expected members
+    private final TLongObjectMap<ChunkProgress> pendingChunks = new TLongObjectHashMap<>();
+    private final Deque<ChunkRequest> chunkQueue = new LinkedList<>();
     private final TLongSet syncingGuilds;
     private final TLongSet unavailableGuilds = new TLongHashSet();
 
@@ -89,12 +97,12 @@ public class GuildSetupController
             if (incompleteCount <= 0)
             {
                 // this happens during runtime -> chunk right away
-                sendChunkRequest(id);
+                queueChunkRequest(new ChunkRequest(id, getExpectedMemberCount(id)), false);
                 return;
             }
             incompleteCount++;
         }
-        chunkingGuilds.add(id);
+        chunkingGuilds.put(id, getExpectedMemberCount(id));
         tryChunking();
     }
 
@@ -252,12 +260,14 @@ public class GuildSetupController
         return true;
     }
 
-    public void onMemberChunk(long id, DataArray chunk)
+    public void onMemberChunk(long id, int chunkIndex, int chunkCount, DataArray chunk)
     {
-        log.debug("Received member chunk for guild id: {} size: {}", id, chunk.length());
+        log.debug("Received member chunk {}/{} for guild id: {} size: {}", chunkIndex + 1, chunkCount, id, chunk.length());
         synchronized (pendingChunks)
         {
-            pendingChunks.remove(id);
+            ChunkProgress progress = pendingChunks.get(id);
+            if (progress != null && progress.update(chunkIndex, chunkCount, chunk.length()))
+                pendingChunks.remove(id);
         }
         GuildSetupNode node = setupNodes.get(id);
         if (node != null)
@@ -320,6 +330,10 @@ public class GuildSetupController
     {
         setupNodes.clear();
         chunkingGuilds.clear();
+        synchronized (chunkQueue)
+        {
+            chunkQueue.clear();
+        }
         unavailableGuilds.clear();
         incompleteCount = 0;
         close();
@@ -329,10 +343,11 @@ public class GuildSetupController
         }
     }
 
-    public void close()
+    public synchronized void close()
     {
         if (timeoutHandle != null)
             timeoutHandle.cancel(false);
+        timeoutHandle = null;
     }
 
     public boolean containsMember(long userId, @Nullable GuildSetupNode excludedNode)
@@ -389,22 +404,38 @@ public class GuildSetupController
         return chunkingGuilds.size();
     }
 
-    void sendChunkRequest(Object obj)
+    /**
+     * Requests the members of a guild that was loaded without them, for example on first access.
+     * <br>The request is put in front of the chunk queue.
+     *
+     * @param id
+     *        The guild id
+     * @param memberCount
+     *        The expected member count of the guild
+     */
+    public void requestChunks(long id, int memberCount)
+    {
+        queueChunkRequest(new ChunkRequest(id, Math.max(1, memberCount)), true);
+    }
+
+    private int getExpectedMemberCount(long id)
+    {
+        GuildSetupNode node = setupNodes.get(id);
+        return node == null ? 1 : Math.max(1, node.getExpectedMemberCount());
+    }
+
+    private void sendChunkRequest(ChunkRequest request)
     {
-        log.debug("Sending chunking requests for {} guilds", obj instanceof DataArray ? ((DataArray) obj).length() : 1);
+        log.debug("Sending chunking requests for {} guilds with {} expected members", request.ids.length, request.memberCount);
 
         long timeout = System.currentTimeMillis() + CHUNK_TIMEOUT;
+        DataArray guilds = DataArray.empty();
         synchronized (pendingChunks)
         {
-            if (obj instanceof DataArray)
+            for (int i = 0; i < request.ids.length; i++)
             {
-                DataArray arr = (DataArray) obj;
-                for (Object o : arr)
-                    pendingChunks.put((long) o, timeout);
-            }
-            else
-            {
-                pendingChunks.put((long) obj, timeout);
+                guilds.add(request.ids[i]);
+                pendingChunks.put(request.ids[i], new ChunkProgress(request.members[i], timeout));
             }
         }
 
@@ -412,40 +443,102 @@ public class GuildSetupController
             DataObject.empty()
                 .put("op", WebSocketCode.MEMBER_CHUNK_REQUEST)
                 .put("d", DataObject.empty()
-                    .put("guild_id", obj)
+                    .put("guild_id", guilds)
                     .put("query", "")
                     .put("limit", 0)));
     }
 
+    private void queueChunkRequest(ChunkRequest request, boolean priority)
+    {
+        synchronized (chunkQueue)
+        {
+            if (priority)
+                chunkQueue.addFirst(request);
+            else
+                chunkQueue.addLast(request);
+        }
+        flushChunkQueue();
+    }
+
+    private void flushChunkQueue()
+    {
+        WebSocketClient client = getJDA().getClient();
+        synchronized (chunkQueue)
+        {
+            // Only hand over as many requests as the gateway can send right now,
+            //  the rest waits for the next tick so regular requests are not starved by chunking
+            int budget = client.getRemainingSendBudget() - RESERVED_SENDS;
+            while (budget-- > 0 && !chunkQueue.isEmpty())
+                sendChunkRequest(chunkQueue.poll());
+            if (!chunkQueue.isEmpty())
+                log.debug("Gateway send budget exhausted, delaying {} chunk requests", chunkQueue.size());
+        }
+        startTimeout();
+    }
+
     private void tryChunking()
     {
-        if (chunkingGuilds.size() >= 50)
+        // Flush everything once all loading guilds are waiting for chunks,
+        //  otherwise only full requests are sent and the rest keeps waiting for more guilds
+        boolean flush = incompleteCount > 0 && chunkingGuilds.size() >= incompleteCount;
+        if (packChunkRequests(chunkingGuilds, flush, false))
+            flushChunkQueue();
+    }
+
+    // Packs the guilds into chunk requests by their expected member count, smallest guilds first.
+    // Small guilds share a request while guilds above MAX_CHUNK_MEMBERS get one for themselves.
+    private boolean packChunkRequests(TLongIntMap guilds, boolean flush, boolean priority)
+    {
+        if (guilds.isEmpty())
+            return false;
+        long[] ids = guilds.keys();
+        long[] sortKeys = new long[ids.length];
+        for (int i = 0; i < ids.length; i++)
+            sortKeys[i] = i | ((long) guilds.get(ids[i]) << 32);
+        Arrays.sort(sortKeys);
+
+        List<ChunkRequest> requests = new ArrayList<>();
+        int start = 0;
+        int currentMembers = 0;
+        for (int i = 0; i < sortKeys.length; i++)
         {
-            // request chunks
-            final DataArray subset = DataArray.empty();
-            for (final TLongIterator it = chunkingGuilds.iterator(); subset.length() < 50; )
+            int memberCount = (int) (sortKeys[i] >>> 32);
+            int size = i - start;
+            if (size > 0 && (size >= MAX_CHUNK_GUILDS || currentMembers + memberCount > MAX_CHUNK_MEMBERS))
             {
-                subset.add(it.next());
-                it.remove();
+                requests.add(new ChunkRequest(ids, sortKeys, start, i));
+                start = i;
+                currentMembers = 0;
             }
-            sendChunkRequest(subset);
+            currentMembers += memberCount;
         }
-        if (incompleteCount > 0 && chunkingGuilds.size() >= incompleteCount)
+        int size = sortKeys.length - start;
+        if (flush || size >= MAX_CHUNK_GUILDS || currentMembers >= MAX_CHUNK_MEMBERS)
+            requests.add(new ChunkRequest(ids, sortKeys, start, sortKeys.length));
+        if (requests.isEmpty())
+            return false;
+
+        if (priority)
+            Collections.reverse(requests);
+        synchronized (chunkQueue)
         {
-            // request last chunks
-            final DataArray array = DataArray.empty();
-            chunkingGuilds.forEach((guild) -> {
-                array.add(guild);
-                return true;
-            });
-            chunkingGuilds.clear();
-            sendChunkRequest(array);
+            for (ChunkRequest request : requests)
+            {
+                for (long id : request.ids)
+                    guilds.remove(id);
+                if (priority)
+                    chunkQueue.addFirst(request);
+                else
+                    chunkQueue.addLast(request);
+            }
         }
+        return true;
     }
 
-    private void startTimeout()
+    private synchronized void startTimeout()
     {
-        timeoutHandle = getJDA().getGatewayPool().scheduleAtFixedRate(new ChunkTimeout(), CHUNK_TIMEOUT, CHUNK_TIMEOUT, TimeUnit.MILLISECONDS);
+        if (timeoutHandle == null)
+            timeoutHandle = getJDA().getGatewayPool().scheduleAtFixedRate(new ChunkTimeout(), CHUNK_TICK, CHUNK_TICK, TimeUnit.MILLISECONDS);
     }
 
     // Syncing
@@ -510,36 +603,88 @@ public class GuildSetupController
         void onStatusChange(long guildId, Status oldStatus, Status newStatus);
     }
 
+    private static class ChunkRequest
+    {
+        private final long[] ids;
+        private final int[] members;
+        private final int memberCount;
+
+        private ChunkRequest(long id, int members)
+        {
+            this.ids = new long[] { id };
+            this.members = new int[] { members };
+            this.memberCount = members;
+        }
+
+        // sortKeys are (members << 32 | index into ids)
+        private ChunkRequest(long[] ids, long[] sortKeys, int from, int to)
+        {
+            this.ids = new long[to - from];
+            this.members = new int[to - from];
+            int sum = 0;
+            for (int i = from; i < to; i++)
+            {
+                this.ids[i - from] = ids[(int) sortKeys[i]];
+                this.members[i - from] = (int) (sortKeys[i] >>> 32);
+                sum += this.members[i - from];
+            }
+            this.memberCount = sum;
+        }
+    }
+
+    private static class ChunkProgress
+    {
+        private final int expectedMembers;
+        private long timeout;
+        private int receivedMembers;
+
+        private ChunkProgress(int expectedMembers, long timeout)
+        {
+            this.expectedMembers = expectedMembers;
+            this.timeout = timeout;
+        }
+
+        // returns true when this was the last chunk
+        private boolean update(int chunkIndex, int chunkCount, int size)
+        {
+            receivedMembers += size;
+            timeout = System.currentTimeMillis() + CHUNK_TIMEOUT;
+            return chunkIndex + 1 >= chunkCount;
+        }
+
+        @Override
+        public String toString()
+        {
+            return receivedMembers + "/" + expectedMembers;
+        }
+    }
+
     private class ChunkTimeout implements Runnable
     {
         @Override
         public void run()
         {
-            if (pendingChunks.isEmpty())
+            if (pendingChunks.isEmpty() && chunkQueue.isEmpty())
                 return;
+            TLongIntMap timedOut = new TLongIntHashMap();
             synchronized (pendingChunks)
             {
-                TLongLongIterator it = pendingChunks.iterator();
-                List<DataArray> requests = new LinkedList<>();
-                DataArray arr = DataArray.empty();
-                while (it.hasNext())
+                long now = System.currentTimeMillis();
+                for (TLongObjectIterator<ChunkProgress> it = pendingChunks.iterator(); it.hasNext();)
                 {
-                    // key=guild_id, value=timeout
+                    // key=guild_id, value=progress
                     it.advance();
-                    if (System.currentTimeMillis() <= it.value())
+                    ChunkProgress progress = it.value();
+                    if (now <= progress.timeout)
                         continue;
-                    arr.add(it.key());
-
-                    if (arr.length() == 50)
-                    {
-                        requests.add(arr);
-                        arr = DataArray.empty();
-                    }
+                    log.debug("Chunk request for guild {} timed out with {} members, retrying", it.key(), progress);
+                    timedOut.put(it.key(), progress.expectedMembers);
+                    it.remove();
                 }
-                if (arr.length() > 0)
-                    requests.add(arr);
-                requests.forEach(GuildSetupController.this::sendChunkRequest);
             }
+            // Retries go in front of the queue, those guilds have been waiting the longest
+            packChunkRequests(timedOut, true, true);
+            flushChunkQueue();
         }
     }
 }
@@ -112,6 +112,12 @@ public class GuildSetupNode
         return type == Type.JOIN;
     }
 
+    public boolean isLazy()
+    {
+        // only guilds from the initial READY are loaded lazily, joined guilds are most likely used right away
+        return type == Type.INIT && getController().getJDA().isLazyGuildLoading();
+    }
+
     public boolean isMarkedUnavailable()
     {
         return markedUnavailable;
@@ -288,7 +294,7 @@ public class GuildSetupNode
             members.put(id, obj);
         }
 
-        if (members.size() >= expectedMemberCount || !getController().getJDA().chunkGuild(id))
+        if (members.size() >= expectedMemberCount || !getController().getJDA().chunkGuild(id) || isLazy())
         {
             completeSetup();
             return false;
@@ -338,7 +344,7 @@ public class GuildSetupNode
             if (status == GuildSetupController.Status.CHUNKING)
             {
                 GuildSetupController.log.debug("Forcing new chunk request for guild: {}", id);
-                controller.sendChunkRequest(id);
+                controller.requestChunks(id, getExpectedMemberCount());
             }
         }
     }
@@ -390,7 +396,7 @@ public class GuildSetupNode
         for (TLongIterator it = removedMembers.iterator(); it.hasNext(); )
             members.remove(it.next());
         removedMembers.clear();
-        GuildImpl guild = api.getEntityBuilder().createGuild(id, partialGuild, members, expectedMemberCount);
+        GuildImpl guild = api.getEntityBuilder().createGuild(id, partialGuild, members, expectedMemberCount, isLazy());
         updateAudioManagerReference(guild);
         switch (type)
         {
@@ -423,8 +429,9 @@ public class GuildSetupNode
         members = new TLongObjectHashMap<>(expectedMemberCount);
         removedMembers = new TLongHashSet();
         DataArray memberArray = partialGuild.getArray("members");
-        if (!getController().getJDA().chunkGuild(id))
+        if (!getController().getJDA().chunkGuild(id) || isLazy())
         {
+            // lazy guilds are chunked once they are hydrated
             handleMemberChunk(memberArray);
         }
         else if (memberArray.length() < expectedMemberCount && !requestedChunk)
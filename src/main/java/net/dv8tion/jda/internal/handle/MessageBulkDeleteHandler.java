@@ -16,12 +16,18 @@
 
 package net.dv8tion.jda.internal.handle;
 
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.events.message.MessageBulkDeleteEvent;
+import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.CompactMessage;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 
 public class MessageBulkDeleteHandler extends SocketHandler
 {
@@ -70,10 +76,22 @@ public class MessageBulkDeleteHandler extends SocketHandler
 
             LinkedList<String> msgIds = new LinkedList<>();
             content.getArray("ids").forEach(id -> msgIds.add((String) id));
+            List<Message> cachedMessages = new ArrayList<>();
+            MessageCache cache = getJDA().getMessageCache();
+            if (cache != null)
+            {
+                for (String id : msgIds)
+                {
+                    CompactMessage message = cache.remove(channelId, MiscUtil.parseSnowflake(id));
+                    Message cached = message == null ? null : message.toMessage(getJDA());
+                    if (cached != null)
+                        cachedMessages.add(cached);
+                }
+            }
             getJDA().handleEvent(
                     new MessageBulkDeleteEvent(
                             getJDA(), responseNumber,
-                            channel, msgIds));
+                            channel, msgIds, cachedMessages));
         }
         return null;
     }
@@ -22,10 +22,12 @@ import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
 import net.dv8tion.jda.api.events.message.priv.PrivateMessageReceivedEvent;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.CompactMessage;
 import net.dv8tion.jda.internal.entities.EntityBuilder;
 import net.dv8tion.jda.internal.entities.PrivateChannelImpl;
 import net.dv8tion.jda.internal.entities.TextChannelImpl;
 import net.dv8tion.jda.internal.requests.WebSocketClient;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
 
 public class MessageCreateHandler extends SocketHandler
 {
@@ -94,6 +96,7 @@ public class MessageCreateHandler extends SocketHandler
                 if (jda.getGuildSetupController().isLocked(channel.getGuild().getIdLong()))
                     return channel.getGuild().getIdLong();
                 channel.setLastMessageId(message.getIdLong());
+                cacheMessage(content);
                 jda.handleEvent(
                     new GuildMessageReceivedEvent(
                         jda, responseNumber,
@@ -104,6 +107,7 @@ public class MessageCreateHandler extends SocketHandler
             {
                 PrivateChannelImpl channel = (PrivateChannelImpl) message.getPrivateChannel();
                 channel.setLastMessageId(message.getIdLong());
+                cacheMessage(content);
                 jda.handleEvent(
                     new PrivateMessageReceivedEvent(
                         jda, responseNumber,
@@ -125,4 +129,11 @@ public class MessageCreateHandler extends SocketHandler
                 message));
         return null;
     }
+
+    private void cacheMessage(DataObject content)
+    {
+        MessageCache cache = getJDA().getMessageCache();
+        if (cache != null)
+            cache.put(CompactMessage.fromJson(content));
+    }
 }
@@ -15,6 +15,7 @@
  */
 package net.dv8tion.jda.internal.handle;
 
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.events.message.MessageDeleteEvent;
@@ -22,8 +23,10 @@ import net.dv8tion.jda.api.events.message.guild.GuildMessageDeleteEvent;
 import net.dv8tion.jda.api.events.message.priv.PrivateMessageDeleteEvent;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.CompactMessage;
 import net.dv8tion.jda.internal.entities.PrivateChannelImpl;
 import net.dv8tion.jda.internal.entities.TextChannelImpl;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
 
 public class MessageDeleteHandler extends SocketHandler
 {
@@ -55,6 +58,7 @@ public class MessageDeleteHandler extends SocketHandler
             return null;
         }
 
+        Message cachedMessage;
         if (channel instanceof TextChannel)
         {
             TextChannelImpl tChan = (TextChannelImpl) channel;
@@ -62,27 +66,36 @@ public class MessageDeleteHandler extends SocketHandler
                 return tChan.getGuild().getIdLong();
             if (tChan.hasLatestMessage() && messageId == channel.getLatestMessageIdLong())
                 tChan.setLastMessageId(0); // Reset latest message id as it was deleted.
+            cachedMessage = removeCached(channelId, messageId);
             getJDA().handleEvent(
                     new GuildMessageDeleteEvent(
                             getJDA(), responseNumber,
-                            messageId, tChan));
+                            messageId, tChan, cachedMessage));
         }
         else
         {
             PrivateChannelImpl pChan = (PrivateChannelImpl) channel;
             if (channel.hasLatestMessage() && messageId == channel.getLatestMessageIdLong())
                 pChan.setLastMessageId(0); // Reset latest message id as it was deleted.
+            cachedMessage = removeCached(channelId, messageId);
             getJDA().handleEvent(
                     new PrivateMessageDeleteEvent(
                             getJDA(), responseNumber,
-                            messageId, pChan));
+                            messageId, pChan, cachedMessage));
         }
 
         //Combo event
         getJDA().handleEvent(
                 new MessageDeleteEvent(
                         getJDA(), responseNumber,
-                        messageId, channel));
+                        messageId, channel, cachedMessage));
         return null;
     }
+
+    private Message removeCached(long channelId, long messageId)
+    {
+        MessageCache cache = getJDA().getMessageCache();
+        CompactMessage message = cache == null ? null : cache.remove(channelId, messageId);
+        return message == null ? null : message.toMessage(getJDA());
+    }
 }
@@ -21,7 +21,9 @@ import net.dv8tion.jda.api.events.message.guild.react.GuildMessageReactionRemove
 import net.dv8tion.jda.api.events.message.react.MessageReactionRemoveAllEvent;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.CompactMessage;
 import net.dv8tion.jda.internal.requests.WebSocketClient;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
 
 public class MessageReactionBulkRemoveHandler extends SocketHandler
 {
@@ -44,6 +46,10 @@ public class MessageReactionBulkRemoveHandler extends SocketHandler
             return null;
         }
 
+        MessageCache cache = jda.getMessageCache();
+        if (cache != null)
+            cache.update(channelId, messageId, CompactMessage::clearReactions);
+
         switch (channel.getType())
         {
             case TEXT:
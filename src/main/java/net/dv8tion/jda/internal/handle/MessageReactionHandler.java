@@ -30,6 +30,7 @@ import net.dv8tion.jda.internal.entities.GuildImpl;
 import net.dv8tion.jda.internal.entities.MemberImpl;
 import net.dv8tion.jda.internal.requests.WebSocketClient;
 import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -146,7 +147,11 @@ public class MessageReactionHandler extends SocketHandler
         {
             rEmote = MessageReaction.ReactionEmote.fromUnicode(emojiName, getJDA());
         }
-        MessageReaction reaction = new MessageReaction(channel, rEmote, messageId, userId == getJDA().getSelfUser().getIdLong(), -1);
+        final boolean self = userId == getJDA().getSelfUser().getIdLong();
+        MessageCache cache = getJDA().getMessageCache();
+        if (cache != null)
+            cache.update(channelId, messageId, message -> message.updateReaction(emoji, self, add));
+        MessageReaction reaction = new MessageReaction(channel, rEmote, messageId, self, -1);
 
         if (add)
             onAdd(reaction, user, member, userId);
@@ -25,8 +25,10 @@ import net.dv8tion.jda.api.events.message.priv.PrivateMessageUpdateEvent;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.CompactMessage;
 import net.dv8tion.jda.internal.entities.EntityBuilder;
 import net.dv8tion.jda.internal.requests.WebSocketClient;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
 
 import java.util.LinkedList;
 
@@ -110,6 +112,7 @@ public class MessageUpdateHandler extends SocketHandler
             }
         }
 
+        Message oldMessage = null;
         switch (message.getChannelType())
         {
             case TEXT:
@@ -117,18 +120,20 @@ public class MessageUpdateHandler extends SocketHandler
                 TextChannel channel = message.getTextChannel();
                 if (getJDA().getGuildSetupController().isLocked(channel.getGuild().getIdLong()))
                     return channel.getGuild().getIdLong();
+                oldMessage = updateCache(content);
                 getJDA().handleEvent(
                         new GuildMessageUpdateEvent(
                                 getJDA(), responseNumber,
-                                message));
+                                message, oldMessage));
                 break;
             }
             case PRIVATE:
             {
+                oldMessage = updateCache(content);
                 getJDA().handleEvent(
                         new PrivateMessageUpdateEvent(
                                 getJDA(), responseNumber,
-                                message));
+                                message, oldMessage));
                 break;
             }
             case GROUP:
@@ -146,10 +151,20 @@ public class MessageUpdateHandler extends SocketHandler
         getJDA().handleEvent(
                 new MessageUpdateEvent(
                         getJDA(), responseNumber,
-                        message));
+                        message, oldMessage));
         return null;
     }
 
+    private Message updateCache(DataObject content)
+    {
+        MessageCache cache = getJDA().getMessageCache();
+        if (cache == null)
+            return null;
+        CompactMessage oldMessage = cache.get(content.getLong("channel_id"), content.getLong("id"));
+        cache.put(oldMessage == null ? CompactMessage.fromJson(content) : oldMessage.update(content));
+        return oldMessage == null ? null : oldMessage.toMessage(getJDA());
+    }
+
     private Long handleMessageEmbed(DataObject content)
     {
         EntityBuilder builder = getJDA().getEntityBuilder();
@@ -52,6 +52,7 @@ public class UserUpdateHandler extends SocketHandler
         {
             String oldName = self.getName();
             self.setName(name);
+            getJDA().getUsersView().updateIndex(self.getIdLong());
             getJDA().handleEvent(
                 new SelfUpdateNameEvent(
                     getJDA(), responseNumber,
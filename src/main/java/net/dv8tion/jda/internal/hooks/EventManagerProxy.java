@@ -75,4 +75,18 @@ public class EventManagerProxy implements IEventManager
     {
         return subject.getRegisteredListeners();
     }
+
+    @Override
+    public boolean isListening(@Nonnull Class<? extends GenericEvent> type)
+    {
+        try
+        {
+            return subject.isListening(type);
+        }
+        catch (RuntimeException e)
+        {
+            JDAImpl.LOG.error("The EventManager.isListening() call had an uncaught exception", e);
+            return true;
+        }
+    }
 }
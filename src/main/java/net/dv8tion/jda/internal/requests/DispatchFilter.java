@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import java.util.Set;
+
+/**
+ * Finds gateway dispatches of disabled event types without parsing the payload.
+ * <br>Only the top-level {@code "t"} and {@code "s"} fields are read, nested objects are skipped.
+ */
+public class DispatchFilter
+{
+    private final Set<String> disabled;
+
+    public DispatchFilter(Set<String> disabled)
+    {
+        this.disabled = disabled;
+    }
+
+    /**
+     * Checks whether the provided payload is a dispatch of a disabled type.
+     *
+     * @param  json
+     *         The gateway payload
+     *
+     * @return The sequence number of the disabled dispatch, or {@code -1} if the payload has to be handled
+     */
+    public long filter(String json)
+    {
+        int length = json.length();
+        int i = skipWhitespace(json, 0);
+        if (i >= length || json.charAt(i) != '{')
+            return -1;
+        String type = null;
+        long sequence = -1;
+        i++;
+        while (true)
+        {
+            i = skipWhitespace(json, i);
+            if (i >= length || json.charAt(i) != '"')
+                return -1;
+            int keyEnd = json.indexOf('"', i + 1);
+            if (keyEnd < 0)
+                return -1;
+            // keys of the top-level payload are short, only compare the ones we need
+            boolean isType = keyEnd == i + 2 && json.charAt(i + 1) == 't';
+            boolean isSequence = keyEnd == i + 2 && json.charAt(i + 1) == 's';
+            i = skipWhitespace(json, keyEnd + 1);
+            if (i >= length || json.charAt(i) != ':')
+                return -1;
+            i = skipWhitespace(json, i + 1);
+            if (i >= length)
+                return -1;
+            if (isType)
+            {
+                if (json.charAt(i) != '"')
+                    return -1; // null for anything but dispatches
+                int end = json.indexOf('"', i + 1);
+                if (end < 0)
+                    return -1;
+                type = json.substring(i + 1, end);
+                if (type.indexOf('\\') >= 0 || !disabled.contains(type))
+                    return -1;
+                i = end + 1;
+            }
+            else if (isSequence)
+            {
+                int end = i;
+                while (end < length && Character.isDigit(json.charAt(end)))
+                    end++;
+                if (end == i)
+                    return -1;
+                sequence = Long.parseLong(json.substring(i, end));
+                i = end;
+            }
+            else
+            {
+                i = skipValue(json, i);
+                if (i < 0)
+                    return -1;
+            }
+
+            if (type != null && sequence >= 0)
+                return sequence;
+            i = skipWhitespace(json, i);
+            if (i >= length || json.charAt(i) != ',')
+                return -1;
+            i++;
+        }
+    }
+
+    private static int skipWhitespace(String json, int i)
+    {
+        while (i < json.length() && Character.isWhitespace(json.charAt(i)))
+            i++;
+        return i;
+    }
+
+    // Returns the index after the value starting at i, or -1 if the json is malformed
+    private static int skipValue(String json, int i)
+    {
+        int length = json.length();
+        int depth = 0;
+        boolean inString = false;
+        for (; i < length; i++)
+        {
+            char c = json.charAt(i);
+            if (inString)
+            {
+                if (c == '\\')
+                    i++;
+                else if (c == '"')
+                {
+                    inString = false;
+                    if (depth == 0)
+                        return i + 1;
+                }
+                continue;
+            }
+            switch (c)
+            {
+                case '"':
+                    inString = true;
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0)
+                        return i; // end of the enclosing object
+                    if (--depth == 0)
+                        return i + 1;
+                    break;
+                case ',':
+                    if (depth == 0)
+                        return i;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return depth == 0 && !inString ? i : -1;
+    }
+}
@@ -33,12 +33,14 @@ import net.dv8tion.jda.api.requests.CloseCode;
 import net.dv8tion.jda.api.utils.Compression;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.SessionController;
+import net.dv8tion.jda.api.utils.SessionStore;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.api.utils.data.DataType;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.audio.ConnectionRequest;
 import net.dv8tion.jda.internal.audio.ConnectionStage;
+import net.dv8tion.jda.internal.entities.CacheSnapshot;
 import net.dv8tion.jda.internal.entities.GuildImpl;
 import net.dv8tion.jda.internal.handle.*;
 import net.dv8tion.jda.internal.managers.AudioManagerImpl;
@@ -54,6 +56,7 @@ import org.slf4j.MDC;
 
 import javax.annotation.Nonnull;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.time.OffsetDateTime;
@@ -72,17 +75,26 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     public static final int IDENTIFY_DELAY = 5;
     public static final int ZLIB_SUFFIX = 0x0000FFFF;
 
+    /** Dispatch types which cannot be disabled, the session and guild setup depend on them */
+    public static final Set<String> REQUIRED_DISPATCHES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "READY", "RESUMED", "GUILD_CREATE", "GUILD_DELETE", "GUILD_MEMBERS_CHUNK")));
+
     protected static final String INVALIDATE_REASON = "INVALIDATE_SESSION";
+    protected static final int RESUMABLE_CLOSE_CODE = 4900;
     protected static final long IDENTIFY_BACKOFF = TimeUnit.SECONDS.toMillis(SessionController.IDENTIFY_DELAY); // same as 1000 * IDENTIFY_DELAY
 
     protected final JDAImpl api;
     protected final JDA.ShardInfo shardInfo;
     protected final Map<String, SocketHandler> handlers = new HashMap<>();
     protected final Compression compression;
+    protected final DispatchFilter dispatchFilter;
 
     public WebSocket socket;
     protected String sessionId = null;
     protected final Object readLock = new Object();
+    // Held while an event is handled, once dispatch is stopped the cache and sequence no longer change
+    protected final Object dispatchLock = new Object();
+    protected boolean dispatchStopped = false;
     protected Decompressor decompressor;
 
     protected final ReentrantLock queueLock = new ReentrantLock();
@@ -116,14 +128,22 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     protected volatile ConnectNode connectNode;
 
     public WebSocketClient(JDAImpl api, Compression compression)
+    {
+        this(api, compression, null);
+    }
+
+    public WebSocketClient(JDAImpl api, Compression compression, SessionStore.Session storedSession)
     {
         this.api = api;
         this.executor = api.getGatewayPool();
         this.shardInfo = api.getShardInfo();
         this.compression = compression;
+        this.dispatchFilter = api.getDisabledDispatches().isEmpty() ? null : new DispatchFilter(api.getDisabledDispatches());
         this.shouldReconnect = api.isAutoReconnect();
         this.connectNode = new StartingNode();
         setupHandlers();
+        if (storedSession != null && resumeStoredSession(storedSession))
+            return;
         try
         {
             api.getSessionController().appendSession(connectNode);
@@ -146,6 +166,34 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         return api;
     }
 
+    protected boolean resumeStoredSession(SessionStore.Session storedSession)
+    {
+        // RESUME does not count towards the identify limit, so we can skip the session controller queue
+        LOG.debug("Resuming stored session for shard {}", shardInfo.getShardString());
+        sessionId = storedSession.getSessionId();
+        api.setResponseTotal((int) storedSession.getSequence());
+        processingReady = false;
+        try
+        {
+            setupSendingThread();
+            connect();
+            return true;
+        }
+        catch (IllegalStateException e)
+        {
+            LOG.warn("Failed to resume stored session, identifying instead", e);
+            if (ratelimitThread != null)
+            {
+                ratelimitThread.shutdown();
+                ratelimitThread = null;
+            }
+            sessionId = null;
+            api.setResponseTotal(0);
+            processingReady = true;
+            return false;
+        }
+    }
+
     public void setAutoReconnect(boolean reconnect)
     {
         this.shouldReconnect = reconnect;
@@ -215,6 +263,13 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         locked("Interrupted while trying to add chunk request", () -> chunkSyncQueue.add(request.toString()));
     }
 
+    public int getRemainingSendBudget()
+    {
+        // This is only an estimate for scheduling, the sending thread still enforces the actual limit
+        int sent = ratelimitResetTime <= System.currentTimeMillis() ? 0 : messagesSent.get();
+        return 115 - sent - chunkSyncQueue.size() - ratelimitQueue.size();
+    }
+
     protected boolean send(String message, boolean skipQueue)
     {
         if (!connected)
@@ -273,13 +328,34 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             socket.sendClose(code, reason);
     }
 
-    public synchronized void shutdown()
+    public void shutdown()
     {
-        shutdown = true;
-        shouldReconnect = false;
-        if (connectNode != null)
-            api.getSessionController().removeSession(connectNode);
-        close(1000, "Shutting down");
+        // Events received from now on are dropped, they are replayed when the stored session is resumed.
+        // This waits for the event which is currently handled, so it has to happen before we lock the client
+        // as the event handlers might need that lock.
+        synchronized (dispatchLock)
+        {
+            dispatchStopped = true;
+        }
+
+        synchronized (this)
+        {
+            shutdown = true;
+            shouldReconnect = false;
+            if (connectNode != null)
+                api.getSessionController().removeSession(connectNode);
+            // closing with 1000 drops the session, any other code keeps it resumable for the session store
+            // sessions are only resumed with a cache snapshot, there is no point in keeping them otherwise
+            SessionStore store = api.getSessionStore();
+            if (sessionId != null && store != null && store.getCacheSnapshot(shardInfo) != null)
+            {
+                // stored right away, the disconnect is handled asynchronously and might never run if the JVM exits after shutdown
+                storeSession(new SessionStore.Session(sessionId, api.getResponseTotal(), api.getGatewayUrl()));
+                close(RESUMABLE_CLOSE_CODE, "Shutting down");
+            }
+            else
+                close(1000, "Shutting down");
+        }
     }
 
     /*
@@ -475,6 +551,33 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
+    protected void storeSession(SessionStore.Session session)
+    {
+        SessionStore store = api.getSessionStore();
+        File snapshot = store.getCacheSnapshot(shardInfo);
+        try
+        {
+            // dispatch is stopped, the snapshot matches the sequence of the session
+            CacheSnapshot.write(api, snapshot);
+        }
+        catch (Exception e)
+        {
+            // a session without its snapshot cannot be resumed
+            LOG.error("Failed to write cache snapshot", e);
+            if (snapshot.exists() && !snapshot.delete())
+                LOG.warn("Failed to delete incomplete cache snapshot {}", snapshot);
+            return;
+        }
+        try
+        {
+            store.save(shardInfo, session);
+        }
+        catch (Exception e)
+        {
+            LOG.error("Failed to store session", e);
+        }
+    }
+
     protected long calculateIdentifyBackoff()
     {
         long currentTime = System.currentTimeMillis();
@@ -653,11 +756,14 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         api.getStoreChannelsView().clear();
         api.getCategoriesView().clear();
         api.getGuildsView().clear();
+        api.clearLazyGuilds();
         api.getUsersView().clear();
         api.getPrivateChannelsView().clear();
         api.getFakeUserMap().clear();
         api.getFakePrivateChannelMap().clear();
         api.getEventCache().clear();
+        if (api.getMessageCache() != null)
+            api.getMessageCache().clear();
         api.getGuildSetupController().clearCache();
     }
 
@@ -872,23 +978,48 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             jda.getEventCache().timeout(responseTotal);
     }
 
+    protected boolean isDisabledDispatch(String json)
+    {
+        if (dispatchFilter == null)
+            return false;
+        long sequence = dispatchFilter.filter(json);
+        if (sequence < 0)
+            return false;
+        // The payload is dropped but resuming still needs its sequence number
+        api.setResponseTotal((int) sequence);
+        LOG.trace("Ignoring disabled dispatch with sequence {}", sequence);
+        if (sequence % EventCache.TIMEOUT_AMOUNT == 0)
+            api.getEventCache().timeout(sequence);
+        return true;
+    }
+
     @Override
     public void onTextMessage(WebSocket websocket, String message)
     {
-        handleEvent(DataObject.fromJson(message));
+        synchronized (dispatchLock)
+        {
+            if (!dispatchStopped && !isDisabledDispatch(message))
+                handleEvent(DataObject.fromJson(message));
+        }
     }
 
     @Override
     public void onBinaryMessage(WebSocket websocket, byte[] binary) throws DataFormatException
     {
-        DataObject json;
-        // Only acquire lock for decompression and unlock for event handling
-        synchronized (readLock)
+        // The disabled dispatches filtered during decompression also advance the sequence
+        synchronized (dispatchLock)
         {
-            json = handleBinary(binary);
+            if (dispatchStopped)
+                return;
+            DataObject json;
+            // Only acquire lock for decompression and unlock for event handling
+            synchronized (readLock)
+            {
+                json = handleBinary(binary);
+            }
+            if (json != null)
+                handleEvent(json);
         }
-        if (json != null)
-            handleEvent(json);
     }
 
     protected DataObject handleBinary(byte[] binary) throws DataFormatException
@@ -900,7 +1031,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         try
         {
             jsonString = decompressor.decompress(binary);
-            if (jsonString == null)
+            if (jsonString == null || isDisabledDispatch(jsonString))
                 return null;
         }
         catch (DataFormatException e)
@@ -25,20 +25,23 @@ import net.dv8tion.jda.api.requests.Request;
 import net.dv8tion.jda.api.requests.Response;
 import net.dv8tion.jda.api.requests.restaction.MessageAction;
 import net.dv8tion.jda.api.utils.AttachmentOption;
-import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.requests.Method;
 import net.dv8tion.jda.internal.requests.Requester;
 import net.dv8tion.jda.internal.requests.RestActionImpl;
 import net.dv8tion.jda.internal.requests.Route;
 import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.FileRequestBody;
 import net.dv8tion.jda.internal.utils.Helpers;
 import net.dv8tion.jda.internal.utils.IOUtil;
+import net.dv8tion.jda.internal.utils.JsonUtil;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
@@ -48,6 +51,7 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
 {
     private static final String CONTENT_TOO_BIG = String.format("A message may not exceed %d characters. Please limit your input!", Message.MAX_CONTENT_LENGTH);
     protected final Map<String, InputStream> files = new HashMap<>();
+    protected final Map<String, RequestBody> fileBodies = new HashMap<>();
     protected final Set<InputStream> ownedResources = new HashSet<>();
     protected final StringBuilder content;
     protected final MessageChannel channel;
@@ -109,6 +113,7 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
         if (embeds != null && !embeds.isEmpty())
             embed(embeds.get(0));
         files.clear();
+        fileBodies.clear();
 
         return content(message.getContentRaw()).tts(message.isTTS());
     }
@@ -212,30 +217,52 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
     @CheckReturnValue
     public MessageActionImpl addFile(@Nonnull final File file, @Nonnull String name, @Nonnull AttachmentOption... options)
     {
+        checkEdit();
         Checks.notNull(file, "File");
+        Checks.notBlank(name, "Name");
         Checks.noneNull(options, "Options");
-        Checks.check(file.exists() && file.canRead(), "Provided file either does not exist or cannot be read from!");
-        final long maxSize = getJDA().getSelfUser().getAllowedFileSize();
-        Checks.check(file.length() <= maxSize, "File may not exceed the maximum file length of %d bytes!", maxSize);
+        Checks.check(file.isFile() && file.canRead(), "Provided file either does not exist or cannot be read from!");
+        return addFile(file.toPath(), file.length(), name, options);
+    }
+
+    @Nonnull
+    @Override
+    @CheckReturnValue
+    public MessageActionImpl addFile(@Nonnull final Path path, @Nonnull String name, @Nonnull AttachmentOption... options)
+    {
+        checkEdit();
+        Checks.notNull(path, "Path");
+        Checks.notBlank(name, "Name");
+        Checks.noneNull(options, "Options");
+        Checks.check(Files.isRegularFile(path) && Files.isReadable(path), "Provided file either does not exist or cannot be read from!");
         try
         {
-            FileInputStream data = new FileInputStream(file);
-            ownedResources.add(data);
-            name = applyOptions(name, options);
-            return addFile(data, name);
+            return addFile(path, Files.size(path), name, options);
         }
-        catch (FileNotFoundException e)
+        catch (IOException e)
         {
-            throw new IllegalArgumentException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
+    private MessageActionImpl addFile(Path path, long length, String name, AttachmentOption[] options)
+    {
+        final long maxSize = getJDA().getSelfUser().getAllowedFileSize();
+        Checks.check(length <= maxSize, "File may not exceed the maximum file length of %d bytes!", maxSize);
+        checkFileAmount();
+        checkPermission(Permission.MESSAGE_ATTACH_FILES);
+        // streamed from disk for every attempt, the content is never loaded onto the heap
+        fileBodies.put(applyOptions(name, options), new FileRequestBody(path, Requester.MEDIA_TYPE_OCTET, length));
+        return this;
+    }
+
     @Nonnull
     @Override
     @CheckReturnValue
     public MessageActionImpl clearFiles()
     {
         files.clear();
+        fileBodies.clear();
         clearResources();
         return this;
     }
@@ -252,6 +279,7 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
             finalizer.accept(entry.getKey(), entry.getValue());
             it.remove();
         }
+        fileBodies.clear();
         clearResources();
         return this;
     }
@@ -267,6 +295,7 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
             finalizer.accept(it.next());
             it.remove();
         }
+        fileBodies.clear();
         clearResources();
         return this;
     }
@@ -319,8 +348,10 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
             final RequestBody body = IOUtil.createRequestBody(Requester.MEDIA_TYPE_OCTET, entry.getValue());
             builder.addFormDataPart("file" + index++, entry.getKey(), body);
         }
+        for (Map.Entry<String, RequestBody> entry : fileBodies.entrySet())
+            builder.addFormDataPart("file" + index++, entry.getKey(), entry.getValue());
         if (!isEmpty())
-            builder.addFormDataPart("payload_json", getJSON().toString());
+            builder.addFormDataPart("payload_json", null, RequestBody.create(null, getJSON()));
         // clear remaining resources, they will be closed after being sent
         files.clear();
         ownedResources.clear();
@@ -329,44 +360,40 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
 
     protected RequestBody asJSON()
     {
-        return RequestBody.create(Requester.MEDIA_TYPE_JSON, getJSON().toString());
+        return RequestBody.create(Requester.MEDIA_TYPE_JSON, getJSON());
     }
 
-    protected DataObject getJSON()
+    // Written directly by a streaming generator, the embed is only serialized once and reused as a raw value
+    protected byte[] getJSON()
     {
-        final DataObject obj = DataObject.empty();
-        if (override)
-        {
-            if (embed == null)
-                obj.putNull("embed");
-            else
-                obj.put("embed", embed);
-            if (content.length() == 0)
-                obj.putNull("content");
-            else
-                obj.put("content", content.toString());
-            if (nonce == null)
-                obj.putNull("nonce");
-            else
-                obj.put("nonce", nonce);
-            obj.put("tts", tts);
-        }
-        else
+        return JsonUtil.write(generator ->
         {
+            generator.writeStartObject();
             if (embed != null)
-                obj.put("embed", embed);
+            {
+                generator.writeFieldName("embed");
+                generator.writeRawValue(embed.toJson());
+            }
+            else if (override)
+            {
+                generator.writeNullField("embed");
+            }
             if (content.length() > 0)
-                obj.put("content", content.toString());
+                generator.writeStringField("content", content.toString());
+            else if (override)
+                generator.writeNullField("content");
             if (nonce != null)
-                obj.put("nonce", nonce);
-            obj.put("tts", tts);
-        }
-        return obj;
+                generator.writeStringField("nonce", nonce);
+            else if (override)
+                generator.writeNullField("nonce");
+            generator.writeBooleanField("tts", tts);
+            generator.writeEndObject();
+        });
     }
 
     protected void checkFileAmount()
     {
-        if (files.size() >= Message.MAX_FILE_AMOUNT)
+        if (files.size() + fileBodies.size() >= Message.MAX_FILE_AMOUNT)
             throw new IllegalStateException("Cannot add more than " + Message.MAX_FILE_AMOUNT + " files!");
     }
 
@@ -397,7 +424,7 @@ public class MessageActionImpl extends RestActionImpl<Message> implements Messag
     @Override
     protected RequestBody finalizeData()
     {
-        if (!files.isEmpty())
+        if (!files.isEmpty() || !fileBodies.isEmpty())
             return asMultipart();
         else if (!isEmpty())
             return asJSON();
@@ -26,11 +26,13 @@ import net.dv8tion.jda.internal.utils.Checks;
 import javax.annotation.Nonnull;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
     extends RestActionImpl<List<T>>
@@ -45,6 +47,7 @@ public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
     protected volatile long lastKey = 0;
     protected volatile T last = null;
     protected volatile boolean useCache = true;
+    protected volatile boolean prefetch = false;
 
     /**
      * Creates a new PaginationAction instance
@@ -180,6 +183,21 @@ public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
         return useCache;
     }
 
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public M prefetch(final boolean enablePrefetch)
+    {
+        this.prefetch = enablePrefetch;
+        return (M) this;
+    }
+
+    @Override
+    public boolean isPrefetchEnabled()
+    {
+        return prefetch;
+    }
+
     @Override
     public final int getMaxLimit()
     {
@@ -231,7 +249,7 @@ public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
     @Override
     public PaginationIterator<T> iterator()
     {
-        return new PaginationIterator<>(cached, this::getNextChunk);
+        return new PaginationIterator<>(cached, prefetch ? new PrefetchingSupplier() : this::getNextChunk);
     }
 
     @Nonnull
@@ -324,6 +342,15 @@ public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
         return list;
     }
 
+    protected CompletableFuture<List<T>> requestNextChunk()
+    {
+        // the route is compiled in submit(), the limit can be reset right away
+        final int current = limit.getAndSet(getMaxLimit());
+        CompletableFuture<List<T>> future = submit();
+        limit.set(current);
+        return future;
+    }
+
     protected abstract long getKey(T it);
 
     protected int getIteratorIndex()
@@ -372,13 +399,15 @@ public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
             }
             initial = false;
 
+            // request the next page before the current one is consumed
+            final CompletableFuture<List<T>> next = prefetch && !list.isEmpty() ? requestNextChunk() : null;
             T previous = null;
             for (T it : list)
             {
                 if (task.isCancelled())
                 {
                     if (previous != null)
-                        updateIndex(previous);
+                        stop(next, previous, false);
                     return;
                 }
                 if (action.execute(it))
@@ -387,8 +416,19 @@ public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
                     continue;
                 }
                 // set the iterator index for next call of remaining
-                updateIndex(it);
-                task.complete(null);
+                stop(next, it, true);
+                return;
+            }
+
+            if (next != null)
+            {
+                next.whenComplete((page, error) ->
+                {
+                    if (error != null)
+                        throwableConsumer.accept(error instanceof CompletionException ? error.getCause() : error);
+                    else
+                        accept(page);
+                });
                 return;
             }
 
@@ -396,5 +436,54 @@ public abstract class PaginationActionImpl<T, M extends PaginationAction<T, M>>
             queue(this, throwableConsumer);
             limit.set(currentLimit);
         }
+
+        protected void stop(CompletableFuture<List<T>> next, T it, boolean complete)
+        {
+            if (next == null)
+            {
+                updateIndex(it);
+                if (complete)
+                    task.complete(null);
+                return;
+            }
+            // the prefetched page moves the last key, it has to be reset once that request is done
+            next.whenComplete((page, error) ->
+            {
+                updateIndex(it);
+                if (complete)
+                    task.complete(null);
+            });
+        }
+    }
+
+    protected class PrefetchingSupplier implements Supplier<List<T>>
+    {
+        protected CompletableFuture<List<T>> next;
+
+        @Override
+        public List<T> get()
+        {
+            List<T> list;
+            if (next == null)
+            {
+                list = getNextChunk();
+            }
+            else
+            {
+                try
+                {
+                    list = next.join();
+                }
+                catch (CompletionException ex)
+                {
+                    if (ex.getCause() instanceof RuntimeException)
+                        throw (RuntimeException) ex.getCause();
+                    throw ex;
+                }
+            }
+
+            next = list.isEmpty() ? null : requestNextChunk();
+            return list;
+        }
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Request body which streams a file from disk every time it is written.
+ * <br>Unlike {@link BufferedRequestBody} the content is never held on the heap, the body can be written any amount
+ * of times and shared between requests.
+ */
+public class FileRequestBody extends RequestBody
+{
+    private final Path path;
+    private final MediaType type;
+    private final long length;
+
+    public FileRequestBody(Path path, MediaType type, long length)
+    {
+        this.path = path;
+        this.type = type;
+        this.length = length;
+    }
+
+    @Nullable
+    @Override
+    public MediaType contentType()
+    {
+        return type;
+    }
+
+    @Override
+    public long contentLength()
+    {
+        return length;
+    }
+
+    @Override
+    public void writeTo(@Nonnull BufferedSink sink) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            // only the length announced in the headers may be written, even if the file has grown since
+            long position = 0;
+            while (position < length)
+            {
+                long transferred = channel.transferTo(position, length - position, sink);
+                if (transferred <= 0)
+                    throw new IOException("File " + path + " is shorter than expected");
+                position += transferred;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import net.dv8tion.jda.api.utils.IOConsumer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Reads and writes json directly with the streaming api, without building a {@link net.dv8tion.jda.api.utils.data.DataObject} first.
+ */
+public class JsonUtil
+{
+    private static final JsonFactory factory = new JsonFactory();
+
+    public static byte[] write(IOConsumer<JsonGenerator> writer)
+    {
+        try (ByteArrayBuilder out = new ByteArrayBuilder())
+        {
+            try (JsonGenerator generator = factory.createGenerator(out))
+            {
+                writer.accept(generator);
+            }
+            return out.toByteArray();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static JsonParser createParser(String json) throws IOException
+    {
+        return factory.createParser(json);
+    }
+
+    public static void writeStringField(JsonGenerator generator, String name, String value) throws IOException
+    {
+        if (value != null)
+            generator.writeStringField(name, value);
+    }
+}
@@ -32,16 +32,23 @@ import java.util.*;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public abstract class AbstractCacheView<T> extends ReadWriteLockCache<T> implements CacheView<T>
 {
-    protected final TLongObjectMap<T> elements = new TLongObjectHashMap<>();
+    protected final TLongObjectMap<T> elements = new ElementMap();
     protected final T[] emptyArray;
     protected final Function<T, String> nameMapper;
     protected final Class<T> type;
 
+    // ids which have to be re-indexed before the next indexed lookup, also used as lock for the indexes
+    protected final TLongSet staleIds = new TLongHashSet();
+    protected List<CacheIndex<T>> indexes;
+    protected CacheIndex<T> nameIndex;
+    protected CacheIndex<T> foldedNameIndex;
+
     @SuppressWarnings("unchecked")
     protected AbstractCacheView(Class<T> type, Function<T, String> nameMapper)
     {
@@ -65,6 +72,111 @@ public abstract class AbstractCacheView<T> extends ReadWriteLockCache<T> impleme
         return elements;
     }
 
+    /**
+     * Enables the hash indexes of this view, which replace the full scans of the name lookups.
+     * <br>Elements are re-indexed on the next lookup after they were added or removed, changes to the keys of an element
+     * have to be reported with {@link #updateIndex(long)}.
+     */
+    public void enableIndex()
+    {
+        try (UnlockHook hook = writeLock())
+        {
+            if (indexes != null)
+                return;
+            indexes = new ArrayList<>();
+            createIndexes();
+            synchronized (staleIds)
+            {
+                staleIds.addAll(elements.keys());
+            }
+        }
+    }
+
+    public boolean isIndexed()
+    {
+        return indexes != null;
+    }
+
+    /**
+     * Marks the element with the provided id to be re-indexed.
+     * <br>This has to be called after an indexed key, such as the name, of a cached element was changed.
+     */
+    public void updateIndex(long id)
+    {
+        if (indexes == null)
+            return;
+        synchronized (staleIds)
+        {
+            staleIds.add(id);
+        }
+    }
+
+    protected void createIndexes()
+    {
+        if (nameMapper == null)
+            return;
+        nameIndex = addIndex(CacheIndex.byName(nameMapper));
+        foldedNameIndex = addIndex(CacheIndex.byFoldedName(nameMapper));
+    }
+
+    protected CacheIndex<T> addIndex(CacheIndex<T> index)
+    {
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Collects the elements which are indexed with all provided keys and match the filter.
+     * <br>Only the ids of the smallest key are visited, the filter has to check the remaining keys.
+     */
+    protected List<T> getIndexed(CacheIndex<T> index, Collection<?> keys, Predicate<? super T> filter)
+    {
+        List<T> list = new ArrayList<>();
+        try (UnlockHook hook = readLock())
+        {
+            synchronized (staleIds)
+            {
+                reindex();
+                TLongSet ids = null;
+                for (Object key : keys)
+                {
+                    TLongSet keyIds = index.get(key);
+                    if (ids == null || keyIds.size() < ids.size())
+                        ids = keyIds;
+                }
+                if (ids == null)
+                    return list;
+                ids.forEach(id ->
+                {
+                    T element = elements.get(id);
+                    if (element != null && filter.test(element))
+                        list.add(element);
+                    return true;
+                });
+            }
+        }
+        return list;
+    }
+
+    protected List<T> getIndexed(CacheIndex<T> index, Object key, Predicate<? super T> filter)
+    {
+        return getIndexed(index, Collections.singletonList(key), filter);
+    }
+
+    private void reindex()
+    {
+        if (staleIds.isEmpty())
+            return;
+        staleIds.forEach(id ->
+        {
+            T element = elements.get(id);
+            for (CacheIndex<T> index : indexes)
+                index.update(id, element);
+            return true;
+        });
+        staleIds.clear();
+    }
+
     public T get(long id)
     {
         try (UnlockHook hook = readLock())
@@ -177,6 +289,16 @@ public abstract class AbstractCacheView<T> extends ReadWriteLockCache<T> impleme
             throw new UnsupportedOperationException("The contained elements are not assigned with names.");
         if (isEmpty())
             return Collections.emptyList();
+        if (nameIndex != null)
+        {
+            // the folded name only narrows down the candidates, the name is still compared as usual
+            Object key = ignoreCase ? CacheIndex.fold(name) : name;
+            return getIndexed(ignoreCase ? foldedNameIndex : nameIndex, key, elem ->
+            {
+                String elementName = nameMapper.apply(elem);
+                return elementName != null && equals(ignoreCase, elementName, name);
+            });
+        }
         List<T> list = new ArrayList<>();
         forEach(elem ->
         {
@@ -253,4 +375,43 @@ public abstract class AbstractCacheView<T> extends ReadWriteLockCache<T> impleme
     {
         return ignoreCase ? first.equalsIgnoreCase(second) : first.equals(second);
     }
+
+    // Every write to the map goes through these methods, even removals by iterators use removeAt
+    @SuppressWarnings("serial") // the map is never serialized
+    private class ElementMap extends TLongObjectHashMap<T>
+    {
+        @Override
+        public T put(long key, T value)
+        {
+            updateIndex(key);
+            return super.put(key, value);
+        }
+
+        @Override
+        public T putIfAbsent(long key, T value)
+        {
+            updateIndex(key);
+            return super.putIfAbsent(key, value);
+        }
+
+        @Override
+        protected void removeAt(int index)
+        {
+            updateIndex(_set[index]);
+            super.removeAt(index);
+        }
+
+        @Override
+        public void clear()
+        {
+            super.clear();
+            if (indexes == null)
+                return;
+            synchronized (staleIds)
+            {
+                staleIds.clear();
+                indexes.forEach(CacheIndex::clear);
+            }
+        }
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.cache;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Hash index from keys, such as names or roles, to the ids of the elements of a cache view.
+ * <br>The index is not thread-safe, it is only accessed by {@link AbstractCacheView} while holding its index lock.
+ *
+ * @param <T> The element type
+ */
+public class CacheIndex<T>
+{
+    private static final TLongSet NONE = new TLongHashSet(0);
+
+    private final Function<? super T, ? extends Collection<?>> keyMapper;
+    private final Map<Object, TLongSet> index = new HashMap<>();
+    private final TLongObjectMap<Object[]> keys = new TLongObjectHashMap<>();
+
+    /**
+     * @param keyMapper
+     *        Provides all keys of an element, the keys are copied when the element is indexed
+     */
+    public CacheIndex(Function<? super T, ? extends Collection<?>> keyMapper)
+    {
+        this.keyMapper = keyMapper;
+    }
+
+    public static <T> CacheIndex<T> byName(Function<? super T, String> nameMapper)
+    {
+        return new CacheIndex<>(element -> Collections.singletonList(nameMapper.apply(element)));
+    }
+
+    public static <T> CacheIndex<T> byFoldedName(Function<? super T, String> nameMapper)
+    {
+        return new CacheIndex<>(element -> Collections.singletonList(fold(nameMapper.apply(element))));
+    }
+
+    /**
+     * Case folding which agrees with {@link String#equalsIgnoreCase(String)},
+     * two strings which are equal ignoring case always have the same folded form.
+     */
+    public static String fold(String name)
+    {
+        if (name == null)
+            return null;
+        StringBuilder builder = null;
+        for (int i = 0; i < name.length(); )
+        {
+            int codePoint = name.codePointAt(i);
+            int folded = Character.toLowerCase(Character.toUpperCase(codePoint));
+            if (folded != codePoint && builder == null)
+                builder = new StringBuilder(name.length()).append(name, 0, i);
+            if (builder != null)
+                builder.appendCodePoint(folded);
+            i += Character.charCount(codePoint);
+        }
+        return builder == null ? name : builder.toString();
+    }
+
+    /**
+     * Replaces the keys of the element with the provided id.
+     *
+     * @param id
+     *        The element id
+     * @param element
+     *        The current element, or null to remove the id from this index
+     */
+    public void update(long id, T element)
+    {
+        remove(id);
+        if (element == null)
+            return;
+        Object[] elementKeys = keyMapper.apply(element).toArray();
+        if (elementKeys.length == 0)
+            return;
+        keys.put(id, elementKeys);
+        for (Object key : elementKeys)
+            index.computeIfAbsent(key, k -> new TLongHashSet()).add(id);
+    }
+
+    public void remove(long id)
+    {
+        Object[] elementKeys = keys.remove(id);
+        if (elementKeys == null)
+            return;
+        for (Object key : elementKeys)
+        {
+            TLongSet ids = index.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty())
+                index.remove(key);
+        }
+    }
+
+    /**
+     * The ids indexed with the provided key.
+     * <br>The returned set is backed by this index and must not be modified.
+     */
+    public TLongSet get(Object key)
+    {
+        TLongSet ids = index.get(key);
+        return ids == null ? NONE : ids;
+    }
+
+    public void clear()
+    {
+        index.clear();
+        keys.clear();
+    }
+}
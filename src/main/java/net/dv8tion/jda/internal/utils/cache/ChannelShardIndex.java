@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.cache;
+
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+
+/**
+ * Maps guild channel ids to the shard of their guild.
+ * <br>The shard of a channel never changes, so an entry is only wrong after the channel was deleted.
+ * Lookups for such a channel simply miss in the shard.
+ */
+public class ChannelShardIndex
+{
+    private final TLongIntMap shards = new TLongIntHashMap(16, 0.5f, 0, -1);
+
+    public synchronized void put(long channelId, int shardId)
+    {
+        shards.put(channelId, shardId);
+    }
+
+    public synchronized void remove(long channelId)
+    {
+        shards.remove(channelId);
+    }
+
+    /**
+     * @return The shard id, or {@code -1} if the channel is not indexed
+     */
+    public synchronized int get(long channelId)
+    {
+        return shards.get(channelId);
+    }
+
+    public synchronized int size()
+    {
+        return shards.size();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.cache;
+
+import gnu.trove.set.TLongSet;
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.utils.LockIterator;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+
+/**
+ * Cache view which loads missing elements on demand.
+ * <br>Lookups by id call the loader on a miss, everything that iterates the view loads all pending elements first.
+ *
+ * @param <T> The element type
+ */
+public class LoadingSnowflakeCacheViewImpl<T extends ISnowflake> extends SnowflakeCacheViewImpl<T>
+{
+    protected final LongPredicate loader;
+    protected final Runnable loadAll;
+
+    /**
+     * @param loader
+     *        Loads the element with the provided id into this view, returns false if there was nothing to load
+     * @param loadAll
+     *        Loads all pending elements into this view
+     */
+    public LoadingSnowflakeCacheViewImpl(Class<T> type, Function<T, String> nameMapper, LongPredicate loader, Runnable loadAll)
+    {
+        super(type, nameMapper);
+        this.loader = loader;
+        this.loadAll = loadAll;
+    }
+
+    @Override
+    public T get(long id)
+    {
+        T element = super.get(id);
+        // The loader must run without holding the read lock, it writes to this view
+        if (element == null && loader.test(id))
+            element = super.get(id);
+        return element;
+    }
+
+    @Override
+    public T getElementById(long id)
+    {
+        return get(id);
+    }
+
+    @Override
+    public TLongSet keySet()
+    {
+        loadAll.run();
+        return super.keySet();
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action)
+    {
+        loadAll.run();
+        super.forEach(action);
+    }
+
+    @Nonnull
+    @Override
+    public LockIterator<T> lockedIterator()
+    {
+        loadAll.run();
+        return super.lockedIterator();
+    }
+
+    @Nonnull
+    @Override
+    public List<T> asList()
+    {
+        loadAll.run();
+        return super.asList();
+    }
+
+    @Nonnull
+    @Override
+    public Set<T> asSet()
+    {
+        loadAll.run();
+        return super.asSet();
+    }
+
+    @Override
+    public long size()
+    {
+        loadAll.run();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        loadAll.run();
+        return super.isEmpty();
+    }
+
+    @Nonnull
+    @Override
+    public List<T> getElementsByName(@Nonnull String name, boolean ignoreCase)
+    {
+        loadAll.run();
+        return super.getElementsByName(name, ignoreCase);
+    }
+
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        loadAll.run();
+        return super.spliterator();
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator()
+    {
+        loadAll.run();
+        return super.iterator();
+    }
+}
@@ -18,7 +18,9 @@ package net.dv8tion.jda.internal.utils.cache;
 
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.utils.cache.MemberCacheView;
+import net.dv8tion.jda.internal.entities.MemberImpl;
 import net.dv8tion.jda.internal.utils.Checks;
 
 import javax.annotation.Nonnull;
@@ -27,11 +29,40 @@ import java.util.*;
 
 public class MemberCacheViewImpl extends SnowflakeCacheViewImpl<Member> implements MemberCacheView
 {
+    private AbstractCacheView<User> users;
+    private CacheIndex<Member> nicknameIndex;
+    private CacheIndex<Member> foldedNicknameIndex;
+    private CacheIndex<Member> roleIndex;
+
     public MemberCacheViewImpl()
     {
         super(Member.class, Member::getEffectiveName);
     }
 
+    /**
+     * Enables the indexes of this view, usernames are looked up in the index of the provided user view.
+     */
+    public void enableIndex(AbstractCacheView<User> users)
+    {
+        this.users = users;
+        enableIndex();
+    }
+
+    @Override
+    protected void createIndexes()
+    {
+        // The username and effective name are resolved through the user view,
+        // this way a renamed user does not have to be re-indexed in every guild
+        nicknameIndex = addIndex(CacheIndex.byName(Member::getNickname));
+        foldedNicknameIndex = addIndex(CacheIndex.byFoldedName(Member::getNickname));
+        roleIndex = addIndex(new CacheIndex<>(member -> ((MemberImpl) member).getRoleSet()));
+    }
+
+    private boolean isUserIndexed()
+    {
+        return isIndexed() && users != null && users.isIndexed();
+    }
+
     @Override
     public Member getElementById(long id)
     {
@@ -45,6 +76,8 @@ public class MemberCacheViewImpl extends SnowflakeCacheViewImpl<Member> implemen
         Checks.notEmpty(name, "Name");
         if (isEmpty())
             return Collections.emptyList();
+        if (isUserIndexed())
+            return Collections.unmodifiableList(getMembers(users.getElementsByName(name, ignoreCase)));
         List<Member> members = new ArrayList<>();
         forEach(member ->
         {
@@ -61,6 +94,8 @@ public class MemberCacheViewImpl extends SnowflakeCacheViewImpl<Member> implemen
     {
         if (isEmpty())
             return Collections.emptyList();
+        if (isIndexed())
+            return Collections.unmodifiableList(getIndexedByNickname(name, ignoreCase));
         List<Member> members = new ArrayList<>();
         forEach(member ->
         {
@@ -93,6 +128,8 @@ public class MemberCacheViewImpl extends SnowflakeCacheViewImpl<Member> implemen
         Checks.noneNull(roles, "Roles");
         if (isEmpty())
             return Collections.emptyList();
+        if (isIndexed() && !roles.isEmpty())
+            return getIndexed(roleIndex, roles, member -> ((MemberImpl) member).getRoleSet().containsAll(roles));
         List<Member> members = new ArrayList<>();
         forEach(member ->
         {
@@ -101,4 +138,46 @@ public class MemberCacheViewImpl extends SnowflakeCacheViewImpl<Member> implemen
         });
         return members;
     }
+
+    @Nonnull
+    @Override
+    public List<Member> getElementsByName(@Nonnull String name, boolean ignoreCase)
+    {
+        Checks.notEmpty(name, "Name");
+        if (isEmpty() || !isUserIndexed())
+            return super.getElementsByName(name, ignoreCase);
+        // The effective name is either the nickname or the username of a member without nickname
+        List<Member> members = getIndexedByNickname(name, ignoreCase);
+        for (Member member : getMembers(users.getElementsByName(name, ignoreCase)))
+        {
+            if (member.getNickname() == null)
+                members.add(member);
+        }
+        return members;
+    }
+
+    private List<Member> getIndexedByNickname(String name, boolean ignoreCase)
+    {
+        if (ignoreCase)
+        {
+            return getIndexed(foldedNicknameIndex, CacheIndex.fold(name), member ->
+            {
+                String nick = member.getNickname();
+                return nick == null ? name == null : name != null && equals(true, nick, name);
+            });
+        }
+        return getIndexed(nicknameIndex, name, member -> Objects.equals(member.getNickname(), name));
+    }
+
+    private List<Member> getMembers(List<User> matches)
+    {
+        List<Member> members = new ArrayList<>(matches.size());
+        for (User user : matches)
+        {
+            Member member = get(user.getIdLong());
+            if (member != null)
+                members.add(member);
+        }
+        return members;
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.cache;
+
+import gnu.trove.map.TLongObjectMap;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.internal.entities.CompactMessage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of received messages in their {@link CompactMessage compact form}.
+ * <br>Each channel keeps its messages in insertion order and drops the oldest ones once it exceeds the per-channel limit.
+ * All messages together are ordered by their last access and the least recently used message is dropped
+ * once the total limit is exceeded. Messages older than the maximum age are dropped when they are accessed.
+ */
+public class MessageCache
+{
+    private final int channelLimit;
+    private final int totalLimit;
+    private final long maxAge;
+    private final LongSupplier clock;
+    // message id -> channel id, ordered by access
+    private final LinkedHashMap<Long, Long> recent = new LinkedHashMap<>(16, 0.75f, true);
+    private final TLongObjectMap<LinkedHashMap<Long, Entry>> channels = MiscUtil.newLongMap();
+
+    /**
+     * @param channelLimit
+     *        The maximum amount of messages per channel
+     * @param totalLimit
+     *        The maximum amount of messages in all channels
+     * @param maxAge
+     *        The maximum time in milliseconds a message is kept, or {@code 0} to keep messages until they are evicted
+     */
+    public MessageCache(int channelLimit, int totalLimit, long maxAge)
+    {
+        this(channelLimit, totalLimit, maxAge, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock
+     *        The source of the current time in milliseconds, used to decide on the age of messages
+     */
+    public MessageCache(int channelLimit, int totalLimit, long maxAge, LongSupplier clock)
+    {
+        this.channelLimit = channelLimit;
+        this.totalLimit = totalLimit;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public synchronized void put(CompactMessage message)
+    {
+        long channelId = message.getChannelIdLong();
+        long messageId = message.getIdLong();
+        LinkedHashMap<Long, Entry> channel = channels.get(channelId);
+        if (channel == null)
+            channels.put(channelId, channel = new LinkedHashMap<>());
+        // Remove first to move updated messages to the end of the channel
+        channel.remove(messageId);
+        channel.put(messageId, new Entry(message, clock.getAsLong()));
+        recent.put(messageId, channelId);
+
+        if (maxAge > 0)
+        {
+            // Messages of a channel are ordered by the time they were cached
+            Iterator<Map.Entry<Long, Entry>> it = channel.entrySet().iterator();
+            while (it.hasNext())
+            {
+                Map.Entry<Long, Entry> entry = it.next();
+                if (!isExpired(entry.getValue()))
+                    break;
+                recent.remove(entry.getKey());
+                it.remove();
+            }
+        }
+        if (channel.size() > channelLimit)
+        {
+            Iterator<Long> it = channel.keySet().iterator();
+            recent.remove(it.next());
+            it.remove();
+        }
+        if (recent.size() > totalLimit)
+        {
+            Iterator<Map.Entry<Long, Long>> it = recent.entrySet().iterator();
+            Map.Entry<Long, Long> eldest = it.next();
+            it.remove();
+            removeFromChannel(eldest.getValue(), eldest.getKey());
+        }
+    }
+
+    public synchronized CompactMessage get(long channelId, long messageId)
+    {
+        LinkedHashMap<Long, Entry> channel = channels.get(channelId);
+        Entry entry = channel == null ? null : channel.get(messageId);
+        if (entry == null)
+            return null;
+        if (isExpired(entry))
+        {
+            remove(channelId, messageId);
+            return null;
+        }
+        recent.get(messageId); // marks the message as recently used
+        return entry.message;
+    }
+
+    /**
+     * Replaces a cached message with the result of the provided function.
+     * <br>The message keeps its position and age, unlike {@link #put(CompactMessage)} this does not count as an access.
+     *
+     * @param channelId
+     *        The channel id
+     * @param messageId
+     *        The message id
+     * @param updater
+     *        Creates the new version of the message, only called if the message is cached
+     */
+    public synchronized void update(long channelId, long messageId, UnaryOperator<CompactMessage> updater)
+    {
+        LinkedHashMap<Long, Entry> channel = channels.get(channelId);
+        Entry entry = channel == null ? null : channel.get(messageId);
+        if (entry == null || isExpired(entry))
+            return;
+        channel.put(messageId, new Entry(updater.apply(entry.message), entry.time));
+    }
+
+    public synchronized CompactMessage remove(long channelId, long messageId)
+    {
+        Entry entry = removeFromChannel(channelId, messageId);
+        if (entry == null)
+            return null;
+        recent.remove(messageId);
+        return isExpired(entry) ? null : entry.message;
+    }
+
+    public synchronized void removeChannel(long channelId)
+    {
+        LinkedHashMap<Long, Entry> channel = channels.remove(channelId);
+        if (channel != null)
+            channel.keySet().forEach(recent::remove);
+    }
+
+    public synchronized void clear()
+    {
+        recent.clear();
+        channels.clear();
+    }
+
+    public synchronized int size()
+    {
+        return recent.size();
+    }
+
+    private Entry removeFromChannel(long channelId, long messageId)
+    {
+        LinkedHashMap<Long, Entry> channel = channels.get(channelId);
+        if (channel == null)
+            return null;
+        Entry entry = channel.remove(messageId);
+        if (channel.isEmpty())
+            channels.remove(channelId);
+        return entry;
+    }
+
+    private boolean isExpired(Entry entry)
+    {
+        return maxAge > 0 && clock.getAsLong() - entry.time > maxAge;
+    }
+
+    private static class Entry
+    {
+        private final CompactMessage message;
+        private final long time;
+
+        private Entry(CompactMessage message, long time)
+        {
+            this.message = message;
+            this.time = time;
+        }
+    }
+}
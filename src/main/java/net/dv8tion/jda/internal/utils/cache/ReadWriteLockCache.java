@@ -50,6 +50,14 @@ public abstract class ReadWriteLockCache<T>
         return new UnlockHook(readLock);
     }
 
+    /**
+     * Whether the current thread holds a read lock of this cache, a write lock cannot be acquired in that case.
+     */
+    public boolean isReadLockedByCurrentThread()
+    {
+        return lock.getReadHoldCount() > 0;
+    }
+
     public void clearCachedLists()
     {
         cachedList = null;
@@ -30,6 +30,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -70,7 +71,8 @@ public class UnifiedCacheViewImpl<T, E extends CacheView<T>> implements CacheVie
     @Override
     public List<T> asList()
     {
-        List<T> list = new LinkedList<>();
+        // the size is an upper bound since duplicates are skipped
+        List<T> list = new ArrayList<>((int) Math.min(Integer.MAX_VALUE, size()));
         forEach(list::add);
         return Collections.unmodifiableList(list);
     }
@@ -135,14 +137,33 @@ public class UnifiedCacheViewImpl<T, E extends CacheView<T>> implements CacheVie
     public static class UnifiedSnowflakeCacheView<T extends ISnowflake>
         extends UnifiedCacheViewImpl<T, SnowflakeCacheView<T>> implements SnowflakeCacheView<T>
     {
+        protected final LongFunction<? extends SnowflakeCacheView<T>> router;
+
         public UnifiedSnowflakeCacheView(Supplier<? extends Stream<? extends SnowflakeCacheView<T>>> generator)
+        {
+            this(generator, null);
+        }
+
+        /**
+         * @param router
+         *        Resolves the only view which can contain the provided id, or null if no view contains it
+         */
+        public UnifiedSnowflakeCacheView(
+            Supplier<? extends Stream<? extends SnowflakeCacheView<T>>> generator,
+            @Nullable LongFunction<? extends SnowflakeCacheView<T>> router)
         {
             super(generator);
+            this.router = router;
         }
 
         @Override
         public T getElementById(long id)
         {
+            if (router != null)
+            {
+                SnowflakeCacheView<T> view = router.apply(id);
+                return view == null ? null : view.getElementById(id);
+            }
             return generator.get()
                 .map(view -> view.getElementById(id))
                 .filter(Objects::nonNull)
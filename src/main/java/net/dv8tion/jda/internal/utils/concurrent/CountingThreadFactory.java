@@ -25,17 +25,32 @@ public class CountingThreadFactory implements ThreadFactory
 {
     private final Supplier<String> identifier;
     private final AtomicLong count = new AtomicLong(1);
+    private final boolean virtual;
 
     public CountingThreadFactory(@Nonnull Supplier<String> identifier, @Nonnull String specifier)
+    {
+        this(identifier, specifier, false);
+    }
+
+    public CountingThreadFactory(@Nonnull Supplier<String> identifier, @Nonnull String specifier, boolean virtual)
     {
         this.identifier = () -> identifier.get() + " " + specifier;
+        this.virtual = virtual;
     }
 
     @Nonnull
     @Override
     public Thread newThread(@Nonnull Runnable r)
     {
-        final Thread thread = new Thread(r, identifier.get() + "-Worker " + count.getAndIncrement());
+        final String name = identifier.get() + "-Worker " + count.getAndIncrement();
+        if (virtual)
+        {
+            // virtual threads are always daemon threads
+            final Thread thread = VirtualThreads.newThread(r);
+            thread.setName(name);
+            return thread;
+        }
+        final Thread thread = new Thread(r, name);
         thread.setDaemon(true);
         return thread;
     }
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.concurrent;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link ScheduledExecutorService} which only uses a small scheduler to wait for the delays
+ * and runs every task on a separate executor, usually a per-task executor of virtual threads.
+ * <br>Tasks which block, like rate-limit buckets waiting for their response, therefore never hold up the scheduler.
+ *
+ * <p>Periodic tasks never run concurrently with themselves, a fixed rate execution is skipped if the previous one
+ * is still running. On {@link #shutdown()} the delayed tasks are still handed off, like with a
+ * {@link ScheduledThreadPoolExecutor}, and the executor is shut down once the scheduler terminated.
+ */
+public class HandoffScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService
+{
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ExecutorService executor;
+
+    public HandoffScheduledExecutor(@Nonnull ThreadFactory schedulerFactory, @Nonnull ExecutorService executor)
+    {
+        this.executor = executor;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, schedulerFactory)
+        {
+            @Override
+            protected void terminated()
+            {
+                executor.shutdown();
+            }
+        };
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable command)
+    {
+        executor.execute(command);
+    }
+
+    @Nonnull
+    @Override
+    public ScheduledFuture<?> schedule(@Nonnull Runnable command, long delay, @Nonnull TimeUnit unit)
+    {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Nonnull
+    @Override
+    public <V> ScheduledFuture<V> schedule(@Nonnull Callable<V> callable, long delay, @Nonnull TimeUnit unit)
+    {
+        Task<V> task = new Task<>(callable);
+        task.trigger = scheduler.schedule(() -> handoff(task), delay, unit);
+        return task;
+    }
+
+    @Nonnull
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(@Nonnull Runnable command, long initialDelay, long period, @Nonnull TimeUnit unit)
+    {
+        PeriodicTask task = new PeriodicTask(command, 0, unit);
+        task.trigger = scheduler.scheduleAtFixedRate(task::handoff, initialDelay, period, unit);
+        return task;
+    }
+
+    @Nonnull
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(@Nonnull Runnable command, long initialDelay, long delay, @Nonnull TimeUnit unit)
+    {
+        if (delay <= 0)
+            throw new IllegalArgumentException("Delay must be positive");
+        PeriodicTask task = new PeriodicTask(command, delay, unit);
+        task.trigger = scheduler.schedule(task::handoff, initialDelay, unit);
+        return task;
+    }
+
+    @Override
+    public void shutdown()
+    {
+        scheduler.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public List<Runnable> shutdownNow()
+    {
+        List<Runnable> tasks = new ArrayList<>(scheduler.shutdownNow());
+        tasks.addAll(executor.shutdownNow());
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown()
+    {
+        return scheduler.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated()
+    {
+        return scheduler.isTerminated() && executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @Nonnull TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return scheduler.awaitTermination(timeout, unit)
+            && executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private void handoff(FutureTask<?> task)
+    {
+        try
+        {
+            executor.execute(task);
+        }
+        catch (RejectedExecutionException e)
+        {
+            task.cancel(false);
+        }
+    }
+
+    private static long getDelay(ScheduledFuture<?> trigger, TimeUnit unit)
+    {
+        return trigger == null ? 0 : trigger.getDelay(unit);
+    }
+
+    private static int compare(Delayed first, Delayed second)
+    {
+        return Long.compare(first.getDelay(TimeUnit.NANOSECONDS), second.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    private static class Task<V> extends FutureTask<V> implements ScheduledFuture<V>
+    {
+        private volatile ScheduledFuture<?> trigger;
+
+        private Task(Callable<V> callable)
+        {
+            super(callable);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            ScheduledFuture<?> trigger = this.trigger;
+            if (trigger != null)
+                trigger.cancel(false);
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit)
+        {
+            return HandoffScheduledExecutor.getDelay(trigger, unit);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed o)
+        {
+            return compare(this, o);
+        }
+    }
+
+    private class PeriodicTask extends FutureTask<Void> implements ScheduledFuture<Void>
+    {
+        private final AtomicBoolean running = new AtomicBoolean();
+        // Positive for fixed delays, these schedule their next execution themselves
+        private final long delay;
+        private final TimeUnit unit;
+        private volatile ScheduledFuture<?> trigger;
+
+        private PeriodicTask(Runnable command, long delay, TimeUnit unit)
+        {
+            super(command, null);
+            this.delay = delay;
+            this.unit = unit;
+        }
+
+        private void handoff()
+        {
+            if (isDone())
+                cancelTrigger();
+            else if (running.compareAndSet(false, true))
+                HandoffScheduledExecutor.this.handoff(this);
+        }
+
+        @Override
+        public void run()
+        {
+            boolean repeat;
+            try
+            {
+                repeat = runAndReset();
+            }
+            finally
+            {
+                running.set(false);
+            }
+
+            if (!repeat)
+            {
+                cancelTrigger();
+            }
+            else if (delay > 0)
+            {
+                try
+                {
+                    trigger = scheduler.schedule(this::handoff, delay, unit);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    cancel(false);
+                }
+            }
+        }
+
+        private void cancelTrigger()
+        {
+            ScheduledFuture<?> trigger = this.trigger;
+            if (trigger != null)
+                trigger.cancel(false);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            cancelTrigger();
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit)
+        {
+            return HandoffScheduledExecutor.getDelay(trigger, unit);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed o)
+        {
+            return compare(this, o);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.concurrent;
+
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of JDK 21+ without compiling against them.
+ * <br>On older runtimes {@link #isSupported()} is false and the factory methods return {@code null}.
+ */
+public class VirtualThreads
+{
+    private static final Logger LOG = JDALogger.getLog(VirtualThreads.class);
+    private static final ThreadFactory FACTORY;
+    private static final Method NEW_PER_TASK_EXECUTOR;
+
+    static
+    {
+        ThreadFactory factory = null;
+        Method perTaskExecutor = null;
+        try
+        {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+            perTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            factory = null;
+            perTaskExecutor = null;
+        }
+        FACTORY = factory;
+        NEW_PER_TASK_EXECUTOR = perTaskExecutor;
+    }
+
+    public static boolean isSupported()
+    {
+        return FACTORY != null && NEW_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates a new unstarted virtual thread.
+     *
+     * @throws java.lang.UnsupportedOperationException
+     *         If the runtime does not support virtual threads
+     */
+    @Nonnull
+    public static Thread newThread(@Nonnull Runnable r)
+    {
+        if (FACTORY == null)
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+        return FACTORY.newThread(r);
+    }
+
+    /**
+     * Creates an executor which starts a new thread from the provided factory for every task.
+     *
+     * @return The executor, or {@code null} if the runtime does not support virtual threads
+     */
+    @Nullable
+    public static ExecutorService newPerTaskExecutor(@Nonnull ThreadFactory factory)
+    {
+        if (NEW_PER_TASK_EXECUTOR == null)
+            return null;
+        try
+        {
+            return (ExecutorService) NEW_PER_TASK_EXECUTOR.invoke(null, factory);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            LOG.error("Failed to create virtual thread executor", e);
+            return null;
+        }
+    }
+}
@@ -20,12 +20,17 @@ import com.neovisionaries.ws.client.WebSocketFactory;
 import net.dv8tion.jda.api.hooks.VoiceDispatchInterceptor;
 import net.dv8tion.jda.api.utils.SessionController;
 import net.dv8tion.jda.api.utils.SessionControllerAdapter;
+import net.dv8tion.jda.api.utils.SessionStore;
+import net.dv8tion.jda.internal.handle.EventCache;
 import net.dv8tion.jda.internal.utils.config.flags.ConfigFlag;
 import okhttp3.OkHttpClient;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
 
 public class SessionConfig
 {
@@ -33,22 +38,38 @@ public class SessionConfig
     private final OkHttpClient httpClient;
     private final WebSocketFactory webSocketFactory;
     private final VoiceDispatchInterceptor interceptor;
+    private final SessionStore sessionStore;
     private final int largeThreshold;
+    private final int eventCacheLimit;
+    private final Set<String> disabledDispatches;
+    private final int messageCacheChannelLimit;
+    private final int messageCacheLimit;
+    private final long messageCacheMaxAge;
     private EnumSet<ConfigFlag> flags;
     private int maxReconnectDelay;
 
     public SessionConfig(
         @Nullable SessionController sessionController, @Nullable OkHttpClient httpClient,
         @Nullable WebSocketFactory webSocketFactory, @Nullable VoiceDispatchInterceptor interceptor,
-        EnumSet<ConfigFlag> flags, int maxReconnectDelay, int largeThreshold)
+        @Nullable SessionStore sessionStore,
+        EnumSet<ConfigFlag> flags, int maxReconnectDelay, int largeThreshold, int eventCacheLimit,
+        @Nullable Set<String> disabledDispatches,
+        int messageCacheChannelLimit, int messageCacheLimit, long messageCacheMaxAge)
     {
         this.sessionController = sessionController == null ? new SessionControllerAdapter() : sessionController;
         this.httpClient = httpClient;
         this.webSocketFactory = webSocketFactory == null ? new WebSocketFactory() : webSocketFactory;
         this.interceptor = interceptor;
+        this.sessionStore = sessionStore;
         this.flags = flags;
         this.maxReconnectDelay = maxReconnectDelay;
         this.largeThreshold = largeThreshold;
+        this.eventCacheLimit = eventCacheLimit;
+        this.disabledDispatches = disabledDispatches == null || disabledDispatches.isEmpty()
+            ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(disabledDispatches));
+        this.messageCacheChannelLimit = messageCacheChannelLimit;
+        this.messageCacheLimit = messageCacheLimit;
+        this.messageCacheMaxAge = messageCacheMaxAge;
     }
 
     public void setAutoReconnect(boolean autoReconnect)
@@ -83,6 +104,12 @@ public class SessionConfig
         return interceptor;
     }
 
+    @Nullable
+    public SessionStore getSessionStore()
+    {
+        return sessionStore;
+    }
+
     public boolean isAutoReconnect()
     {
         return flags.contains(ConfigFlag.AUTO_RECONNECT);
@@ -108,6 +135,21 @@ public class SessionConfig
         return flags.contains(ConfigFlag.USE_RELATIVE_RATELIMIT);
     }
 
+    public boolean isSharedAudioReceive()
+    {
+        return flags.contains(ConfigFlag.SHARED_AUDIO_RECEIVE);
+    }
+
+    public boolean isLazyGuildLoading()
+    {
+        return flags.contains(ConfigFlag.LAZY_GUILD_LOADING);
+    }
+
+    public boolean isNameIndex()
+    {
+        return flags.contains(ConfigFlag.NAME_INDEX);
+    }
+
     public int getMaxReconnectDelay()
     {
         return maxReconnectDelay;
@@ -118,6 +160,32 @@ public class SessionConfig
         return largeThreshold;
     }
 
+    public int getEventCacheLimit()
+    {
+        return eventCacheLimit;
+    }
+
+    @Nonnull
+    public Set<String> getDisabledDispatches()
+    {
+        return disabledDispatches;
+    }
+
+    public int getMessageCacheChannelLimit()
+    {
+        return messageCacheChannelLimit;
+    }
+
+    public int getMessageCacheLimit()
+    {
+        return messageCacheLimit;
+    }
+
+    public long getMessageCacheMaxAge()
+    {
+        return messageCacheMaxAge;
+    }
+
     public EnumSet<ConfigFlag> getFlags()
     {
         return flags;
@@ -126,6 +194,6 @@ public class SessionConfig
     @Nonnull
     public static SessionConfig getDefault()
     {
-        return new SessionConfig(null, new OkHttpClient(), null, null, ConfigFlag.getDefault(), 900, 250);
+        return new SessionConfig(null, new OkHttpClient(), null, null, null, ConfigFlag.getDefault(), 900, 250, EventCache.DEFAULT_LIMIT, null, 0, 0, 0);
     }
 }
@@ -16,7 +16,11 @@
 
 package net.dv8tion.jda.internal.utils.config;
 
+import net.dv8tion.jda.internal.utils.JDALogger;
 import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
+import net.dv8tion.jda.internal.utils.concurrent.HandoffScheduledExecutor;
+import net.dv8tion.jda.internal.utils.concurrent.VirtualThreads;
+import org.slf4j.Logger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -25,13 +29,21 @@ import java.util.function.Supplier;
 
 public class ThreadingConfig
 {
+    private static final Logger LOG = JDALogger.getLog(ThreadingConfig.class);
+
     private ScheduledExecutorService rateLimitPool;
     private ScheduledExecutorService gatewayPool;
     private ExecutorService callbackPool;
+    private final Object audioLock = new Object();
+    private volatile ScheduledExecutorService audioPool;
+    private volatile ExecutorService audioReceivePool;
 
     private boolean shutdownRateLimitPool;
     private boolean shutdownGatewayPool;
     private boolean shutdownCallbackPool;
+    private boolean shutdownAudioPool;
+    private boolean customCallbackPool;
+    private boolean virtualThreads;
 
     public ThreadingConfig()
     {
@@ -40,6 +52,7 @@ public class ThreadingConfig
         this.shutdownRateLimitPool = true;
         this.shutdownGatewayPool = true;
         this.shutdownCallbackPool = false;
+        this.shutdownAudioPool = true;
     }
 
     public void setRateLimitPool(@Nullable ScheduledExecutorService executor, boolean shutdown)
@@ -58,14 +71,46 @@ public class ThreadingConfig
     {
         this.callbackPool = executor == null ? ForkJoinPool.commonPool() : executor;
         this.shutdownCallbackPool = shutdown;
+        this.customCallbackPool = executor != null;
+    }
+
+    public void setAudioPool(@Nullable ScheduledExecutorService executor, boolean shutdown)
+    {
+        this.audioPool = executor;
+        this.shutdownAudioPool = shutdown;
+    }
+
+    public void setVirtualThreads(boolean enabled)
+    {
+        if (enabled && !VirtualThreads.isSupported())
+        {
+            LOG.warn("Virtual threads are not supported by this runtime, falling back to platform thread pools");
+            enabled = false;
+        }
+        this.virtualThreads = enabled;
     }
 
     public void init(@Nonnull Supplier<String> identifier)
     {
+        if (this.rateLimitPool == null && virtualThreads)
+        {
+            // The buckets block while their request is executed, each one gets its own virtual thread
+            // and only the delays are handled by a single platform thread
+            ExecutorService executor = VirtualThreads.newPerTaskExecutor(new CountingThreadFactory(identifier, "RateLimit", true));
+            if (executor != null)
+                this.rateLimitPool = new HandoffScheduledExecutor(new CountingThreadFactory(identifier, "RateLimit-Scheduler"), executor);
+        }
         if (this.rateLimitPool == null)
             this.rateLimitPool = newScheduler(5, identifier, "RateLimit");
+        // The gateway pool keeps a single thread to preserve the order of its tasks
         if (this.gatewayPool == null)
-            this.gatewayPool = newScheduler(1, identifier, "Gateway");
+            this.gatewayPool = newScheduler(1, identifier, "Gateway", virtualThreads);
+        if (virtualThreads && !customCallbackPool)
+        {
+            ExecutorService executor = VirtualThreads.newPerTaskExecutor(new CountingThreadFactory(identifier, "Callback", true));
+            if (executor != null)
+                setCallbackPool(executor, true);
+        }
     }
 
     public void shutdown()
@@ -87,6 +132,10 @@ public class ThreadingConfig
                 rateLimitPool.shutdown();
             }
         }
+        if (shutdownAudioPool && audioPool != null)
+            audioPool.shutdownNow();
+        if (audioReceivePool != null)
+            audioReceivePool.shutdownNow();
     }
 
     public void shutdownNow()
@@ -97,6 +146,10 @@ public class ThreadingConfig
             gatewayPool.shutdownNow();
         if (shutdownRateLimitPool)
             rateLimitPool.shutdownNow();
+        if (shutdownAudioPool && audioPool != null)
+            audioPool.shutdownNow();
+        if (audioReceivePool != null)
+            audioReceivePool.shutdownNow();
     }
 
     @Nonnull
@@ -117,6 +170,52 @@ public class ThreadingConfig
         return callbackPool;
     }
 
+    @Nonnull
+    public ScheduledExecutorService getAudioPool(@Nonnull Supplier<String> identifier)
+    {
+        // The audio pool is only created once the first audio connection is opened
+        ScheduledExecutorService pool = audioPool;
+        if (pool == null)
+        {
+            synchronized (audioLock)
+            {
+                pool = audioPool;
+                if (pool == null)
+                    pool = audioPool = newScheduler(1, identifier, "AudioLifeCycle", virtualThreads);
+            }
+        }
+        return pool;
+    }
+
+    @Nonnull
+    public ExecutorService getAudioReceivePool(@Nonnull Supplier<String> identifier)
+    {
+        // Runs the receive handlers of all audio connections, each connection only occupies one thread at a time
+        ExecutorService pool = audioReceivePool;
+        if (pool == null)
+        {
+            synchronized (audioLock)
+            {
+                pool = audioReceivePool;
+                if (pool == null)
+                {
+                    if (virtualThreads)
+                        pool = VirtualThreads.newPerTaskExecutor(new CountingThreadFactory(identifier, "AudioReceive", true));
+                    if (pool == null)
+                    {
+                        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+                        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(), new CountingThreadFactory(identifier, "AudioReceive"));
+                        executor.allowCoreThreadTimeOut(true);
+                        pool = executor;
+                    }
+                    audioReceivePool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
     public boolean isShutdownRateLimitPool()
     {
         return shutdownRateLimitPool;
@@ -132,10 +231,26 @@ public class ThreadingConfig
         return shutdownCallbackPool;
     }
 
+    public boolean isShutdownAudioPool()
+    {
+        return shutdownAudioPool;
+    }
+
+    public boolean isVirtualThreads()
+    {
+        return virtualThreads;
+    }
+
     @Nonnull
     public static ScheduledThreadPoolExecutor newScheduler(int coreSize, Supplier<String> identifier, String baseName)
     {
-        return new ScheduledThreadPoolExecutor(coreSize, new CountingThreadFactory(identifier, baseName));
+        return newScheduler(coreSize, identifier, baseName, false);
+    }
+
+    @Nonnull
+    public static ScheduledThreadPoolExecutor newScheduler(int coreSize, Supplier<String> identifier, String baseName, boolean virtual)
+    {
+        return new ScheduledThreadPoolExecutor(coreSize, new CountingThreadFactory(identifier, baseName, virtual));
     }
 
     @Nonnull
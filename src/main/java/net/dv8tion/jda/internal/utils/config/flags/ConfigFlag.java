@@ -27,7 +27,11 @@ public enum ConfigFlag
     SHUTDOWN_HOOK(true),
     MDC_CONTEXT(true),
     AUTO_RECONNECT(true),
-    GUILD_SUBSCRIPTIONS(true);
+    GUILD_SUBSCRIPTIONS(true),
+    SHARED_AUDIO_RECEIVE,
+    LAZY_GUILD_LOADING,
+    VIRTUAL_THREADS,
+    NAME_INDEX;
 
     private final boolean isDefault;
 
@@ -19,7 +19,10 @@ package net.dv8tion.jda.internal.utils.config.sharding;
 import com.neovisionaries.ws.client.WebSocketFactory;
 import net.dv8tion.jda.api.audio.factory.IAudioSendFactory;
 import net.dv8tion.jda.api.hooks.VoiceDispatchInterceptor;
+import net.dv8tion.jda.api.utils.ConcurrentSessionController;
 import net.dv8tion.jda.api.utils.SessionController;
+import net.dv8tion.jda.api.utils.SessionStore;
+import net.dv8tion.jda.internal.handle.EventCache;
 import net.dv8tion.jda.internal.utils.config.SessionConfig;
 import net.dv8tion.jda.internal.utils.config.flags.ConfigFlag;
 import net.dv8tion.jda.internal.utils.config.flags.ShardingConfigFlag;
@@ -28,6 +31,7 @@ import okhttp3.OkHttpClient;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.EnumSet;
+import java.util.Set;
 
 public class ShardingSessionConfig extends SessionConfig
 {
@@ -39,10 +43,12 @@ public class ShardingSessionConfig extends SessionConfig
         @Nullable SessionController sessionController, @Nullable VoiceDispatchInterceptor interceptor,
         @Nullable OkHttpClient httpClient, @Nullable OkHttpClient.Builder httpClientBuilder,
         @Nullable WebSocketFactory webSocketFactory, @Nullable IAudioSendFactory audioSendFactory,
+        @Nullable SessionStore sessionStore,
         EnumSet<ConfigFlag> flags, EnumSet<ShardingConfigFlag> shardingFlags,
-        int maxReconnectDelay, int largeThreshold)
+        int maxReconnectDelay, int largeThreshold, int eventCacheLimit, @Nullable Set<String> disabledDispatches,
+        int messageCacheChannelLimit, int messageCacheLimit, long messageCacheMaxAge)
     {
-        super(sessionController, httpClient, webSocketFactory, interceptor, flags, maxReconnectDelay, largeThreshold);
+        super(sessionController == null ? new ConcurrentSessionController() : sessionController, httpClient, webSocketFactory, interceptor, sessionStore, flags, maxReconnectDelay, largeThreshold, eventCacheLimit, disabledDispatches, messageCacheChannelLimit, messageCacheLimit, messageCacheMaxAge);
         if (httpClient == null)
             this.builder = httpClientBuilder == null ? new OkHttpClient.Builder() : httpClientBuilder;
         else
@@ -53,7 +59,8 @@ public class ShardingSessionConfig extends SessionConfig
 
     public SessionConfig toSessionConfig(OkHttpClient client)
     {
-        return new SessionConfig(getSessionController(), client, getWebSocketFactory(), getVoiceDispatchInterceptor(), getFlags(), getMaxReconnectDelay(), getLargeThreshold());
+        return new SessionConfig(getSessionController(), client, getWebSocketFactory(), getVoiceDispatchInterceptor(), getSessionStore(), getFlags(), getMaxReconnectDelay(), getLargeThreshold(), getEventCacheLimit(), getDisabledDispatches(),
+            getMessageCacheChannelLimit(), getMessageCacheLimit(), getMessageCacheMaxAge());
     }
 
     public EnumSet<ShardingConfigFlag> getShardingFlags()
@@ -76,6 +83,6 @@ public class ShardingSessionConfig extends SessionConfig
     @Nonnull
     public static ShardingSessionConfig getDefault()
     {
-        return new ShardingSessionConfig(null, null, new OkHttpClient(), null, null, null, ConfigFlag.getDefault(), ShardingConfigFlag.getDefault(), 900, 250);
+        return new ShardingSessionConfig(null, null, new OkHttpClient(), null, null, null, null, ConfigFlag.getDefault(), ShardingConfigFlag.getDefault(), 900, 250, EventCache.DEFAULT_LIMIT, null, 0, 0, 0);
     }
 }
@@ -29,17 +29,20 @@ public class ThreadingProviderConfig
     private final ThreadPoolProvider<? extends ScheduledExecutorService> rateLimitPoolProvider;
     private final ThreadPoolProvider<? extends ScheduledExecutorService> gatewayPoolProvider;
     private final ThreadPoolProvider<? extends ExecutorService> callbackPoolProvider;
+    private final ThreadPoolProvider<? extends ScheduledExecutorService> audioPoolProvider;
     private final ThreadFactory threadFactory;
 
     public ThreadingProviderConfig(
             @Nullable ThreadPoolProvider<? extends ScheduledExecutorService> rateLimitPoolProvider,
             @Nullable ThreadPoolProvider<? extends ScheduledExecutorService> gatewayPoolProvider,
             @Nullable ThreadPoolProvider<? extends ExecutorService> callbackPoolProvider,
+            @Nullable ThreadPoolProvider<? extends ScheduledExecutorService> audioPoolProvider,
             @Nullable ThreadFactory threadFactory)
     {
         this.rateLimitPoolProvider = rateLimitPoolProvider;
         this.gatewayPoolProvider = gatewayPoolProvider;
         this.callbackPoolProvider = callbackPoolProvider;
+        this.audioPoolProvider = audioPoolProvider;
         this.threadFactory = threadFactory;
     }
 
@@ -67,9 +70,15 @@ public class ThreadingProviderConfig
         return callbackPoolProvider;
     }
 
+    @Nullable
+    public ThreadPoolProvider<? extends ScheduledExecutorService> getAudioPoolProvider()
+    {
+        return audioPoolProvider;
+    }
+
     @Nonnull
     public static ThreadingProviderConfig getDefault()
     {
-        return new ThreadingProviderConfig(null, null, null, null);
+        return new ThreadingProviderConfig(null, null, null, null, null);
     }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.AccountType;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.entities.MemberImpl;
+import net.dv8tion.jda.internal.entities.RoleImpl;
+import net.dv8tion.jda.internal.entities.UserImpl;
+import net.dv8tion.jda.internal.handle.EventCache;
+import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.AbstractCacheView;
+import net.dv8tion.jda.internal.utils.cache.MemberCacheViewImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import net.dv8tion.jda.internal.utils.config.SessionConfig;
+import net.dv8tion.jda.internal.utils.config.flags.ConfigFlag;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+public class CacheIndexTest
+{
+    private JDAImpl api;
+    private GuildImpl guild;
+    private UserImpl user;
+    private MemberImpl member;
+    private RoleImpl role;
+    private RoleImpl otherRole;
+
+    @BeforeEach
+    public void setup()
+    {
+        EnumSet<ConfigFlag> flags = ConfigFlag.getDefault();
+        flags.add(ConfigFlag.NAME_INDEX);
+        SessionConfig config = new SessionConfig(null, new OkHttpClient(), null, null, null, flags, 900, 250, EventCache.DEFAULT_LIMIT, null, 0, 0, 0);
+        api = new JDAImpl(new AuthorizationConfig(AccountType.BOT, "token"), config, null, null);
+        Assertions.assertTrue(api.isNameIndex());
+
+        guild = new GuildImpl(api, 1);
+        role = new RoleImpl(10, guild).setName("Moderator").setRawPosition(1);
+        otherRole = new RoleImpl(11, guild).setName("Member").setRawPosition(2);
+        put(guild.getRolesView(), role.getIdLong(), role);
+        put(guild.getRolesView(), otherRole.getIdLong(), otherRole);
+
+        user = new UserImpl(100, api).setName("Alice").setDiscriminator("0001");
+        put(api.getUsersView(), user.getIdLong(), user);
+        member = new MemberImpl(guild, user).setNickname("Ally");
+        member.getRoleSet().add(role);
+        put(guild.getMembersView(), member.getIdLong(), member);
+    }
+
+    private static <T> void put(AbstractCacheView<T> view, long id, T element)
+    {
+        try (UnlockHook hook = view.writeLock())
+        {
+            view.getMap().put(id, element);
+        }
+    }
+
+    @Test
+    public void testInitialLookups()
+    {
+        assertInitialLookups();
+    }
+
+    private void assertInitialLookups()
+    {
+        MemberCacheViewImpl members = guild.getMembersView();
+        Assertions.assertEquals(Collections.singletonList(user), api.getUsersView().getElementsByName("alice", true));
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsByUsername("Alice", false));
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsByNickname("ally", true));
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsByName("Ally", false));
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsWithRoles(role));
+        Assertions.assertTrue(members.getElementsWithRoles(otherRole).isEmpty());
+    }
+
+    @Test
+    public void testRenames()
+    {
+        // builds the indexes with the initial keys
+        assertInitialLookups();
+        // names are changed by the handlers first and reported afterwards
+        user.setName("Bob");
+        api.getUsersView().updateIndex(user.getIdLong());
+        guild.getMembersView().updateIndex(user.getIdLong());
+        member.setNickname("Bobby");
+        guild.getMembersView().updateIndex(member.getIdLong());
+        role.setName("Admin");
+        guild.getRolesView().updateIndex(role.getIdLong());
+
+        MemberCacheViewImpl members = guild.getMembersView();
+        Assertions.assertTrue(api.getUsersView().getElementsByName("Alice", false).isEmpty());
+        Assertions.assertEquals(Collections.<User>singletonList(user), api.getUsersView().getElementsByName("BOB", true));
+        Assertions.assertTrue(members.getElementsByUsername("Alice", false).isEmpty());
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsByUsername("Bob", false));
+
+        Assertions.assertTrue(members.getElementsByNickname("Ally", false).isEmpty());
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsByNickname("bobby", true));
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsByName("Bobby", false));
+        Assertions.assertTrue(members.getElementsByName("Ally", true).isEmpty());
+
+        Assertions.assertTrue(guild.getRolesView().getElementsByName("Moderator", false).isEmpty());
+        Assertions.assertEquals(Collections.<Role>singletonList(role), guild.getRolesView().getElementsByName("admin", true));
+
+        // removing the nickname makes the username the effective name
+        member.setNickname(null);
+        members.updateIndex(member.getIdLong());
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsByNickname(null, false));
+        Assertions.assertEquals(Collections.singletonList(member), members.getElementsByName("bob", true));
+    }
+
+    @Test
+    public void testRoleUpdates()
+    {
+        assertInitialLookups();
+        member.getRoleSet().remove(role);
+        member.getRoleSet().add(otherRole);
+        guild.getMembersView().updateIndex(member.getIdLong());
+
+        MemberCacheViewImpl members = guild.getMembersView();
+        Assertions.assertTrue(members.getElementsWithRoles(role).isEmpty());
+        Assertions.assertEquals(Collections.<Member>singletonList(member), members.getElementsWithRoles(otherRole));
+        Assertions.assertTrue(members.getElementsWithRoles(role, otherRole).isEmpty());
+
+        member.getRoleSet().add(role);
+        members.updateIndex(member.getIdLong());
+        Assertions.assertEquals(Collections.<Member>singletonList(member), members.getElementsWithRoles(role, otherRole));
+    }
+}
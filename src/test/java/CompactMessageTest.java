@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.AccountType;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.CompactMessage;
+import net.dv8tion.jda.internal.entities.PrivateChannelImpl;
+import net.dv8tion.jda.internal.entities.SelfUserImpl;
+import net.dv8tion.jda.internal.entities.UserImpl;
+import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class CompactMessageTest
+{
+    private static JDAImpl api;
+    private static UserImpl user;
+
+    @BeforeAll
+    public static void setup()
+    {
+        api = new JDAImpl(new AuthorizationConfig(AccountType.BOT, "token"));
+        api.setSelfUser(new SelfUserImpl(1, api));
+        user = new UserImpl(2, api).setName("user").setDiscriminator("0001");
+        SnowflakeCacheViewImpl<User> users = api.getUsersView();
+        try (UnlockHook hook = users.writeLock())
+        {
+            users.getMap().put(2, user);
+        }
+        SnowflakeCacheViewImpl<PrivateChannel> channels = api.getPrivateChannelsView();
+        try (UnlockHook hook = channels.writeLock())
+        {
+            channels.getMap().put(10, new PrivateChannelImpl(10, user));
+        }
+    }
+
+    private static DataObject json(int type)
+    {
+        return DataObject.empty()
+            .put("id", "100")
+            .put("channel_id", "10")
+            .put("type", type)
+            .put("content", "hello <@2> äöü 😀")
+            .put("tts", true)
+            .put("pinned", false)
+            .put("mention_everyone", false)
+            .put("nonce", "42")
+            .put("edited_timestamp", null)
+            .put("mentions", DataArray.empty().add(DataObject.empty().put("id", "2").put("username", "user").put("discriminator", "0001")))
+            .put("mention_roles", DataArray.empty())
+            .put("author", DataObject.empty().put("id", "2").put("username", "user").put("discriminator", "0001").put("avatar", null));
+    }
+
+    @Test
+    public void testRoundTrip()
+    {
+        DataObject json = json(0)
+            .put("embeds", DataArray.empty().add(DataObject.empty()
+                .put("type", "rich")
+                .put("title", "title")
+                .put("description", "description")
+                .put("fields", DataArray.empty().add(DataObject.empty().put("name", "name").put("value", "value").put("inline", true)))))
+            .put("activity", DataObject.empty().put("type", 1).put("party_id", "party"));
+
+        Message message = CompactMessage.fromJson(json).toMessage(api);
+        Assertions.assertNotNull(message);
+        Assertions.assertEquals(100, message.getIdLong());
+        Assertions.assertEquals(MessageType.DEFAULT, message.getType());
+        Assertions.assertEquals(ChannelType.PRIVATE, message.getChannelType());
+        Assertions.assertEquals(10, message.getChannel().getIdLong());
+        Assertions.assertSame(user, message.getAuthor());
+        Assertions.assertEquals(json.getString("content"), message.getContentRaw());
+        Assertions.assertEquals("42", message.getNonce());
+        Assertions.assertTrue(message.isTTS());
+        Assertions.assertFalse(message.isPinned());
+        Assertions.assertNull(message.getTimeEdited());
+
+        Assertions.assertEquals(1, message.getMentionedUsers().size());
+        Assertions.assertSame(user, message.getMentionedUsers().get(0));
+        Assertions.assertTrue(message.isMentioned(user, Message.MentionType.USER));
+        Assertions.assertFalse(message.mentionsEveryone());
+
+        Assertions.assertEquals(1, message.getEmbeds().size());
+        MessageEmbed embed = message.getEmbeds().get(0);
+        Assertions.assertEquals("title", embed.getTitle());
+        Assertions.assertEquals("description", embed.getDescription());
+        Assertions.assertEquals(1, embed.getFields().size());
+        Assertions.assertEquals("value", embed.getFields().get(0).getValue());
+        Assertions.assertTrue(message.getAttachments().isEmpty());
+        Assertions.assertTrue(message.getReactions().isEmpty());
+
+        MessageActivity activity = message.getActivity();
+        Assertions.assertNotNull(activity);
+        Assertions.assertEquals(MessageActivity.ActivityType.JOIN, activity.getType());
+        Assertions.assertEquals("party", activity.getPartyId());
+    }
+
+    @Test
+    public void testSystemMessage()
+    {
+        Message message = CompactMessage.fromJson(json(MessageType.CHANNEL_PINNED_ADD.getId())).toMessage(api);
+        Assertions.assertNotNull(message);
+        Assertions.assertEquals(MessageType.CHANNEL_PINNED_ADD, message.getType());
+        Assertions.assertNull(message.getActivity());
+        Assertions.assertTrue(message.getEmbeds().isEmpty());
+    }
+
+    @Test
+    public void testUpdateKeepsReactions()
+    {
+        DataArray reactions = DataArray.empty().add(DataObject.empty()
+            .put("count", 3)
+            .put("me", false)
+            .put("emoji", DataObject.empty().put("id", null).put("name", "👍")));
+        CompactMessage created = CompactMessage.fromJson(json(0).put("reactions", reactions));
+        // MESSAGE_UPDATE does not include the reactions of the message
+        CompactMessage updated = created.update(json(0).put("content", "after").put("edited_timestamp", "2020-01-01T00:00:00+00:00"));
+
+        Message message = updated.toMessage(api);
+        Assertions.assertNotNull(message);
+        Assertions.assertEquals("after", message.getContentRaw());
+        Assertions.assertNotNull(message.getTimeEdited());
+        Assertions.assertEquals(1, message.getReactions().size());
+        Assertions.assertEquals(3, message.getReactions().get(0).getCount());
+
+        // an update which does contain the field replaces it
+        CompactMessage cleared = updated.update(json(0).put("content", "after").put("reactions", DataArray.empty()));
+        Assertions.assertTrue(cleared.toMessage(api).getReactions().isEmpty());
+    }
+
+    @Test
+    public void testReactionUpdates()
+    {
+        DataObject thumbsUp = DataObject.empty().put("id", null).put("name", "👍");
+        DataObject emote = DataObject.empty().put("id", "500").put("name", "emote").put("animated", false);
+        CompactMessage message = CompactMessage.fromJson(json(0));
+
+        // MESSAGE_REACTION_ADD of another user and ourselves
+        message = message.updateReaction(thumbsUp, false, true)
+                         .updateReaction(thumbsUp, true, true)
+                         .updateReaction(emote, false, true);
+        // a renamed emote is still the same reaction
+        message = message.updateReaction(emote.put("name", "renamed"), false, true);
+        List<MessageReaction> reactions = message.toMessage(api).getReactions();
+        Assertions.assertEquals(2, reactions.size());
+        Assertions.assertEquals("👍", reactions.get(0).getReactionEmote().getName());
+        Assertions.assertEquals(2, reactions.get(0).getCount());
+        Assertions.assertTrue(reactions.get(0).isSelf());
+        Assertions.assertEquals(500, reactions.get(1).getReactionEmote().getIdLong());
+        Assertions.assertEquals(2, reactions.get(1).getCount());
+        Assertions.assertFalse(reactions.get(1).isSelf());
+
+        // MESSAGE_REACTION_REMOVE, the reaction is dropped once nobody uses it anymore
+        message = message.updateReaction(thumbsUp, true, false)
+                         .updateReaction(emote, false, false)
+                         .updateReaction(emote, false, false);
+        reactions = message.toMessage(api).getReactions();
+        Assertions.assertEquals(1, reactions.size());
+        Assertions.assertEquals(1, reactions.get(0).getCount());
+        Assertions.assertFalse(reactions.get(0).isSelf());
+
+        // removing an unknown reaction changes nothing
+        message = message.updateReaction(emote, false, false);
+        Assertions.assertEquals(1, message.toMessage(api).getReactions().size());
+
+        // MESSAGE_REACTION_REMOVE_ALL
+        message = message.clearReactions();
+        Assertions.assertTrue(message.toMessage(api).getReactions().isEmpty());
+        Assertions.assertEquals(json(0).getString("content"), message.getContentRaw());
+    }
+
+    @Test
+    public void testUnknownType()
+    {
+        CompactMessage message = CompactMessage.fromJson(json(-100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> message.toMessage(api));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.internal.requests.DispatchFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class DispatchFilterTest
+{
+    private static final DispatchFilter filter = new DispatchFilter(Collections.singleton("TYPING_START"));
+
+    @Test
+    public void testTypeBeforeSequence()
+    {
+        Assertions.assertEquals(42, filter.filter("{\"t\":\"TYPING_START\",\"s\":42,\"op\":0,\"d\":{}}"));
+        Assertions.assertEquals(-1, filter.filter("{\"t\":\"MESSAGE_CREATE\",\"s\":42,\"op\":0,\"d\":{}}"));
+    }
+
+    @Test
+    public void testSequenceBeforeType()
+    {
+        Assertions.assertEquals(7, filter.filter("{\"op\":0,\"d\":{\"channel_id\":\"1\"},\"s\":7,\"t\":\"TYPING_START\"}"));
+        Assertions.assertEquals(7, filter.filter(" { \"s\" : 7 , \"t\" : \"TYPING_START\" } "));
+    }
+
+    @Test
+    public void testNullType()
+    {
+        Assertions.assertEquals(-1, filter.filter("{\"t\":null,\"s\":null,\"op\":11,\"d\":null}"));
+        Assertions.assertEquals(-1, filter.filter("{\"s\":3,\"t\":null,\"op\":0,\"d\":{}}"));
+    }
+
+    @Test
+    public void testStringsInData()
+    {
+        // quotes, braces and brackets inside strings must not end the skipped value
+        String data = "{\"content\":\"a \\\"quoted\\\" } ] { [ , \\\\\",\"nested\":[{\"x\":\"}\"}]}";
+        Assertions.assertEquals(5, filter.filter("{\"op\":0,\"d\":" + data + ",\"s\":5,\"t\":\"TYPING_START\"}"));
+        Assertions.assertEquals(-1, filter.filter("{\"op\":0,\"d\":" + data + ",\"s\":5,\"t\":\"MESSAGE_CREATE\"}"));
+    }
+
+    @Test
+    public void testNestedType()
+    {
+        // only the top-level fields count, a "t" or "s" inside "d" is skipped
+        Assertions.assertEquals(-1, filter.filter("{\"op\":0,\"d\":{\"t\":\"TYPING_START\",\"s\":1},\"s\":2,\"t\":\"MESSAGE_CREATE\"}"));
+        Assertions.assertEquals(2, filter.filter("{\"op\":0,\"d\":{\"t\":\"MESSAGE_CREATE\",\"s\":1},\"s\":2,\"t\":\"TYPING_START\"}"));
+    }
+
+    @Test
+    public void testMalformed()
+    {
+        Assertions.assertEquals(-1, filter.filter(""));
+        Assertions.assertEquals(-1, filter.filter("[]"));
+        Assertions.assertEquals(-1, filter.filter("{\"t\":\"TYPING_START\""));
+        Assertions.assertEquals(-1, filter.filter("{\"t\":\"TYPING_START\",\"s\":}"));
+        Assertions.assertEquals(-1, filter.filter("{\"t\":\"TYPING_START\",\"s\":\"1\"}"));
+        Assertions.assertEquals(-1, filter.filter("{\"d\":{\"a\":\"unterminated},\"s\":1,\"t\":\"TYPING_START\"}"));
+        Assertions.assertEquals(-1, filter.filter("{\"d\":{\"a\":1,\"s\":1,\"t\":\"TYPING_START\"}"));
+        Assertions.assertEquals(-1, filter.filter("{\"t\" \"TYPING_START\",\"s\":1}"));
+    }
+}
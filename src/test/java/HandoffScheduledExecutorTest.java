@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
+import net.dv8tion.jda.internal.utils.concurrent.HandoffScheduledExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HandoffScheduledExecutorTest
+{
+    private ExecutorService executor;
+    private HandoffScheduledExecutor pool;
+
+    @BeforeEach
+    public void setup()
+    {
+        executor = Executors.newCachedThreadPool(new CountingThreadFactory(() -> "Test", "Executor"));
+        pool = new HandoffScheduledExecutor(new CountingThreadFactory(() -> "Test", "Scheduler"), executor);
+    }
+
+    @AfterEach
+    public void cleanup()
+    {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testScheduleRunsOnExecutor() throws Exception
+    {
+        long start = System.nanoTime();
+        ScheduledFuture<String> future = pool.schedule(() -> Thread.currentThread().getName(), 50, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(future.getDelay(TimeUnit.MILLISECONDS) > 0);
+        Assertions.assertEquals("Test Executor-Worker 1", future.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testBlockingTaskDoesNotDelayOthers() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        pool.schedule(() -> release.await(5, TimeUnit.SECONDS), 0, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> other = pool.schedule(() -> {}, 10, TimeUnit.MILLISECONDS);
+        other.get(5, TimeUnit.SECONDS);
+        release.countDown();
+    }
+
+    @Test
+    public void testCancel() throws Exception
+    {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = pool.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(future.cancel(false));
+        Assertions.assertThrows(CancellationException.class, future::get);
+        Thread.sleep(200);
+        Assertions.assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testPeriodic() throws Exception
+    {
+        CountDownLatch rate = new CountDownLatch(3);
+        CountDownLatch delay = new CountDownLatch(3);
+        ScheduledFuture<?> fixedRate = pool.scheduleAtFixedRate(rate::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> fixedDelay = pool.scheduleWithFixedDelay(delay::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(rate.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(delay.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(fixedRate.cancel(false));
+        Assertions.assertTrue(fixedDelay.cancel(false));
+        Assertions.assertTrue(fixedRate.isCancelled());
+        Assertions.assertTrue(fixedDelay.isCancelled());
+    }
+
+    @Test
+    public void testPeriodicStopsOnException() throws Exception
+    {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = pool.scheduleAtFixedRate(() ->
+        {
+            runs.incrementAndGet();
+            throw new IllegalStateException();
+        }, 0, 10, TimeUnit.MILLISECONDS);
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(ex.getCause() instanceof IllegalStateException);
+        Thread.sleep(100);
+        Assertions.assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testShutdownRunsDelayedTasks() throws Exception
+    {
+        ScheduledFuture<Integer> future = pool.schedule(() -> 42, 50, TimeUnit.MILLISECONDS);
+        pool.shutdown();
+        Assertions.assertTrue(pool.isShutdown());
+        Assertions.assertThrows(RejectedExecutionException.class, () -> pool.schedule(() -> {}, 0, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(42, future.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(executor.isShutdown());
+    }
+}
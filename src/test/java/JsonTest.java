@@ -32,6 +32,17 @@ public class JsonTest
         Assertions.assertEquals("test", object.getString("string", null));
     }
 
+    @Test
+    public void testSnowflakes()
+    {
+        DataObject object = DataObject.fromJson("{\"id\":\"81384788765712384\",\"max\":\"18446744073709551615\",\"number\":42,\"invalid\":\"12a\"}");
+        Assertions.assertEquals(81384788765712384L, object.getUnsignedLong("id"));
+        Assertions.assertEquals(-1L, object.getUnsignedLong("max"));
+        Assertions.assertEquals(42L, object.getUnsignedLong("number"));
+        Assertions.assertEquals(7L, object.getUnsignedLong("missing", 7L));
+        Assertions.assertThrows(NumberFormatException.class, () -> object.getUnsignedLong("invalid"));
+    }
+
     @Test
     public void testJsonToString()
     {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.AccountType;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.entities.SelfUserImpl;
+import net.dv8tion.jda.internal.entities.UserImpl;
+import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LazyGuildTest
+{
+    private JDAImpl api;
+
+    @BeforeEach
+    public void setup()
+    {
+        api = new JDAImpl(new AuthorizationConfig(AccountType.BOT, "token"));
+        SelfUserImpl self = new SelfUserImpl(1, api);
+        self.setName("self").setDiscriminator("0000");
+        api.setSelfUser(self);
+        SnowflakeCacheViewImpl<User> users = api.getUsersView();
+        try (UnlockHook hook = users.writeLock())
+        {
+            users.getMap().put(1, self);
+            users.getMap().put(2, new UserImpl(2, api).setName("user").setDiscriminator("0001"));
+        }
+    }
+
+    private GuildImpl addLazyGuild(long id)
+    {
+        GuildImpl guild = new GuildImpl(api, id);
+        DataObject member = DataObject.empty()
+            .put("user", DataObject.empty()
+                .put("id", "2")
+                .put("username", "user")
+                .put("discriminator", "0001")
+                .put("avatar", null))
+            .put("roles", DataArray.empty())
+            .put("joined_at", "2020-01-01T00:00:00+00:00")
+            .put("premium_since", null)
+            .put("mute", false)
+            .put("deaf", false);
+        DataObject payload = DataObject.empty()
+            .put("roles", DataArray.empty())
+            .put("channels", DataArray.empty())
+            .put("emojis", DataArray.empty())
+            .put("voice_states", DataArray.empty())
+            .put("presences", DataArray.empty())
+            .put("members", DataArray.empty().add(member))
+            .put("owner_id", 2L)
+            .put("afk_channel_id", 0L)
+            .put("system_channel_id", 0L);
+        guild.setLazyPayload(payload.toString().getBytes(StandardCharsets.UTF_8), new long[0]);
+        SnowflakeCacheViewImpl<Guild> guilds = api.getGuildsView();
+        try (UnlockHook hook = guilds.writeLock())
+        {
+            guilds.getMap().put(id, guild);
+        }
+        api.addLazyGuild(id, new long[0]);
+        return guild;
+    }
+
+    @Test
+    public void testIterationLoadsFirst()
+    {
+        GuildImpl guild = addLazyGuild(100);
+        List<Guild> mutual = new ArrayList<>();
+        api.getUserCache().forEach(user ->
+        {
+            if (user.getIdLong() == 2)
+                mutual.addAll(user.getMutualGuilds());
+        });
+        Assertions.assertTrue(guild.isHydrated());
+        Assertions.assertEquals(1, mutual.size());
+        Assertions.assertNotNull(guild.getMemberById(2));
+    }
+
+    @Test
+    public void testDeferredWhileLocked()
+    {
+        List<GuildImpl> added = new ArrayList<>();
+        Assertions.assertDoesNotThrow(() -> api.getUserCache().forEach(user ->
+        {
+            // created after the view loaded all lazy guilds, so it cannot be loaded while the lock is held
+            GuildImpl guild = addLazyGuild(100 + user.getIdLong());
+            added.add(guild);
+            Assertions.assertNull(guild.getMemberById(2));
+            user.getMutualGuilds();
+            Assertions.assertFalse(guild.isHydrated());
+        }));
+        Assertions.assertEquals(2, added.size());
+        for (GuildImpl guild : added)
+        {
+            Assertions.assertNotNull(guild.getMemberById(2));
+            Assertions.assertTrue(guild.isHydrated());
+        }
+    }
+}
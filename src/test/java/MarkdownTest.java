@@ -151,6 +151,16 @@ class MarkdownTest
         Assertions.assertEquals("Hello\nWorld", markdown.compute(">>>\nHello\nWorld"));
         Assertions.assertEquals("Hello > World", markdown.compute(">>>\nHello > World"));
     }
+
+    @Test
+    public void testUnbalanced()
+    {
+        Assertions.assertEquals("a b ~~c", markdown.compute("~~a ~~b ~~c"));
+        Assertions.assertEquals("~~Hello~~", markdown.compute("**~~Hello**~~"));
+        Assertions.assertEquals("**Hello**", markdown.compute("||**Hello||**"));
+        Assertions.assertEquals("~~Hello World~~", markdown.compute("__~~Hello__ World~~"));
+        Assertions.assertEquals("***Hello**", markdown.compute("***Hello**"));
+    }
 }
 
 class IgnoreMarkdownTest
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.AccountType;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Message.MentionType;
+import net.dv8tion.jda.api.entities.PrivateChannel;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.CompactMessage;
+import net.dv8tion.jda.internal.entities.PrivateChannelImpl;
+import net.dv8tion.jda.internal.entities.ReceivedMessage;
+import net.dv8tion.jda.internal.entities.SelfUserImpl;
+import net.dv8tion.jda.internal.entities.UserImpl;
+import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+
+public class MentionTokenizerTest
+{
+    private static final MentionType[] TYPES = { MentionType.USER, MentionType.ROLE, MentionType.CHANNEL, MentionType.EMOTE };
+    private static final String[] INPUTS = {
+        "", "<", "<@", "<@>", "<@!>", "<@&>", "<#>", "<a:>", "<::1>",
+        "<@1", "<@1 >", "<:x:1", "<a:x:>",
+        "<@<@1>", "<<@1>>", "<@!<@&2>", "<#<#3>", "<:x:<@1>>", "<a:b:c:1>", "<a<:x:1>",
+        "<@1><@!2><@&3><#4><:name_1:5><a:name:6>",
+        "text <@1> and <@!1> twice",
+        "<@١٢>", "<#１２>", "<:x:١>", "<:ünicode:1>", "<a:x:1><a:y:2>",
+        "<@18446744073709551615>", "<@99999999999999999999999>"
+    };
+
+    private static JDAImpl api;
+
+    @BeforeAll
+    public static void setup()
+    {
+        api = new JDAImpl(new AuthorizationConfig(AccountType.BOT, "token"));
+        api.setSelfUser(new SelfUserImpl(1, api));
+        UserImpl user = new UserImpl(2, api).setName("user").setDiscriminator("0001");
+        SnowflakeCacheViewImpl<User> users = api.getUsersView();
+        try (UnlockHook hook = users.writeLock())
+        {
+            users.getMap().put(2, user);
+        }
+        SnowflakeCacheViewImpl<PrivateChannel> channels = api.getPrivateChannelsView();
+        try (UnlockHook hook = channels.writeLock())
+        {
+            channels.getMap().put(10, new PrivateChannelImpl(10, user));
+        }
+    }
+
+    @Test
+    public void testMatchesPatterns()
+    {
+        for (String input : INPUTS)
+            Assertions.assertEquals(fromPatterns(input), fromTokenizer(input), () -> "Mismatch for input " + input);
+    }
+
+    @Test
+    public void testContentDisplay()
+    {
+        String content = "<@<@2> <a:x:1> <@!> <@２> <@!2> <#1> <@&3> <@99> <:y:<:z:5>>";
+        Message message = CompactMessage.fromJson(DataObject.empty()
+            .put("id", "100")
+            .put("channel_id", "10")
+            .put("type", 0)
+            .put("content", content)
+            .put("mentions", DataArray.empty().add(DataObject.empty().put("id", "2").put("username", "user").put("discriminator", "0001")))
+            .put("author", DataObject.empty().put("id", "2").put("username", "user").put("discriminator", "0001"))).toMessage(api);
+        Assertions.assertNotNull(message);
+        // unknown users, roles and channels are kept as they are, emotes are always replaced
+        Assertions.assertEquals("<@@user :x: <@!> <@２> @user <#1> <@&3> <@99> <:y::z:>", message.getContentDisplay());
+        Assertions.assertEquals(1, message.getMentionedUsers().size());
+        Assertions.assertEquals(2, message.getMentionedUsersBag().size());
+        Assertions.assertEquals(2, message.getEmotes().size());
+    }
+
+    private static List<String> fromTokenizer(String content)
+    {
+        List<String> tokens = new ArrayList<>();
+        for (ReceivedMessage.MentionToken token : ReceivedMessage.tokenizeMentions(content))
+            tokens.add(describe(token.type, token.start, token.end, token.id, token.name, token.animated));
+        return tokens;
+    }
+
+    private static List<String> fromPatterns(String content)
+    {
+        List<int[]> positions = new ArrayList<>();
+        List<String> matches = new ArrayList<>();
+        for (MentionType type : TYPES)
+        {
+            Matcher matcher = type.getPattern().matcher(content);
+            while (matcher.find())
+            {
+                boolean emote = type == MentionType.EMOTE;
+                long id;
+                try
+                {
+                    id = MiscUtil.parseSnowflake(matcher.group(emote ? 2 : 1));
+                }
+                catch (NumberFormatException e)
+                {
+                    continue; // not a snowflake, these are no mentions
+                }
+                positions.add(new int[] { matcher.start(), matches.size() });
+                matches.add(describe(type, matcher.start(), matcher.end(), id,
+                    emote ? matcher.group(1) : null, emote && content.charAt(matcher.start() + 1) == 'a'));
+            }
+        }
+        positions.sort(Comparator.comparingInt(position -> position[0]));
+        List<String> sorted = new ArrayList<>();
+        for (int[] position : positions)
+            sorted.add(matches.get(position[1]));
+        return sorted;
+    }
+
+    private static String describe(MentionType type, int start, int end, long id, String name, boolean animated)
+    {
+        return type + "[" + start + "-" + end + "] " + Long.toUnsignedString(id) + (name == null ? "" : " " + name + (animated ? " animated" : ""));
+    }
+}
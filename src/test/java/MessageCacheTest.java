@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.entities.CompactMessage;
+import net.dv8tion.jda.internal.utils.cache.MessageCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MessageCacheTest
+{
+    private static CompactMessage message(long channelId, long id, String content)
+    {
+        return CompactMessage.fromJson(json(channelId, id, content));
+    }
+
+    private static DataObject json(long channelId, long id, String content)
+    {
+        return DataObject.empty()
+            .put("id", id)
+            .put("channel_id", channelId)
+            .put("type", 0)
+            .put("content", content)
+            .put("author", DataObject.empty().put("id", "2").put("username", "user").put("discriminator", "0001"));
+    }
+
+    @Test
+    public void testChannelLimit()
+    {
+        MessageCache cache = new MessageCache(2, 10, 0);
+        cache.put(message(1, 1, "a"));
+        cache.put(message(1, 2, "b"));
+        cache.put(message(2, 3, "c"));
+        cache.put(message(1, 4, "d"));
+        // the oldest message of the full channel is dropped, the other channel is not affected
+        Assertions.assertNull(cache.get(1, 1));
+        Assertions.assertEquals("b", cache.get(1, 2).getContentRaw());
+        Assertions.assertEquals("d", cache.get(1, 4).getContentRaw());
+        Assertions.assertEquals("c", cache.get(2, 3).getContentRaw());
+        Assertions.assertEquals(3, cache.size());
+
+        // an update moves the message to the end of its channel
+        cache.put(message(1, 2, "b2"));
+        cache.put(message(1, 5, "e"));
+        Assertions.assertNull(cache.get(1, 4));
+        Assertions.assertEquals("b2", cache.get(1, 2).getContentRaw());
+    }
+
+    @Test
+    public void testTotalLimit()
+    {
+        MessageCache cache = new MessageCache(10, 3, 0);
+        cache.put(message(1, 1, "a"));
+        cache.put(message(2, 2, "b"));
+        cache.put(message(3, 3, "c"));
+        // reading a message marks it as recently used, the least recently used message is dropped
+        Assertions.assertNotNull(cache.get(1, 1));
+        cache.put(message(4, 4, "d"));
+        Assertions.assertNull(cache.get(2, 2));
+        Assertions.assertNotNull(cache.get(1, 1));
+        Assertions.assertNotNull(cache.get(3, 3));
+        Assertions.assertNotNull(cache.get(4, 4));
+        Assertions.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testMaxAge()
+    {
+        AtomicLong time = new AtomicLong(1000);
+        MessageCache cache = new MessageCache(10, 10, 50, time::get);
+        cache.put(message(1, 1, "a"));
+        cache.put(message(2, 2, "b"));
+        time.addAndGet(50);
+        Assertions.assertNotNull(cache.get(1, 1));
+        time.addAndGet(1);
+        // expired messages are dropped when accessed, or when their channel receives a new message
+        cache.put(message(1, 3, "c"));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.remove(2, 2));
+        Assertions.assertNull(cache.get(1, 1));
+        Assertions.assertEquals("c", cache.get(1, 3).getContentRaw());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testRemove()
+    {
+        MessageCache cache = new MessageCache(10, 10, 0);
+        cache.put(message(1, 1, "a"));
+        cache.put(message(1, 2, "b"));
+        cache.put(message(2, 3, "c"));
+        Assertions.assertEquals("a", cache.remove(1, 1).getContentRaw());
+        Assertions.assertNull(cache.remove(1, 1));
+        cache.removeChannel(1);
+        Assertions.assertNull(cache.get(1, 2));
+        Assertions.assertEquals(1, cache.size());
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testUpdate()
+    {
+        AtomicLong time = new AtomicLong(1000);
+        MessageCache cache = new MessageCache(2, 10, 50, time::get);
+        cache.put(message(1, 1, "a"));
+        cache.put(message(1, 2, "b"));
+        time.addAndGet(40);
+        cache.update(1, 1, message -> message.update(json(1, 1, "a2")));
+        cache.update(1, 3, message -> Assertions.fail("Updated a message which is not cached"));
+        Assertions.assertEquals("a2", cache.get(1, 1).getContentRaw());
+
+        // the update neither moves the message to the end of its channel nor makes it younger
+        cache.put(message(1, 4, "c"));
+        Assertions.assertNull(cache.get(1, 1));
+        Assertions.assertNotNull(cache.get(1, 2));
+        time.addAndGet(11);
+        Assertions.assertNull(cache.get(1, 2));
+        Assertions.assertNotNull(cache.get(1, 4));
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2015-2019 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import net.dv8tion.jda.api.audio.OpusPacket;
+import net.dv8tion.jda.internal.audio.OggOpusWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class OggOpusWriterTest
+{
+    private static final int SERIAL = 42;
+    // CELT-only 20ms frame, code 0 (one frame per packet)
+    private static final byte[] PACKET = {(byte) 0x98, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+    private static final byte[] SILENCE = {(byte) 0xF8, (byte) 0xFF, (byte) 0xFE};
+
+    private Path file;
+
+    @BeforeEach
+    public void setup() throws IOException
+    {
+        file = Files.createTempFile("jda-ogg", ".opus");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    private OggOpusWriter open() throws IOException
+    {
+        return new OggOpusWriter(FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), SERIAL);
+    }
+
+    @Test
+    public void testHeaders() throws IOException
+    {
+        try (OggOpusWriter writer = open())
+        {
+            Assertions.assertTrue(writer.write(0, PACKET));
+        }
+        List<Page> pages = readPages();
+        Assertions.assertEquals(3, pages.size());
+
+        Page head = pages.get(0);
+        Assertions.assertEquals(0x02, head.flags);
+        Assertions.assertEquals(0, head.granule);
+        Assertions.assertEquals(1, head.packets.size());
+        ByteBuffer identification = ByteBuffer.wrap(head.packets.get(0)).order(ByteOrder.LITTLE_ENDIAN);
+        Assertions.assertEquals(19, identification.remaining());
+        Assertions.assertEquals("OpusHead", new String(head.packets.get(0), 0, 8, StandardCharsets.US_ASCII));
+        Assertions.assertEquals(1, identification.get(8));
+        Assertions.assertEquals(OpusPacket.OPUS_CHANNEL_COUNT, identification.get(9));
+        Assertions.assertEquals(OpusPacket.OPUS_SAMPLE_RATE, identification.getInt(12));
+
+        Page tags = pages.get(1);
+        Assertions.assertEquals(0, tags.flags);
+        Assertions.assertEquals(0, tags.granule);
+        Assertions.assertEquals("OpusTags", new String(tags.packets.get(0), 0, 8, StandardCharsets.US_ASCII));
+
+        Page audio = pages.get(2);
+        Assertions.assertEquals(0x04, audio.flags);
+        Assertions.assertEquals(OpusPacket.OPUS_FRAME_SIZE, audio.granule);
+        Assertions.assertArrayEquals(PACKET, audio.packets.get(0));
+
+        for (int i = 0; i < pages.size(); i++)
+        {
+            Assertions.assertEquals(SERIAL, pages.get(i).serial);
+            Assertions.assertEquals(i, pages.get(i).sequence);
+        }
+    }
+
+    @Test
+    public void testGapFill() throws IOException
+    {
+        int frame = OpusPacket.OPUS_FRAME_SIZE;
+        try (OggOpusWriter writer = open())
+        {
+            Assertions.assertTrue(writer.write(0, PACKET));
+            Assertions.assertTrue(writer.write(frame, PACKET));
+            // two frames lost
+            Assertions.assertTrue(writer.write(frame * 4, PACKET));
+            // late and duplicate packets are dropped
+            Assertions.assertFalse(writer.write(frame * 3, PACKET));
+            Assertions.assertFalse(writer.write(frame * 4, PACKET));
+        }
+        Page audio = readPages().get(2);
+        Assertions.assertEquals(5, audio.packets.size());
+        Assertions.assertArrayEquals(PACKET, audio.packets.get(0));
+        Assertions.assertArrayEquals(PACKET, audio.packets.get(1));
+        Assertions.assertArrayEquals(SILENCE, audio.packets.get(2));
+        Assertions.assertArrayEquals(SILENCE, audio.packets.get(3));
+        Assertions.assertArrayEquals(PACKET, audio.packets.get(4));
+        Assertions.assertEquals(5L * frame, audio.granule);
+    }
+
+    @Test
+    public void testGranulePosition() throws IOException
+    {
+        int frame = OpusPacket.OPUS_FRAME_SIZE;
+        int count = OggOpusWriter.PACKETS_PER_PAGE + 10;
+        // start close to the wrap around of the unsigned RTP timestamp
+        int start = -frame * 5;
+        try (OggOpusWriter writer = open())
+        {
+            for (int i = 0; i < count; i++)
+                Assertions.assertTrue(writer.write(start + i * frame, PACKET));
+        }
+        List<Page> pages = readPages();
+        Assertions.assertEquals(4, pages.size());
+        Assertions.assertEquals(OggOpusWriter.PACKETS_PER_PAGE, pages.get(2).packets.size());
+        Assertions.assertEquals((long) OggOpusWriter.PACKETS_PER_PAGE * frame, pages.get(2).granule);
+        Assertions.assertEquals(0, pages.get(2).flags);
+        Assertions.assertEquals(10, pages.get(3).packets.size());
+        Assertions.assertEquals((long) count * frame, pages.get(3).granule);
+        Assertions.assertEquals(0x04, pages.get(3).flags);
+    }
+
+    @Test
+    public void testLargePacket() throws IOException
+    {
+        byte[] large = new byte[600];
+        large[0] = PACKET[0];
+        try (OggOpusWriter writer = open())
+        {
+            Assertions.assertTrue(writer.write(0, large));
+            Assertions.assertTrue(writer.write(OpusPacket.OPUS_FRAME_SIZE, PACKET));
+        }
+        Page audio = readPages().get(2);
+        Assertions.assertArrayEquals(new int[]{255, 255, 90, PACKET.length}, audio.lacing);
+        Assertions.assertArrayEquals(large, audio.packets.get(0));
+        Assertions.assertArrayEquals(PACKET, audio.packets.get(1));
+    }
+
+    @Test
+    public void testWriteAfterClose() throws IOException
+    {
+        OggOpusWriter writer = open();
+        writer.close();
+        Assertions.assertFalse(writer.write(0, PACKET));
+        Assertions.assertEquals(0, Files.size(file));
+    }
+
+    private List<Page> readPages() throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        List<Page> pages = new ArrayList<>();
+        while (buffer.hasRemaining())
+            pages.add(new Page(buffer));
+        return pages;
+    }
+
+    private static int crc(byte[] data)
+    {
+        int crc = 0;
+        for (byte b : data)
+        {
+            crc ^= (b & 0xFF) << 24;
+            for (int i = 0; i < 8; i++)
+                crc = (crc & 0x80000000) != 0 ? (crc << 1) ^ 0x04C11DB7 : crc << 1;
+        }
+        return crc;
+    }
+
+    private static class Page
+    {
+        private final int flags;
+        private final long granule;
+        private final int serial;
+        private final int sequence;
+        private final int[] lacing;
+        private final List<byte[]> packets = new ArrayList<>();
+
+        private Page(ByteBuffer buffer)
+        {
+            int start = buffer.position();
+            byte[] pattern = new byte[4];
+            buffer.get(pattern);
+            Assertions.assertEquals("OggS", new String(pattern, StandardCharsets.US_ASCII));
+            Assertions.assertEquals(0, buffer.get());
+            flags = buffer.get();
+            granule = buffer.getLong();
+            serial = buffer.getInt();
+            sequence = buffer.getInt();
+            int checksum = buffer.getInt();
+            lacing = new int[buffer.get() & 0xFF];
+            int length = 0;
+            for (int i = 0; i < lacing.length; i++)
+                length += lacing[i] = buffer.get() & 0xFF;
+
+            int offset = buffer.position();
+            int packetStart = offset;
+            for (int value : lacing)
+            {
+                offset += value;
+                if (value < 255)
+                {
+                    packets.add(Arrays.copyOfRange(buffer.array(), packetStart, offset));
+                    packetStart = offset;
+                }
+            }
+            buffer.position(buffer.position() + length);
+
+            byte[] raw = Arrays.copyOfRange(buffer.array(), start, buffer.position());
+            Arrays.fill(raw, 22, 26, (byte) 0);
+            Assertions.assertEquals(checksum, crc(raw), "Page checksum mismatch");
+        }
+    }
+}